@@ -18,17 +18,20 @@ import org.bukkit.entity.Player;
  */
 public class ExperienceManager {
 
-    // this is to stop the lookup tables growing without control
-    private static int hardMaxLevel = 100000;
+    // the highest level whose total XP still fits in an int
+    static final int MAX_LEVEL = 21863;
 
-    private static int xpRequiredForNextLevel[];
-    private static int xpTotalToReachLevel[];
+    // levels below this are answered from the table, anything above from the closed forms
+    private static final int TABLE_SIZE = 1024;
+
+    private static final int[] XP_TOTAL_TO_REACH_LEVEL = new int[TABLE_SIZE];
+
+    private static volatile int hardMaxLevel = 100000;
 
     static {
-        // 25 is an arbitrary value for the initial table size - the actual
-        // value isn't critically
-        // important since the tables are resized as needed.
-        initLookupTables(25);
+        for (int level = 0; level < TABLE_SIZE; level++) {
+            XP_TOTAL_TO_REACH_LEVEL[level] = (int) totalXpForLevel(level);
+        }
     }
 
     private final WeakReference<Player> player;
@@ -57,51 +60,84 @@ public class ExperienceManager {
     }
 
     /**
-     * Initialize the XP lookup tables. Basing this on observations noted in https://bukkit.atlassian
-     * .net/browse/BUKKIT-47
-     * </br> 7 XP to get to level 1, 17 to level 2, 31 to level 3... At each level, the increment to get to the next
-     * level increases alternately by 3 and 4
+     * The XP the experience bar holds at the given level, for MC 1.8 and later: 2L + 7 below level 15, 5L - 38 below
+     * level 30 and 9L - 158 from there on.
      *
-     * @param maxLevel The highest level handled by the lookup tables
+     * @param level The level to check for, not negative.
+     * @return The amount of XP needed to go from this level to the next.
      */
-    private static void initLookupTables(int maxLevel) {
-        xpRequiredForNextLevel = new int[maxLevel];
-        xpTotalToReachLevel = new int[maxLevel];
-
-        xpTotalToReachLevel[0] = 0;
-
-        // Valid for MC 1.3 and later
-        int incr = 17;
-        for (int i = 1; i < xpTotalToReachLevel.length; i++) {
-            xpRequiredForNextLevel[i - 1] = incr;
-            xpTotalToReachLevel[i] = xpTotalToReachLevel[i - 1] + incr;
-            if (i >= 31) {
-                incr += 7;
-            } else if (i >= 16) {
-                incr += 3;
-            }
+    public static int xpNeededToLevelUp(int level) {
+        if (level < 0) {
+            throw new IllegalArgumentException("Level cannot be negative.");
+        }
+        if (level < 15) {
+            return 2 * level + 7;
         }
-        xpRequiredForNextLevel[xpRequiredForNextLevel.length - 1] = incr;
+        if (level < 30) {
+            return 5 * level - 38;
+        }
+        return 9 * level - 158;
     }
 
     /**
-     * Calculate the level that the given XP quantity corresponds to, without using the lookup tables. This is needed
-     * if
-     * getLevelForExp() is called with an XP quantity beyond the range of the existing lookup tables.
+     * The total XP needed to reach the given level, i.e. the sum of {@link #xpNeededToLevelUp(int)} for every level
+     * below it.
+     *
+     * @param level The level to check for.
+     * @return The amount of XP needed for the level.
      */
-    private static int calculateLevelForExp(int exp) {
-        int level = 0;
-        int curExp = 7; // level 1
-        int incr = 10;
+    public static int xpForLevel(int level) {
+        if (level < 0) {
+            throw new IllegalArgumentException("Level cannot be negative.");
+        }
+        if (level > hardMaxLevel || level > MAX_LEVEL) {
+            throw new IllegalArgumentException("Level " + level + " > hard max level "
+                    + Math.min(hardMaxLevel, MAX_LEVEL));
+        }
+        return level < TABLE_SIZE ? XP_TOTAL_TO_REACH_LEVEL[level] : (int) totalXpForLevel(level);
+    }
 
-        while (curExp <= exp) {
-            curExp += incr;
+    /**
+     * The level a player with the given total XP is at.
+     *
+     * @param exp The amount to check for.
+     * @return The level that a player with this amount total XP would be.
+     */
+    public static int levelForExp(int exp) {
+        if (exp <= 0) {
+            return 0;
+        }
+        if (exp < XP_TOTAL_TO_REACH_LEVEL[TABLE_SIZE - 1]) {
+            int pos = Arrays.binarySearch(XP_TOTAL_TO_REACH_LEVEL, exp);
+            return pos < 0 ? -pos - 2 : pos;
+        }
+        // invert the quadratic for levels from 30 on, then step off any rounding error in the square root
+        int level = (int) ((162.5 + Math.sqrt(162.5 * 162.5 - 18 * (2220 - (double) exp))) / 9);
+        while (level < MAX_LEVEL && totalXpForLevel(level + 1) <= exp) {
             level++;
-            incr += (level % 2 == 0) ? 3 : 4;
+        }
+        while (totalXpForLevel(level) > exp) {
+            level--;
+        }
+        if (level > hardMaxLevel) {
+            throw new IllegalArgumentException("Level for exp " + exp + " > hard max level "
+                    + hardMaxLevel);
         }
         return level;
     }
 
+    // closed forms of the sums of xpNeededToLevelUp, doubled so that they stay in whole numbers
+    private static long totalXpForLevel(int level) {
+        long l = level;
+        if (level <= 15) {
+            return l * l + 6 * l;
+        }
+        if (level <= 30) {
+            return (5 * l * l - 81 * l + 720) / 2;
+        }
+        return (9 * l * l - 325 * l + 4440) / 2;
+    }
+
     /**
      * Adjust the player's XP by the given amount in an intelligent fashion. Works around some of the non-intuitive
      * behavior of the basic Bukkit player.giveExp() method.
@@ -151,7 +187,7 @@ public class ExperienceManager {
             player.setTotalExperience(player.getTotalExperience() + xp - (int) base);
         }
 
-        double pct = (base - getXpForLevel(newLvl) + amt) / (double) (xpRequiredForNextLevel[newLvl]);
+        double pct = (base - getXpForLevel(newLvl) + amt) / (double) (xpNeededToLevelUp(newLvl));
         player.setExp((float) pct);
     }
 
@@ -177,20 +213,7 @@ public class ExperienceManager {
      * @return The level that a player with this amount total XP would be.
      */
     public int getLevelForExp(int exp) {
-        if (exp <= 0) {
-            return 0;
-        }
-        if (exp > xpTotalToReachLevel[xpTotalToReachLevel.length - 1]) {
-            // need to extend the lookup tables
-            int newMax = calculateLevelForExp(exp) * 2;
-            if (newMax > hardMaxLevel) {
-                throw new IllegalArgumentException("Level for exp " + exp + " > hard max level "
-                        + hardMaxLevel);
-            }
-            initLookupTables(newMax);
-        }
-        int pos = Arrays.binarySearch(xpTotalToReachLevel, exp);
-        return pos < 0 ? -pos - 2 : pos;
+        return levelForExp(exp);
     }
 
     /**
@@ -200,15 +223,7 @@ public class ExperienceManager {
      * @return The amount of XP needed for the level.
      */
     public int getXpForLevel(int level) {
-        if (level > hardMaxLevel) {
-            throw new IllegalArgumentException("Level " + level + " > hard max level "
-                    + hardMaxLevel);
-        }
-
-        if (level >= xpTotalToReachLevel.length) {
-            initLookupTables(level * 2);
-        }
-        return xpTotalToReachLevel[level];
+        return xpForLevel(level);
     }
 
     /**
@@ -239,7 +254,7 @@ public class ExperienceManager {
         Player player = getPlayer();
 
         int lvl = player.getLevel();
-        return getXpForLevel(lvl) + Math.round(xpRequiredForNextLevel[lvl] * player.getExp());
+        return getXpForLevel(lvl) + Math.round(xpNeededToLevelUp(lvl) * player.getExp());
     }
 
     /**
@@ -261,7 +276,7 @@ public class ExperienceManager {
         Player player = getPlayer();
 
         int lvl = player.getLevel();
-        return getXpForLevel(lvl) + (double) (xpRequiredForNextLevel[lvl] * player.getExp());
+        return getXpForLevel(lvl) + (double) (xpNeededToLevelUp(lvl) * player.getExp());
     }
 
     /**
@@ -271,12 +286,6 @@ public class ExperienceManager {
      * @return The amount of experience at this level in the level bar.
      */
     public int getXpNeededToLevelUp(int level) {
-        if (level < 0) {
-            throw new IllegalArgumentException("Level cannot be negative.");
-        }
-
-        // Initialize lookup tables
-        getXpForLevel(level);
-        return xpRequiredForNextLevel[level];
+        return xpNeededToLevelUp(level);
     }
 }
@@ -28,6 +28,7 @@ import com.tealcube.minecraft.bukkit.mythicdrops.api.enchantments.MythicEnchantm
 import com.tealcube.minecraft.bukkit.mythicdrops.api.items.CustomItem;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.items.builders.DropBuilder;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.names.NameType;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.random.RandomSource;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.repair.RepairItem;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.settings.ConfigSettings;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.settings.CreatureSpawningSettings;
@@ -45,17 +46,27 @@ import com.tealcube.minecraft.bukkit.mythicdrops.commands.MythicDropsCommand;
 import com.tealcube.minecraft.bukkit.mythicdrops.crafting.CraftingListener;
 import com.tealcube.minecraft.bukkit.mythicdrops.durability.DurabilityListener;
 import com.tealcube.minecraft.bukkit.mythicdrops.identification.IdentifyingListener;
+import com.tealcube.minecraft.bukkit.mythicdrops.inventory.InventoryUpdates;
 import com.tealcube.minecraft.bukkit.mythicdrops.io.SmartTextFile;
 import com.tealcube.minecraft.bukkit.mythicdrops.items.CustomItemBuilder;
 import com.tealcube.minecraft.bukkit.mythicdrops.items.CustomItemMap;
+import com.tealcube.minecraft.bukkit.mythicdrops.items.DisplayNames;
+import com.tealcube.minecraft.bukkit.mythicdrops.items.DropPool;
+import com.tealcube.minecraft.bukkit.mythicdrops.items.EnchantmentTableMap;
+import com.tealcube.minecraft.bukkit.mythicdrops.items.ItemPrototypes;
 import com.tealcube.minecraft.bukkit.mythicdrops.items.MythicDropBuilder;
+import com.tealcube.minecraft.bukkit.mythicdrops.jobs.JobManager;
 import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
 import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggingFormatter;
 import com.tealcube.minecraft.bukkit.mythicdrops.names.NameMap;
+import com.tealcube.minecraft.bukkit.mythicdrops.populating.ChestPopulator;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
 import com.tealcube.minecraft.bukkit.mythicdrops.repair.MythicRepairCost;
 import com.tealcube.minecraft.bukkit.mythicdrops.repair.MythicRepairItem;
 import com.tealcube.minecraft.bukkit.mythicdrops.repair.MythicRepairItemMap;
+import com.tealcube.minecraft.bukkit.mythicdrops.repair.RepairItemIndex;
 import com.tealcube.minecraft.bukkit.mythicdrops.repair.RepairingListener;
+import com.tealcube.minecraft.bukkit.mythicdrops.sessions.SessionManager;
 import com.tealcube.minecraft.bukkit.mythicdrops.settings.MythicConfigSettings;
 import com.tealcube.minecraft.bukkit.mythicdrops.settings.MythicCreatureSpawningSettings;
 import com.tealcube.minecraft.bukkit.mythicdrops.settings.MythicIdentifyingSettings;
@@ -67,9 +78,15 @@ import com.tealcube.minecraft.bukkit.mythicdrops.socketting.SocketGem;
 import com.tealcube.minecraft.bukkit.mythicdrops.socketting.SocketParticleEffect;
 import com.tealcube.minecraft.bukkit.mythicdrops.socketting.SocketPotionEffect;
 import com.tealcube.minecraft.bukkit.mythicdrops.socketting.SockettingListener;
+import com.tealcube.minecraft.bukkit.mythicdrops.spawning.ChunkSpawnLimiter;
+import com.tealcube.minecraft.bukkit.mythicdrops.spawning.DeathDropQueue;
 import com.tealcube.minecraft.bukkit.mythicdrops.spawning.ItemSpawningListener;
+import com.tealcube.minecraft.bukkit.mythicdrops.spawning.LazyEquipment;
+import com.tealcube.minecraft.bukkit.mythicdrops.spawning.LootTableMap;
+import com.tealcube.minecraft.bukkit.mythicdrops.spawning.WorldSpawnPolicies;
 import com.tealcube.minecraft.bukkit.mythicdrops.tiers.MythicTierBuilder;
 import com.tealcube.minecraft.bukkit.mythicdrops.tiers.TierMap;
+import com.tealcube.minecraft.bukkit.mythicdrops.trace.TraceRecorder;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.ChatColorUtil;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.TierUtil;
 import io.pixeloutlaw.minecraft.spigot.config.SmartYamlConfiguration;
@@ -96,6 +113,7 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.EntityType;
 import org.bukkit.event.HandlerList;
+import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.scheduler.BukkitTask;
@@ -127,8 +145,17 @@ public final class MythicDropsPlugin extends JavaPlugin implements MythicDrops {
   private CommandHandler commandHandler;
   private AuraRunnable auraRunnable;
   private BukkitTask auraTask;
-  private Random random;
   private Handler logHandler;
+  private TraceRecorder traceRecorder;
+  private LazyEquipment lazyEquipment;
+  private DeathDropQueue deathDropQueue;
+  private ChunkSpawnLimiter chunkSpawnLimiter;
+  private WorldSpawnPolicies worldSpawnPolicies;
+  private DropPool dropPool;
+  private JobManager jobManager;
+  private ChestPopulator chestPopulator;
+  private SessionManager sessionManager;
+  private InventoryUpdates inventoryUpdates;
 
   public static DropBuilder getNewDropBuilder() {
     return new MythicDropBuilder(getInstance());
@@ -220,12 +247,32 @@ public final class MythicDropsPlugin extends JavaPlugin implements MythicDrops {
     loadSocketGems();
     loadIdentifyingSettings();
     loadRelationSettings();
+    // item groups live in the core settings, so the tables can only be compiled once those are loaded
+    EnchantmentTableMap.getInstance().compile(TierMap.getInstance().values());
+    LootTableMap.getInstance().compile(getConfigSettings(), getCreatureSpawningSettings());
+    ItemPrototypes.getInstance().compile(TierMap.getInstance().values(),
+        getSockettingSettings().getSocketGemMap().values(), getSockettingSettings().getSocketGemMaterials());
+    if (worldSpawnPolicies != null) {
+      worldSpawnPolicies.compile();
+    }
+    if (dropPool != null) {
+      dropPool.invalidate();
+      if (getConfigSettings().isDropPoolEnabled()) {
+        dropPool.start(getConfigSettings().getDropPoolWorkers(), getConfigSettings().getDropPoolDepth());
+      } else {
+        dropPool.stop();
+      }
+    }
   }
 
   @Override
   public void reloadTiers() {
     LOGGER.fine("Loading tiers");
     TierMap.getInstance().clear();
+    EnchantmentTableMap.getInstance().clear();
+    if (dropPool != null) {
+      dropPool.invalidate();
+    }
     List<String> loadedTierNames = new ArrayList<>();
 
     if (tierYAMLs != null && !tierYAMLs.isEmpty()) {
@@ -294,11 +341,15 @@ public final class MythicDropsPlugin extends JavaPlugin implements MythicDrops {
 
   @Override
   public void reloadNames() {
+    if (dropPool != null) {
+      dropPool.invalidate();
+    }
     NameMap.getInstance().clear();
     loadPrefixes();
     loadSuffixes();
     loadLore();
     loadMobNames();
+    NameMap.getInstance().compact();
   }
 
   @Override
@@ -307,8 +358,54 @@ public final class MythicDropsPlugin extends JavaPlugin implements MythicDrops {
   }
 
   @Override
+  @Deprecated
   public Random getRandom() {
-    return random;
+    return RandomSources.random();
+  }
+
+  @Override
+  public RandomSource getRandomSource() {
+    return RandomSources.current();
+  }
+
+  public TraceRecorder getTraceRecorder() {
+    return traceRecorder;
+  }
+
+  public LazyEquipment getLazyEquipment() {
+    return lazyEquipment;
+  }
+
+  public DeathDropQueue getDeathDropQueue() {
+    return deathDropQueue;
+  }
+
+  public ChunkSpawnLimiter getChunkSpawnLimiter() {
+    return chunkSpawnLimiter;
+  }
+
+  public WorldSpawnPolicies getWorldSpawnPolicies() {
+    return worldSpawnPolicies;
+  }
+
+  public DropPool getDropPool() {
+    return dropPool;
+  }
+
+  public JobManager getJobManager() {
+    return jobManager;
+  }
+
+  public ChestPopulator getChestPopulator() {
+    return chestPopulator;
+  }
+
+  public SessionManager getSessionManager() {
+    return sessionManager;
+  }
+
+  public InventoryUpdates getInventoryUpdates() {
+    return inventoryUpdates;
   }
 
   @Override
@@ -507,6 +604,7 @@ public final class MythicDropsPlugin extends JavaPlugin implements MythicDrops {
       MythicRepairItemMap.getInstance().put(ri.getName(), ri);
     }
     Map<String, RepairItem> repairItemMap = MythicRepairItemMap.getInstance();
+    RepairItemIndex.getInstance().compile(repairItemMap.values());
     LOGGER.info("Loaded repair items: " + repairItemMap.keySet().size());
   }
 
@@ -675,6 +773,31 @@ public final class MythicDropsPlugin extends JavaPlugin implements MythicDrops {
 
   @Override
   public void onDisable() {
+    if (sessionManager != null) {
+      sessionManager.stop();
+    }
+    if (inventoryUpdates != null) {
+      inventoryUpdates.stop();
+    }
+    if (jobManager != null) {
+      jobManager.stop();
+    }
+    if (chestPopulator != null) {
+      chestPopulator.stop();
+    }
+    if (dropPool != null) {
+      dropPool.stop();
+    }
+    if (deathDropQueue != null) {
+      deathDropQueue.stop();
+    }
+    if (lazyEquipment != null) {
+      lazyEquipment.stop();
+      lazyEquipment.clear();
+    }
+    if (traceRecorder != null) {
+      traceRecorder.stop();
+    }
     HandlerList.unregisterAll(this);
     Bukkit.getScheduler().cancelTasks(this);
     if (logHandler != null) {
@@ -685,7 +808,16 @@ public final class MythicDropsPlugin extends JavaPlugin implements MythicDrops {
   @Override
   public void onEnable() {
     _INSTANCE = this;
-    random = new Random();
+    traceRecorder = new TraceRecorder(this);
+    lazyEquipment = new LazyEquipment(this);
+    deathDropQueue = new DeathDropQueue(this);
+    chunkSpawnLimiter = new ChunkSpawnLimiter();
+    worldSpawnPolicies = new WorldSpawnPolicies(this);
+    dropPool = new DropPool(this);
+    jobManager = new JobManager(this);
+    chestPopulator = new ChestPopulator(this);
+    sessionManager = new SessionManager(this);
+    inventoryUpdates = new InventoryUpdates(this);
 
     namesLoader = new NamesLoader(this);
 
@@ -722,6 +854,8 @@ public final class MythicDropsPlugin extends JavaPlugin implements MythicDrops {
     Bukkit.getPluginManager().registerEvents(new AnvilListener(this), this);
     Bukkit.getPluginManager().registerEvents(new CraftingListener(this), this);
     Bukkit.getPluginManager().registerEvents(new DurabilityListener(), this);
+    Bukkit.getPluginManager().registerEvents(sessionManager, this);
+    sessionManager.start();
 
     commandHandler = new CommandHandler(this);
     commandHandler.registerArgumentHandler(Enchantment.class, new EnchantmentArgumentHandler());
@@ -731,6 +865,9 @@ public final class MythicDropsPlugin extends JavaPlugin implements MythicDrops {
       getLogger().info("Mobs spawning with equipment enabled");
       LOGGER.info("Mobs spawning with equipment enabled");
       Bukkit.getPluginManager().registerEvents(new ItemSpawningListener(this), this);
+      Bukkit.getPluginManager().registerEvents(worldSpawnPolicies, this);
+      Bukkit.getPluginManager().registerEvents(lazyEquipment, this);
+      lazyEquipment.start();
     }
     if (getConfigSettings().isRepairingEnabled()) {
       getLogger().info("Repairing enabled");
@@ -747,6 +884,12 @@ public final class MythicDropsPlugin extends JavaPlugin implements MythicDrops {
       LOGGER.info("Identifying enabled");
       Bukkit.getPluginManager().registerEvents(new IdentifyingListener(this), this);
     }
+    if (getConfigSettings().isPopulatingEnabled()) {
+      getLogger().info("Populating enabled");
+      LOGGER.info("Populating enabled");
+      Bukkit.getPluginManager().registerEvents(chestPopulator, this);
+      chestPopulator.start();
+    }
 
     LOGGER.info("v" + getDescription().getVersion() + " enabled");
   }
@@ -779,6 +922,17 @@ public final class MythicDropsPlugin extends JavaPlugin implements MythicDrops {
     mcs.setGiveMobsNames(c.getBoolean("options.give-mobs-names", false));
     mcs.setGiveAllMobsNames(c.getBoolean("options.give-all-mobs-names", false));
     mcs.setDisplayMobEquipment(c.getBoolean("options.display-mob-equipment", true));
+    mcs.setLazyMobEquipment(c.getBoolean("options.lazy-mob-equipment.enabled", false));
+    mcs.setLazyMobEquipmentRange(c.getInt("options.lazy-mob-equipment.range", 64));
+    mcs.setDropPoolEnabled(c.getBoolean("options.drop-pool.enabled", false));
+    mcs.setDropPoolDepth(c.getInt("options.drop-pool.depth", 8));
+    mcs.setDropPoolWorkers(c.getInt("options.drop-pool.workers", 1));
+    mcs.setJobTickBudget(c.getInt("options.jobs.tick-budget", 5));
+    mcs.setMergeDeathDrops(c.getBoolean("options.merge-death-drops", false));
+    mcs.setPopulatingChestChance(c.getDouble("options.populating.chest-chance", 0.25));
+    mcs.setPopulatingMinimumItems(c.getInt("options.populating.minimum-items", 1));
+    mcs.setPopulatingMaximumItems(c.getInt("options.populating.maximum-items", 2));
+    mcs.setPopulatingTickBudget(c.getInt("options.populating.tick-budget", 2));
     mcs.setBlankMobSpawnEnabled(c.getBoolean("options.blank-mob-spawn.enabled", false));
     mcs.setSkeletonsSpawnWithoutBows(c.getBoolean("options.blank-mob-spawn"
         + ".skeletons-spawn-without-bow", false));
@@ -810,6 +964,7 @@ public final class MythicDropsPlugin extends JavaPlugin implements MythicDrops {
       }
       mcs.getLanguageMap().put(key, c.getString(key, key));
     }
+    mcs.compileLanguage();
 
     c = itemGroupYAML;
     if (c.isConfigurationSection("itemGroups")) {
@@ -850,6 +1005,7 @@ public final class MythicDropsPlugin extends JavaPlugin implements MythicDrops {
       }
     }
 
+    DisplayNames.load(mcs);
     this.configSettings = mcs;
     Logger.getLogger("com.tealcube.minecraft.bukkit.mythicdrops")
         .setLevel(this.configSettings.isDebugMode() ? Level.FINEST : Level.INFO);
@@ -871,6 +1027,31 @@ public final class MythicDropsPlugin extends JavaPlugin implements MythicDrops {
         mcss.setSpawnHeightLimit(wn, cs.getInt(wn, 255));
       }
     }
+    mcss.setChunkLimiterEnabled(c.getBoolean("chunkLimiter.enabled", false));
+    mcss.setChunkLimiterCapacity(c.getInt("chunkLimiter.capacity", 20));
+    mcss.setChunkLimiterRefillPerMinute(c.getDouble("chunkLimiter.refill-per-minute", 10D));
+    if (c.isConfigurationSection("chunkLimiter.reasons")) {
+      ConfigurationSection cs = c.getConfigurationSection("chunkLimiter.reasons");
+      for (String key : cs.getKeys(false)) {
+        if (!cs.isConfigurationSection(key)) {
+          continue;
+        }
+        CreatureSpawnEvent.SpawnReason reason;
+        try {
+          reason = CreatureSpawnEvent.SpawnReason.valueOf(key.toUpperCase());
+        } catch (Exception e) {
+          continue;
+        }
+        ConfigurationSection reasonSection = cs.getConfigurationSection(key);
+        if (reasonSection.isSet("capacity")) {
+          mcss.setChunkLimiterCapacity(reason, reasonSection.getInt("capacity"));
+        }
+        if (reasonSection.isSet("refill-per-minute")) {
+          mcss.setChunkLimiterRefillPerMinute(reason, reasonSection.getDouble("refill-per-minute"));
+        }
+      }
+    }
+
     if (c.isConfigurationSection("tierDrops")) {
       ConfigurationSection cs = c.getConfigurationSection("tierDrops");
       for (String key : cs.getKeys(false)) {
@@ -910,6 +1091,9 @@ public final class MythicDropsPlugin extends JavaPlugin implements MythicDrops {
     }
 
     this.creatureSpawningSettings = mcss;
+    if (chunkSpawnLimiter != null) {
+      chunkSpawnLimiter.clear();
+    }
   }
 
   private void loadMobNames() {
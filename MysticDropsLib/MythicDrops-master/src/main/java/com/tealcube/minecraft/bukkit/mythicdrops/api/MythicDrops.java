@@ -21,6 +21,7 @@
  */
 package com.tealcube.minecraft.bukkit.mythicdrops.api;
 
+import com.tealcube.minecraft.bukkit.mythicdrops.api.random.RandomSource;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.settings.ConfigSettings;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.settings.CreatureSpawningSettings;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.settings.IdentifyingSettings;
@@ -75,8 +76,14 @@ public interface MythicDrops {
 
   CommandHandler getCommandHandler();
 
+  /**
+   * @deprecated use {@link #getRandomSource()}, the returned Random does not support seeding
+   */
+  @Deprecated
   Random getRandom();
 
+  RandomSource getRandomSource();
+
   List<SmartYamlConfiguration> getTierYAMLs();
 
   void reloadConfigurationFiles();
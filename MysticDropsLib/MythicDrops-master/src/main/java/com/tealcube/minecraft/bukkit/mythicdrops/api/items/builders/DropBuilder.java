@@ -54,4 +54,14 @@ public interface DropBuilder {
 
   ItemStack build();
 
+  /**
+   * Builds up to {@code n} items at once, sharing the resolved tier and material choices across the batch and firing a
+   * single batch generation event. Items that fail to build or are vetoed are left out, so the result may be shorter
+   * than {@code n}.
+   *
+   * @param n number of items to build
+   * @return built items
+   */
+  ItemStack[] buildBatch(int n);
+
 }
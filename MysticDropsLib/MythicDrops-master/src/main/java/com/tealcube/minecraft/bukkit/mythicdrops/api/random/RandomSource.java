@@ -0,0 +1,68 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.api.random;
+
+import java.util.Random;
+
+/**
+ * Source of randomness used for every roll MythicDrops makes.
+ */
+public interface RandomSource {
+
+  /**
+   * Returns a random int between 0 (inclusive) and bound (exclusive).
+   *
+   * @param bound upper bound, must be positive
+   * @return random int
+   */
+  int nextInt(int bound);
+
+  /**
+   * Returns a random int between origin (inclusive) and bound (exclusive). Returns origin if bound is not larger than
+   * origin, matching {@link org.apache.commons.lang3.RandomUtils#nextInt(int, int)}.
+   *
+   * @param origin lower bound
+   * @param bound upper bound
+   * @return random int
+   */
+  int nextInt(int origin, int bound);
+
+  long nextLong();
+
+  /**
+   * Returns a random double between 0 (inclusive) and 1 (exclusive).
+   *
+   * @return random double
+   */
+  double nextDouble();
+
+  boolean nextBoolean();
+
+  /**
+   * Gets a {@link Random} view of this source for APIs like {@link java.util.Collections#shuffle(java.util.List,
+   * Random)}.
+   *
+   * @return Random backed by this source
+   */
+  Random asRandom();
+
+}
@@ -62,6 +62,28 @@ public interface ConfigSettings {
 
   boolean isDisplayMobEquipment();
 
+  boolean isLazyMobEquipment();
+
+  int getLazyMobEquipmentRange();
+
+  boolean isDropPoolEnabled();
+
+  int getDropPoolDepth();
+
+  int getDropPoolWorkers();
+
+  int getJobTickBudget();
+
+  boolean isMergeDeathDrops();
+
+  double getPopulatingChestChance();
+
+  int getPopulatingMinimumItems();
+
+  int getPopulatingMaximumItems();
+
+  int getPopulatingTickBudget();
+
   boolean isMobsPickupEquipment();
 
   boolean isBlankMobSpawnEnabled();
@@ -24,6 +24,7 @@ package com.tealcube.minecraft.bukkit.mythicdrops.api.settings;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
 import java.util.Set;
 import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.CreatureSpawnEvent;
 
 public interface CreatureSpawningSettings {
 
@@ -39,4 +40,10 @@ public interface CreatureSpawningSettings {
 
   boolean isPreventReinforcements();
 
+  boolean isChunkLimiterEnabled();
+
+  int getChunkLimiterCapacity(CreatureSpawnEvent.SpawnReason reason);
+
+  double getChunkLimiterRefillPerMinute(CreatureSpawnEvent.SpawnReason reason);
+
 }
@@ -41,6 +41,20 @@ public interface Tier extends Comparable<Tier> {
 
   List<String> getBonusLore();
 
+  /**
+   * Gets the base lore, split into lines and colored. The returned array is shared and must not be modified.
+   *
+   * @return lines of each base lore entry
+   */
+  String[][] getBaseLoreLines();
+
+  /**
+   * Gets the bonus lore, split into lines and colored. The returned array is shared and must not be modified.
+   *
+   * @return lines of each bonus lore entry
+   */
+  String[][] getBonusLoreLines();
+
   int getMinimumBonusLore();
 
   int getMaximumBonusLore();
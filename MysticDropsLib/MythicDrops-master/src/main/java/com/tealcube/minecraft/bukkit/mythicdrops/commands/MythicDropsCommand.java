@@ -25,15 +25,21 @@ import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.MythicDrops;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.items.CustomItem;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.items.ItemGenerationReason;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.items.builders.DropBuilder;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
-import com.tealcube.minecraft.bukkit.mythicdrops.identification.IdentityTome;
-import com.tealcube.minecraft.bukkit.mythicdrops.identification.UnidentifiedItem;
+import com.tealcube.minecraft.bukkit.mythicdrops.inventory.InventoryUpdates;
 import com.tealcube.minecraft.bukkit.mythicdrops.items.CustomItemBuilder;
 import com.tealcube.minecraft.bukkit.mythicdrops.items.CustomItemMap;
+import com.tealcube.minecraft.bukkit.mythicdrops.items.DropPool;
+import com.tealcube.minecraft.bukkit.mythicdrops.items.ItemPrototypes;
+import com.tealcube.minecraft.bukkit.mythicdrops.jobs.GenerationJob;
 import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
 import com.tealcube.minecraft.bukkit.mythicdrops.socketting.SocketGem;
-import com.tealcube.minecraft.bukkit.mythicdrops.socketting.SocketItem;
+import com.tealcube.minecraft.bukkit.mythicdrops.spawning.ChunkSpawnLimiter;
 import com.tealcube.minecraft.bukkit.mythicdrops.tiers.TierMap;
+import com.tealcube.minecraft.bukkit.mythicdrops.trace.TraceRecorder;
+import com.tealcube.minecraft.bukkit.mythicdrops.trace.TraceReplayResult;
+import com.tealcube.minecraft.bukkit.mythicdrops.trace.TraceReplayer;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.EntityUtil;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.GsonUtil;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.ItemStackUtil;
@@ -41,11 +47,14 @@ import com.tealcube.minecraft.bukkit.mythicdrops.utils.ItemUtil;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.SocketGemUtil;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.StringListUtil;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.TierUtil;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -82,6 +91,15 @@ public final class MythicDropsCommand {
     LOGGER.info("number of custom items: " + CustomItemMap.getInstance().size());
     LOGGER.info("config settings: " + GsonUtil.toJson(this.plugin.getConfigSettings()));
     LOGGER.info("creature spawning settings: " + GsonUtil.toJson(this.plugin.getCreatureSpawningSettings()));
+    DropPool dropPool = MythicDropsPlugin.getInstance().getDropPool();
+    LOGGER.info("drop pool: running=" + dropPool.isRunning() + ", pooled=" + dropPool.size() + ", hits="
+        + dropPool.getHits() + ", misses=" + dropPool.getMisses() + ", average refill="
+        + dropPool.getAverageRefillNanos() + "ns");
+    LOGGER.info("chest populator: waiting=" + MythicDropsPlugin.getInstance().getChestPopulator().getWaiting());
+    LOGGER.info("sessions: size=" + MythicDropsPlugin.getInstance().getSessionManager().size());
+    InventoryUpdates inventoryUpdates = MythicDropsPlugin.getInstance().getInventoryUpdates();
+    LOGGER.info("inventory updates: requested=" + inventoryUpdates.getRequested() + ", sent="
+        + inventoryUpdates.getSent() + ", saved=" + inventoryUpdates.getSaved());
     sender.sendMessage(
         plugin.getConfigSettings().getFormattedLanguageString("command.debug"));
   }
@@ -145,24 +163,18 @@ public final class MythicDropsCommand {
       }
     }
 
-    int amountGiven = 0;
-    while (amountGiven < amount) {
-      ItemStack mis = MythicDropsPlugin.getNewDropBuilder().useDurability(false)
-          .withItemGenerationReason(ItemGenerationReason.COMMAND).withTier(tier)
-          .build();
-      if (mis != null) {
-        mis.setDurability(ItemStackUtil.getDurabilityForMaterial(mis.getType(), minDura, maxDura));
-        player.getInventory().addItem(mis);
-        amountGiven++;
-      }
-    }
-
-    player.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.spawn-random",
-        new String[][]{
-            {"%amount%", String
-                .valueOf(
-                amountGiven)}}
-    ));
+    DropBuilder dropBuilder = MythicDropsPlugin.getNewDropBuilder().useDurability(false)
+        .withItemGenerationReason(ItemGenerationReason.COMMAND).withTier(tier);
+    MythicDropsPlugin.getInstance().getJobManager().submit(new GenerationJob(sender,
+        "spawn " + amount + " " + tierName + " for " + player.getName(), amount, dropBuilder,
+        itemStacks -> {
+          for (ItemStack mis : itemStacks) {
+            mis.setDurability(ItemStackUtil.getDurabilityForMaterial(mis.getType(), minDura, maxDura));
+          }
+          player.getInventory().addItem(itemStacks);
+        },
+        amountGiven -> player.sendMessage(plugin.getConfigSettings().getFormattedLanguageString(
+            "command.spawn-random", new String[][]{{"%amount%", String.valueOf(amountGiven)}}))));
   }
 
   @Command(identifier = "mythicdrops drop", description = "Drops in MythicDrops items",
@@ -228,30 +240,26 @@ public final class MythicDropsCommand {
     Location l = new Location(w, x, y, z);
     Entity e = EntityUtil.getEntityAtLocation(l);
 
-    int amountGiven = 0;
-    while (amountGiven < amount) {
-      ItemStack mis = MythicDropsPlugin.getNewDropBuilder().useDurability(false)
-          .withItemGenerationReason(ItemGenerationReason.COMMAND).withTier(tier)
-          .build();
-      if (mis != null) {
-        mis.setDurability(ItemStackUtil.getDurabilityForMaterial(mis.getType(), minDura, maxDura));
-        if (e instanceof InventoryHolder) {
-          ((InventoryHolder) e).getInventory().addItem(mis);
-        } else if (l.getBlock().getState() instanceof InventoryHolder) {
-          ((InventoryHolder) l.getBlock().getState()).getInventory().addItem(mis);
-        } else {
-          w.dropItem(l, mis);
-        }
-        amountGiven++;
-      }
-    }
-
-    sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.drop-random",
-        new String[][]{
-            {"%amount%", String
-                .valueOf(
-                amountGiven)}}
-    ));
+    DropBuilder dropBuilder = MythicDropsPlugin.getNewDropBuilder().useDurability(false)
+        .withItemGenerationReason(ItemGenerationReason.COMMAND).withTier(tier);
+    MythicDropsPlugin.getInstance().getJobManager().submit(new GenerationJob(sender,
+        "drop " + amount + " " + tierName + " in " + w.getName(), amount, dropBuilder,
+        itemStacks -> {
+          for (ItemStack mis : itemStacks) {
+            mis.setDurability(ItemStackUtil.getDurabilityForMaterial(mis.getType(), minDura, maxDura));
+          }
+          if (e instanceof InventoryHolder) {
+            ((InventoryHolder) e).getInventory().addItem(itemStacks);
+          } else if (l.getBlock().getState() instanceof InventoryHolder) {
+            ((InventoryHolder) l.getBlock().getState()).getInventory().addItem(itemStacks);
+          } else {
+            for (ItemStack mis : itemStacks) {
+              w.dropItem(l, mis);
+            }
+          }
+        },
+        amountGiven -> sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString(
+            "command.drop-random", new String[][]{{"%amount%", String.valueOf(amountGiven)}}))));
   }
 
   @Command(identifier = "mythicdrops give", description = "Gives MythicDrops items",
@@ -300,32 +308,24 @@ public final class MythicDropsCommand {
       }
     }
 
-    int amountGiven = 0;
-    while (amountGiven < amount) {
-      ItemStack mis = MythicDropsPlugin.getNewDropBuilder().useDurability(true)
-          .withItemGenerationReason(ItemGenerationReason.COMMAND).withTier(tier)
-          .build();
-      if (mis != null) {
-        mis.setDurability(ItemStackUtil.getDurabilityForMaterial(mis.getType(), minDura, maxDura));
-        player.getInventory().addItem(mis);
-        amountGiven++;
-      }
-    }
-
-    player.sendMessage(
-        plugin.getConfigSettings().getFormattedLanguageString("command.give-random-receiver",
-            new String[][]{{"%amount%", String
-                .valueOf(amountGiven)}}
-        )
-    );
-    sender.sendMessage(
-        plugin.getConfigSettings().getFormattedLanguageString("command.give-random-sender",
-            new String[][]{{"%amount%", String
-                .valueOf(amountGiven)},
-                {"%receiver%",
-                    player.getName()}}
-        )
-    );
+    DropBuilder dropBuilder = MythicDropsPlugin.getNewDropBuilder().useDurability(true)
+        .withItemGenerationReason(ItemGenerationReason.COMMAND).withTier(tier);
+    MythicDropsPlugin.getInstance().getJobManager().submit(new GenerationJob(sender,
+        "give " + amount + " " + tierName + " to " + player.getName(), amount, dropBuilder,
+        itemStacks -> {
+          for (ItemStack mis : itemStacks) {
+            mis.setDurability(ItemStackUtil.getDurabilityForMaterial(mis.getType(), minDura, maxDura));
+          }
+          player.getInventory().addItem(itemStacks);
+        },
+        amountGiven -> {
+          player.sendMessage(
+              plugin.getConfigSettings().getFormattedLanguageString("command.give-random-receiver",
+                  new String[][]{{"%amount%", String.valueOf(amountGiven)}}));
+          sender.sendMessage(
+              plugin.getConfigSettings().getFormattedLanguageString("command.give-random-sender",
+                  new String[][]{{"%amount%", String.valueOf(amountGiven)}, {"%receiver%", player.getName()}}));
+        }));
   }
 
   @Command(identifier = "mythicdrops customcreate",
@@ -448,7 +448,7 @@ public final class MythicDropsCommand {
         return;
       }
     }
-    int amountGiven = 0;
+    List<ItemStack> itemStacks = new ArrayList<>(Math.max(amount, 0));
     for (int i = 0; i < amount; i++) {
       try {
         ItemStack itemStack;
@@ -462,12 +462,13 @@ public final class MythicDropsCommand {
         }
         itemStack.setDurability(ItemStackUtil.getDurabilityForMaterial(itemStack.getType(), minDura,
             maxDura));
-        player.getInventory().addItem(itemStack);
-        amountGiven++;
+        itemStacks.add(itemStack);
       } catch (Exception ignored) {
         ignored.printStackTrace();
       }
     }
+    player.getInventory().addItem(itemStacks.toArray(new ItemStack[itemStacks.size()]));
+    int amountGiven = itemStacks.size();
     player.sendMessage(
         plugin.getConfigSettings().getFormattedLanguageString("command.give-custom-receiver",
             new String[][]{{"%amount%", String
@@ -526,23 +527,24 @@ public final class MythicDropsCommand {
         return;
       }
     }
-    int amountGiven = 0;
+    List<ItemStack> itemStacks = new ArrayList<>(Math.max(amount, 0));
     for (int i = 0; i < amount; i++) {
       try {
         ItemStack itemStack;
         if (socketGem == null) {
           Material material = SocketGemUtil.getRandomSocketGemMaterial();
-          itemStack = new SocketItem(material, SocketGemUtil.getRandomSocketGemWithChance());
+          itemStack = ItemPrototypes.getInstance().socketItem(SocketGemUtil.getRandomSocketGemWithChance(), material);
         } else {
-          itemStack = new SocketItem(SocketGemUtil.getRandomSocketGemMaterial(), socketGem);
+          itemStack = ItemPrototypes.getInstance().socketItem(socketGem, SocketGemUtil.getRandomSocketGemMaterial());
         }
         itemStack.setDurability((short) 0);
-        player.getInventory().addItem(itemStack);
-        amountGiven++;
+        itemStacks.add(itemStack);
       } catch (Exception ignored) {
         ignored.printStackTrace();
       }
     }
+    player.getInventory().addItem(itemStacks.toArray(new ItemStack[itemStacks.size()]));
+    int amountGiven = itemStacks.size();
     player.sendMessage(
         plugin.getConfigSettings().getFormattedLanguageString("command.give-gem-receiver",
             new String[][]{{"%amount%", String
@@ -592,7 +594,7 @@ public final class MythicDropsCommand {
       }
       Collection<Material> materials = ItemUtil.getMaterialsFromTier(t);
       Material material = ItemUtil.getRandomMaterialFromCollection(materials);
-      player.getInventory().addItem(new UnidentifiedItem(material));
+      player.getInventory().addItem(ItemPrototypes.getInstance().unidentifiedItem(material));
       amountGiven++;
     }
     player.sendMessage(
@@ -638,7 +640,7 @@ public final class MythicDropsCommand {
     }
     int amountGiven = 0;
     for (int i = 0; i < amount; i++) {
-      player.getInventory().addItem(new IdentityTome());
+      player.getInventory().addItem(ItemPrototypes.getInstance().identityTome());
       amountGiven++;
     }
     player.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command" +
@@ -863,4 +865,101 @@ public final class MythicDropsCommand {
         plugin.getConfigSettings().getFormattedLanguageString("command.remove-enchantment"));
   }
 
+  @Command(identifier = "mythicdrops jobs", description = "Lists running MythicDrops jobs",
+      permissions = "mythicdrops.command.jobs")
+  public void jobsCommand(CommandSender sender) {
+    List<GenerationJob> jobs = MythicDropsPlugin.getInstance().getJobManager().getJobs();
+    if (jobs.isEmpty()) {
+      sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.job-list-empty"));
+      return;
+    }
+    for (GenerationJob job : jobs) {
+      sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.job-list-entry",
+          new String[][]{{"%id%", String.valueOf(job.getId())}, {"%description%", job.getDescription()},
+              {"%done%", String.valueOf(job.getGenerated())}, {"%amount%", String.valueOf(job.getAmount())}}));
+    }
+  }
+
+  @Command(identifier = "mythicdrops jobs cancel", description = "Cancels a running MythicDrops job",
+      permissions = "mythicdrops.command.jobs")
+  public void jobsCancelCommand(CommandSender sender, @Arg(name = "id") int id) {
+    GenerationJob job = MythicDropsPlugin.getInstance().getJobManager().cancel(id);
+    if (job == null) {
+      sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.job-does-not-exist",
+          new String[][]{{"%id%", String.valueOf(id)}}));
+      return;
+    }
+    sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.job-cancelled",
+        new String[][]{{"%id%", String.valueOf(id)}, {"%done%", String.valueOf(job.getGenerated())}}));
+  }
+
+  @Command(identifier = "mythicdrops throttled", description = "Lists chunks whose MythicDrops spawn budget is spent",
+      permissions = "mythicdrops.command.throttled")
+  public void throttledCommand(CommandSender sender) {
+    List<ChunkSpawnLimiter.Throttled> throttled = MythicDropsPlugin.getInstance().getChunkSpawnLimiter().getThrottled();
+    if (throttled.isEmpty()) {
+      sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.throttled-none"));
+      return;
+    }
+    for (ChunkSpawnLimiter.Throttled t : throttled) {
+      sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.throttled-entry",
+          new String[][]{{"%world%", t.getWorldName()}, {"%x%", String.valueOf(t.getChunkX())},
+              {"%z%", String.valueOf(t.getChunkZ())}, {"%reason%", t.getReason().name()},
+              {"%denied%", String.valueOf(t.getDenied())}}));
+    }
+  }
+
+  @Command(identifier = "mythicdrops trace start", description = "Starts recording a MythicDrops event trace",
+      permissions = "mythicdrops.command.trace")
+  public void traceStartCommand(CommandSender sender) {
+    TraceRecorder recorder = MythicDropsPlugin.getInstance().getTraceRecorder();
+    if (recorder.isRecording()) {
+      sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.trace-already-recording",
+          new String[][]{{"%file%", recorder.getFile().getName()}}));
+      return;
+    }
+    try {
+      File file = recorder.start();
+      sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.trace-start",
+          new String[][]{{"%file%", file.getName()}}));
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Unable to start trace", e);
+      sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.trace-failure",
+          new String[][]{{"%reason%", String.valueOf(e.getMessage())}}));
+    }
+  }
+
+  @Command(identifier = "mythicdrops trace stop", description = "Stops recording a MythicDrops event trace",
+      permissions = "mythicdrops.command.trace")
+  public void traceStopCommand(CommandSender sender) {
+    TraceRecorder recorder = MythicDropsPlugin.getInstance().getTraceRecorder();
+    if (!recorder.isRecording()) {
+      sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.trace-not-recording"));
+      return;
+    }
+    int records = recorder.stop();
+    sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.trace-stop",
+        new String[][]{{"%file%", recorder.getFile().getName()}, {"%records%", String.valueOf(records)}}));
+  }
+
+  @Command(identifier = "mythicdrops trace replay", description = "Replays a MythicDrops event trace",
+      permissions = "mythicdrops.command.trace")
+  public void traceReplayCommand(CommandSender sender, @Arg(name = "file") String fileName) {
+    if (MythicDropsPlugin.getInstance().getTraceRecorder().isRecording()) {
+      sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.trace-already-recording",
+          new String[][]{{"%file%", MythicDropsPlugin.getInstance().getTraceRecorder().getFile().getName()}}));
+      return;
+    }
+    try {
+      File file = TraceRecorder.resolveTraceFile(MythicDropsPlugin.getInstance(), fileName);
+      TraceReplayResult result = new TraceReplayer(MythicDropsPlugin.getInstance()).replay(file);
+      sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.trace-replay",
+          new String[][]{{"%file%", file.getName()}, {"%result%", result.toString()}}));
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Unable to replay trace " + fileName, e);
+      sender.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.trace-failure",
+          new String[][]{{"%reason%", String.valueOf(e.getMessage())}}));
+    }
+  }
+
 }
@@ -0,0 +1,82 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.events;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.events.MythicDropsCancellableEvent;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.items.ItemGenerationReason;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Fired once for a whole batch built by
+ * {@link com.tealcube.minecraft.bukkit.mythicdrops.api.items.builders.DropBuilder#buildBatch(int)} instead of a
+ * {@link RandomItemGenerationEvent} per item. Cancelling drops the whole batch; {@link #veto(int)} drops a single item.
+ */
+public class RandomItemBatchGenerationEvent extends MythicDropsCancellableEvent {
+
+  private final Tier[] tiers;
+  private final ItemStack[] itemStacks;
+  private final boolean[] vetoed;
+  private final ItemGenerationReason reason;
+  private boolean modified;
+
+  public RandomItemBatchGenerationEvent(Tier[] tiers, ItemStack[] itemStacks, ItemGenerationReason reason) {
+    this.tiers = tiers;
+    this.itemStacks = itemStacks;
+    this.vetoed = new boolean[itemStacks.length];
+    this.reason = reason;
+    modified = false;
+  }
+
+  public int size() {
+    return itemStacks.length;
+  }
+
+  public Tier getTier(int index) {
+    return tiers[index];
+  }
+
+  public ItemStack getItemStack(int index) {
+    return itemStacks[index];
+  }
+
+  public void setItemStack(int index, ItemStack itemStack) {
+    itemStacks[index] = itemStack;
+    modified = true;
+  }
+
+  public void veto(int index) {
+    vetoed[index] = true;
+  }
+
+  public boolean isVetoed(int index) {
+    return vetoed[index];
+  }
+
+  public ItemGenerationReason getReason() {
+    return reason;
+  }
+
+  public boolean isModified() {
+    return modified;
+  }
+}
@@ -24,13 +24,13 @@ package com.tealcube.minecraft.bukkit.mythicdrops.identification;
 import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.items.ItemGenerationReason;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
+import com.tealcube.minecraft.bukkit.mythicdrops.items.ItemPrototypes;
 import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
+import com.tealcube.minecraft.bukkit.mythicdrops.sessions.SessionType;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.ItemUtil;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.TierUtil;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.logging.Logger;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -40,7 +40,6 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
-import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -48,21 +47,12 @@ import org.bukkit.inventory.meta.ItemMeta;
 public final class IdentifyingListener implements Listener {
 
   private static final Logger LOGGER = MythicLoggerFactory.getLogger(IdentifyingListener.class);
+  private static final SessionType<ItemStack> HELD_IDENTIFY = new SessionType<>("identify", 20L * 30);
 
-  private Map<String, ItemStack> heldIdentify;
   private MythicDropsPlugin plugin;
 
   public IdentifyingListener(MythicDropsPlugin plugin) {
     this.plugin = plugin;
-    heldIdentify = new HashMap<>();
-  }
-
-  @EventHandler
-  public void onPlayerDeath(PlayerDeathEvent event) {
-    Player player = event.getEntity();
-    if (heldIdentify.containsKey(player.getName())) {
-      heldIdentify.remove(player.getName());
-    }
   }
 
   @EventHandler(priority = EventPriority.NORMAL)
@@ -84,36 +74,34 @@ public final class IdentifyingListener implements Listener {
     }
     String itemInMainHandType = ItemUtil.getItemTypeFromMaterial(itemInMainHand.getType());
 
-    if (heldIdentify.containsKey(player.getName())) {
-      LOGGER.fine("heldIdentify.containsKey(player.getName())");
-      identifyItem(event, player, itemInMainHand, itemInMainHandType);
+    ItemStack heldIdentify = plugin.getSessionManager().get(player.getUniqueId(), HELD_IDENTIFY);
+    if (heldIdentify != null) {
+      LOGGER.fine("heldIdentify != null");
+      identifyItem(event, player, itemInMainHand, itemInMainHandType, heldIdentify);
     } else {
-      LOGGER.fine("!heldIdentify.containsKey(player.getName())");
+      LOGGER.fine("heldIdentify == null");
       addHeldIdentify(event, player, itemInMainHand);
     }
   }
 
-  private void addHeldIdentify(PlayerInteractEvent event, final Player player, ItemStack itemInHand) {
+  private void addHeldIdentify(PlayerInteractEvent event, Player player, ItemStack itemInHand) {
     if (!itemInHand.hasItemMeta()) {
       LOGGER.fine("!itemInHand.hasItemMeta()");
       return;
     }
     ItemMeta im = itemInHand.getItemMeta();
-    ItemStack identityTome = new IdentityTome();
-    if (!im.hasDisplayName() ||
-        !identityTome.getItemMeta().hasDisplayName() ||
-        !im.getDisplayName().equals(identityTome.getItemMeta().getDisplayName())) {
-      LOGGER.fine("!im.hasDisplayName() || !identityTome.getItemMeta().hasDisplayName() || !im.getDisplayName().equals(identityTome.getItemMeta().getDisplayName())");
+    if (!im.hasDisplayName() || !ItemPrototypes.getInstance().isIdentityTomeName(im.getDisplayName())) {
+      LOGGER.fine("!im.hasDisplayName() || !isIdentityTomeName(im.getDisplayName())");
       return;
     }
     player.sendMessage(
         plugin.getConfigSettings().getFormattedLanguageString("command.identifying-instructions"));
-    heldIdentify.put(player.getName(), itemInHand);
-    Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, () -> heldIdentify.remove(player.getName()), 20L * 30);
+    plugin.getSessionManager().put(player.getUniqueId(), HELD_IDENTIFY, itemInHand);
     cancelResults(event);
   }
 
-  private void identifyItem(PlayerInteractEvent event, Player player, ItemStack itemInHand, String itemType) {
+  private void identifyItem(PlayerInteractEvent event, Player player, ItemStack itemInHand, String itemType,
+                            ItemStack heldIdentify) {
     LOGGER.fine("identifyItem() - ENTRY");
     if (ItemUtil.isArmor(itemType) || ItemUtil.isTool(itemType)) {
       LOGGER.fine("identifyItem() - is tool or armor");
@@ -121,14 +109,12 @@ public final class IdentifyingListener implements Listener {
         cannotUse(event, player);
         return;
       }
-      if (!player.getInventory().contains(heldIdentify.get(player.getName()))) {
+      if (!player.getInventory().contains(heldIdentify)) {
         player.sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.identifying-do-not-have"));
-        heldIdentify.remove(player.getName());
+        plugin.getSessionManager().remove(player.getUniqueId(), HELD_IDENTIFY);
         return;
       }
-      UnidentifiedItem uid = new UnidentifiedItem(itemInHand.getData().getItemType());
-      boolean b = itemInHand.getItemMeta().getDisplayName().equals(uid.getItemMeta().getDisplayName());
-      if (!b) {
+      if (!ItemPrototypes.getInstance().isUnidentifiedName(itemInHand.getItemMeta().getDisplayName())) {
         cannotUse(event, player);
         return;
       }
@@ -167,7 +153,7 @@ public final class IdentifyingListener implements Listener {
         return;
       }
 
-      int indexOfItem = player.getInventory().first(heldIdentify.get(player.getName()));
+      int indexOfItem = player.getInventory().first(heldIdentify);
       ItemStack inInventory = player.getInventory().getItem(indexOfItem);
       inInventory.setAmount(inInventory.getAmount() - 1);
       player.getInventory().setItem(indexOfItem, inInventory);
@@ -175,7 +161,7 @@ public final class IdentifyingListener implements Listener {
       player.sendMessage(
           plugin.getConfigSettings().getFormattedLanguageString("command.identifying-success"));
       cancelResults(event);
-      heldIdentify.remove(player.getName());
+      plugin.getSessionManager().remove(player.getUniqueId(), HELD_IDENTIFY);
     } else {
       LOGGER.fine("identifyItem() - not tool or armor");
       cannotUse(event, player);
@@ -186,7 +172,7 @@ public final class IdentifyingListener implements Listener {
     player.sendMessage(
         plugin.getConfigSettings().getFormattedLanguageString("command.identifying-cannot-use"));
     cancelResults(event);
-    heldIdentify.remove(player.getName());
+    plugin.getSessionManager().remove(player.getUniqueId(), HELD_IDENTIFY);
   }
 
   private void cancelResults(PlayerInteractEvent event) {
@@ -194,7 +180,7 @@ public final class IdentifyingListener implements Listener {
     event.setCancelled(true);
     event.setUseInteractedBlock(Event.Result.DENY);
     event.setUseItemInHand(Event.Result.DENY);
-    event.getPlayer().updateInventory();
+    plugin.getInventoryUpdates().markDirty(event.getPlayer());
   }
 
 }
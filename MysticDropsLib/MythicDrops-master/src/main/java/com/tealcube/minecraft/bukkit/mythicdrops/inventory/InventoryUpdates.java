@@ -0,0 +1,104 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.inventory;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Collects the players whose inventory has to be sent to the client again and sends each of them once on the next
+ * tick, however many times they were marked in between. Only used from the main thread.
+ */
+public final class InventoryUpdates {
+
+  private final MythicDropsPlugin plugin;
+  private final Set<UUID> dirty = new LinkedHashSet<>();
+  private BukkitTask task;
+  private long requested;
+  private long sent;
+
+  public InventoryUpdates(MythicDropsPlugin plugin) {
+    this.plugin = plugin;
+  }
+
+  /**
+   * Marks the player's inventory to be sent again on the next tick.
+   *
+   * @param player player whose inventory changed
+   */
+  public void markDirty(Player player) {
+    requested++;
+    dirty.add(player.getUniqueId());
+    if (task == null) {
+      task = Bukkit.getScheduler().runTask(plugin, this::flush);
+    }
+  }
+
+  /**
+   * Sends the inventory of every marked player that is still online now.
+   */
+  public void flush() {
+    task = null;
+    if (dirty.isEmpty()) {
+      return;
+    }
+    for (UUID uuid : dirty) {
+      Player player = Bukkit.getPlayer(uuid);
+      if (player != null && player.isOnline()) {
+        player.updateInventory();
+        sent++;
+      }
+    }
+    dirty.clear();
+  }
+
+  public void stop() {
+    if (task != null) {
+      task.cancel();
+      task = null;
+    }
+    flush();
+  }
+
+  public long getRequested() {
+    return requested;
+  }
+
+  public long getSent() {
+    return sent;
+  }
+
+  /**
+   * Gets how many requested updates were not sent: requested minus sent minus those still pending for the next tick.
+   *
+   * @return how many inventory updates were not sent because the player was already marked, or had left
+   */
+  public long getSaved() {
+    return requested - sent - dirty.size();
+  }
+
+}
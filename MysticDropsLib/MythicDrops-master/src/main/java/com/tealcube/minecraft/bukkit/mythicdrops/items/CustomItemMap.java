@@ -21,10 +21,9 @@
  */
 package com.tealcube.minecraft.bukkit.mythicdrops.items;
 
-import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.items.CustomItem;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
 import java.util.concurrent.ConcurrentHashMap;
-import org.apache.commons.lang3.RandomUtils;
 
 /**
  * An extension of {@link ConcurrentHashMap} designed to allow easy developer access to {@link CustomItem}s.
@@ -53,7 +52,7 @@ public final class CustomItemMap extends ConcurrentHashMap<String, CustomItem> {
    */
   public CustomItem getRandom() {
     CustomItem[] valueArray = values().toArray(new CustomItem[values().size()]);
-    return valueArray[RandomUtils.nextInt(0, values().size())];
+    return valueArray[RandomSources.current().nextInt(0, values().size())];
   }
 
   /**
@@ -67,7 +66,7 @@ public final class CustomItemMap extends ConcurrentHashMap<String, CustomItem> {
       totalWeight += ci.getChanceToBeGivenToAMonster();
     }
 
-    double chosenWeight = MythicDropsPlugin.getInstance().getRandom().nextDouble() * totalWeight;
+    double chosenWeight = RandomSources.current().nextDouble() * totalWeight;
 
     double currentWeight = 0;
     for (CustomItem ci : values()) {
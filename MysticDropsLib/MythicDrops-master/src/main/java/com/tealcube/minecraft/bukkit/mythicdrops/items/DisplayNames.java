@@ -0,0 +1,213 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.items;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.settings.ConfigSettings;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.text.WordUtils;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+
+/**
+ * Display names for materials, item types and enchantments, worked out from the {@link ConfigSettings} when they are
+ * loaded so that building an item only has to look them up.
+ */
+public final class DisplayNames {
+
+  private static final String DISPLAY_NAMES = "displayNames.";
+  private static final EnumMap<Material, String> MINECRAFT_NAMES = new EnumMap<>(Material.class);
+  private static volatile DisplayNames instance;
+
+  static {
+    for (Material material : Material.values()) {
+      MINECRAFT_NAMES.put(material, WordUtils.capitalizeFully(StringUtils.replaceChars(material.name(), '_', ' ')));
+    }
+  }
+
+  private final ConfigSettings settings;
+  private final EnumMap<Material, String> mythicNames = new EnumMap<>(Material.class);
+  private final EnumMap<Material, String> itemTypes = new EnumMap<>(Material.class);
+  private final EnumMap<Material, String> materialTypes = new EnumMap<>(Material.class);
+  private final Map<String, String> itemTypeNames = new ConcurrentHashMap<>();
+  private final Map<String, String> enchantmentNames = new ConcurrentHashMap<>();
+  private final String ordinaryName;
+
+  private DisplayNames(ConfigSettings settings) {
+    this.settings = settings;
+    for (Material material : Material.values()) {
+      mythicNames.put(material, computeMythicName(material));
+      itemTypes.put(material, computeItemType(material));
+      materialTypes.put(material, computeMaterialType(material));
+    }
+    for (String itemType : settings.getItemTypesWithIds().keySet()) {
+      getItemTypeName(itemType);
+    }
+    for (String materialType : settings.getMaterialTypesWithIds().keySet()) {
+      getItemTypeName(materialType);
+    }
+    for (Enchantment enchantment : Enchantment.values()) {
+      if (enchantment != null) {
+        getEnchantmentName(enchantment);
+      }
+    }
+    ordinaryName = settings.getFormattedLanguageString(DISPLAY_NAMES + "Ordinary");
+  }
+
+  /**
+   * Compiles the display names for the given settings and makes them the ones returned by {@link #getInstance()}.
+   *
+   * @param settings settings to read language strings and item groups from
+   * @return compiled display names
+   */
+  public static DisplayNames load(ConfigSettings settings) {
+    Validate.notNull(settings, "ConfigSettings cannot be null");
+    DisplayNames displayNames = new DisplayNames(settings);
+    instance = displayNames;
+    return displayNames;
+  }
+
+  /**
+   * Gets the display names compiled by the last call to {@link #load(ConfigSettings)}.
+   *
+   * @return current display names
+   */
+  public static DisplayNames getInstance() {
+    return instance;
+  }
+
+  /**
+   * Gets the name of a material the way Minecraft would show it, e.g. "Diamond Sword".
+   *
+   * @param material Material
+   * @return name of the material
+   */
+  public static String getMinecraftName(Material material) {
+    return MINECRAFT_NAMES.get(material);
+  }
+
+  /**
+   * Gets the name of a material from {@code displayNames} in language.yml, falling back to {@link
+   * #getMinecraftName(Material)}.
+   *
+   * @param material Material
+   * @return name of the material
+   */
+  public String getMythicName(Material material) {
+    return mythicNames.get(material);
+  }
+
+  /**
+   * Gets the item type (tool or armor group) of a material, or null if it has none.
+   *
+   * @param material Material
+   * @return item type
+   */
+  public String getItemType(Material material) {
+    return itemTypes.get(material);
+  }
+
+  /**
+   * Gets the material type (material group) of a material, or null if it has none.
+   *
+   * @param material Material
+   * @return material type
+   */
+  public String getMaterialType(Material material) {
+    return materialTypes.get(material);
+  }
+
+  /**
+   * Gets the display name of an item or material type, falling back to the type itself when the language file has no
+   * name for it. Returns an empty String for null.
+   *
+   * @param itemType item or material type
+   * @return display name of the type
+   */
+  public String getItemTypeName(String itemType) {
+    if (itemType == null) {
+      return "";
+    }
+    String name = itemTypeNames.get(itemType);
+    if (name == null) {
+      String key = DISPLAY_NAMES + itemType.toLowerCase();
+      name = settings.getFormattedLanguageString(key);
+      if (name == null || name.equals(key)) {
+        name = itemType;
+      }
+      name = WordUtils.capitalizeFully(name);
+      itemTypeNames.put(itemType, name);
+    }
+    return name;
+  }
+
+  /**
+   * Gets the display name of an enchantment, or the name for ordinary items if the enchantment is null.
+   *
+   * @param enchantment Enchantment
+   * @return display name of the enchantment
+   */
+  public String getEnchantmentName(Enchantment enchantment) {
+    if (enchantment == null) {
+      return ordinaryName;
+    }
+    String name = enchantmentNames.get(enchantment.getName());
+    if (name == null) {
+      name = settings.getFormattedLanguageString(DISPLAY_NAMES + enchantment.getName());
+      enchantmentNames.put(enchantment.getName(), name);
+    }
+    return name;
+  }
+
+  private String computeMythicName(Material material) {
+    String key = DISPLAY_NAMES + material.name();
+    String name = settings.getFormattedLanguageString(key);
+    if (name == null || name.equals(key)) {
+      name = getMinecraftName(material);
+    }
+    return WordUtils.capitalize(name);
+  }
+
+  private String computeItemType(Material material) {
+    for (Map.Entry<String, List<String>> e : settings.getItemTypesWithIds().entrySet()) {
+      if (e.getValue().contains(material.name()) && !settings.getMaterialTypes().contains(e.getKey())) {
+        return e.getKey();
+      }
+    }
+    return null;
+  }
+
+  private String computeMaterialType(Material material) {
+    for (Map.Entry<String, List<String>> e : settings.getMaterialTypesWithIds().entrySet()) {
+      if (e.getValue().contains(material.name()) && !settings.getArmorTypes().contains(e.getKey())
+          && !settings.getToolTypes().contains(e.getKey())) {
+        return e.getKey();
+      }
+    }
+    return null;
+  }
+
+}
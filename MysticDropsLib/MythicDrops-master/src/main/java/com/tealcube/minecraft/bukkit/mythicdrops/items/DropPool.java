@@ -0,0 +1,282 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.items;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.MythicDrops;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.items.ItemGenerationReason;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
+import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.ThreadLocalRandomSource;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded pools of pre-rolled {@link DropSpec}s, one per tier, generation reason and durability flag, kept topped up by
+ * background workers. Taking from a pool is O(1); a miss returns null and the caller builds the item itself.
+ */
+public final class DropPool {
+
+  private static final Logger LOGGER = MythicLoggerFactory.getLogger(DropPool.class);
+  private static final ThreadLocalRandomSource WORKER_SOURCE = new ThreadLocalRandomSource();
+
+  private final MythicDrops mythicDrops;
+  private final ConcurrentMap<Key, Slot> slots = new ConcurrentHashMap<>();
+  private final BlockingQueue<Slot> refills = new LinkedBlockingQueue<>();
+  private final AtomicInteger generation = new AtomicInteger();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong refilled = new AtomicLong();
+  private final AtomicLong refillNanos = new AtomicLong();
+  private volatile int depth;
+  private volatile ExecutorService workers;
+
+  public DropPool(MythicDrops mythicDrops) {
+    this.mythicDrops = mythicDrops;
+  }
+
+  /**
+   * Starts the given number of worker threads, or only changes the depth if that many are already running.
+   *
+   * @param workerCount number of worker threads
+   * @param targetDepth number of specs to keep ready per pool
+   */
+  public synchronized void start(int workerCount, int targetDepth) {
+    int count = Math.max(workerCount, 1);
+    depth = Math.max(targetDepth, 1);
+    if (workers != null && workers.isShutdown()) {
+      workers = null;
+    }
+    if (workers != null) {
+      return;
+    }
+    AtomicInteger threadNumber = new AtomicInteger();
+    ExecutorService executorService = Executors.newFixedThreadPool(count, runnable -> {
+      Thread thread = new Thread(runnable, "MythicDrops-DropPool-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      thread.setPriority(Thread.MIN_PRIORITY);
+      return thread;
+    });
+    for (int i = 0; i < count; i++) {
+      executorService.execute(this::work);
+    }
+    workers = executorService;
+    LOGGER.info("Started drop pool with " + count + " worker(s) and a depth of " + depth);
+  }
+
+  public synchronized void stop() {
+    if (workers != null) {
+      workers.shutdownNow();
+      workers = null;
+    }
+    invalidate();
+  }
+
+  public boolean isRunning() {
+    return workers != null;
+  }
+
+  /**
+   * Drops every pooled spec. Specs being rolled while this is called are thrown away instead of pooled, so nothing
+   * rolled against old content is handed out after a reload.
+   */
+  public void invalidate() {
+    generation.incrementAndGet();
+    slots.clear();
+    refills.clear();
+  }
+
+  /**
+   * Takes a pre-rolled spec for the given tier, reason and durability flag and asks the workers to replace it.
+   * Returns null when the pool is empty, stopped, or a seeded random source is in use.
+   *
+   * @param tier tier of the item
+   * @param reason reason the item is generated
+   * @param useDurability whether the item has rolled durability
+   * @return pre-rolled spec or null
+   */
+  public DropSpec take(Tier tier, ItemGenerationReason reason, boolean useDurability) {
+    if (tier == null || workers == null || !RandomSources.isDefault()) {
+      return null;
+    }
+    Key key = new Key(tier, reason, useDurability);
+    Slot slot = slots.get(key);
+    if (slot == null) {
+      Slot created = new Slot(key);
+      slot = slots.putIfAbsent(key, created);
+      if (slot == null) {
+        slot = created;
+      }
+    }
+    DropSpec spec = slot.specs.poll();
+    if (spec != null) {
+      slot.size.decrementAndGet();
+      hits.incrementAndGet();
+    } else {
+      misses.incrementAndGet();
+    }
+    requestRefill(slot);
+    return spec;
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * Gets the average time a worker took to roll one spec.
+   *
+   * @return average refill latency in nanoseconds
+   */
+  public long getAverageRefillNanos() {
+    long count = refilled.get();
+    return count == 0 ? 0 : refillNanos.get() / count;
+  }
+
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Gets the number of specs currently pooled across all pools.
+   *
+   * @return pooled spec count
+   */
+  public int size() {
+    int size = 0;
+    for (Slot slot : slots.values()) {
+      size += slot.size.get();
+    }
+    return size;
+  }
+
+  private void requestRefill(Slot slot) {
+    if (slot.size.get() < depth && slot.queued.compareAndSet(false, true)) {
+      refills.offer(slot);
+    }
+  }
+
+  private void work() {
+    while (!Thread.currentThread().isInterrupted()) {
+      Slot slot;
+      try {
+        slot = refills.take();
+      } catch (InterruptedException e) {
+        return;
+      }
+      slot.queued.set(false);
+      try {
+        fill(slot);
+      } catch (RuntimeException e) {
+        LOGGER.log(Level.WARNING, "Unable to pre-roll drops for " + slot.key.tier.getName(), e);
+      }
+    }
+  }
+
+  private void fill(final Slot slot) {
+    int expectedGeneration = generation.get();
+    if (slots.get(slot.key) != slot) {
+      return;
+    }
+    while (slot.size.get() < depth && !Thread.currentThread().isInterrupted()) {
+      long start = System.nanoTime();
+      DropSpec spec = RandomSources.withSource(WORKER_SOURCE, () -> {
+        MythicDropBuilder builder = new MythicDropBuilder(mythicDrops);
+        builder.withTier(slot.key.tier).withItemGenerationReason(slot.key.reason)
+            .useDurability(slot.key.useDurability);
+        return builder.rollSpec();
+      });
+      refillNanos.addAndGet(System.nanoTime() - start);
+      refilled.incrementAndGet();
+      if (spec == null || generation.get() != expectedGeneration) {
+        return;
+      }
+      slot.specs.offer(spec);
+      slot.size.incrementAndGet();
+    }
+  }
+
+  private static final class Key {
+
+    private final Tier tier;
+    private final ItemGenerationReason reason;
+    private final boolean useDurability;
+
+    private Key(Tier tier, ItemGenerationReason reason, boolean useDurability) {
+      this.tier = tier;
+      this.reason = reason != null ? reason : ItemGenerationReason.DEFAULT;
+      this.useDurability = useDurability;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = tier.hashCode();
+      result = 31 * result + reason.hashCode();
+      result = 31 * result + (useDurability ? 1 : 0);
+      return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+
+      Key that = (Key) o;
+
+      return useDurability == that.useDurability && reason == that.reason && tier.equals(that.tier);
+    }
+
+  }
+
+  private static final class Slot {
+
+    private final Key key;
+    private final Queue<DropSpec> specs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    private Slot(Key key) {
+      this.key = key;
+    }
+
+  }
+
+}
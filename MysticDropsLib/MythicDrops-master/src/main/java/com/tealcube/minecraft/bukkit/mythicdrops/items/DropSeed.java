@@ -0,0 +1,137 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.items;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.items.ItemGenerationReason;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.SeededRandomSource;
+import com.tealcube.minecraft.bukkit.mythicdrops.utils.ItemUtil;
+import com.tealcube.minecraft.bukkit.mythicdrops.utils.TierUtil;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.Validate;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * The minimum needed to build a tiered item later: its tier, its material and the seed for every other roll. Building
+ * the same seed twice gives the same item.
+ */
+public final class DropSeed {
+
+  private final Tier tier;
+  private final Material material;
+  private final long seed;
+
+  public DropSeed(Tier tier, Material material, long seed) {
+    Validate.notNull(tier, "Tier cannot be null");
+    Validate.notNull(material, "Material cannot be null");
+    this.tier = tier;
+    this.material = material;
+    this.seed = seed;
+  }
+
+  /**
+   * Rolls a material and a seed for the given tier.
+   *
+   * @param tier tier to roll for
+   * @return rolled seed, or null if the tier has no usable materials
+   */
+  public static DropSeed roll(Tier tier) {
+    if (tier == null) {
+      return null;
+    }
+    Material material = ItemUtil.getRandomMaterialFromCollection(ItemUtil.getMaterialsFromTier(tier));
+    if (material == null || material == Material.AIR) {
+      return null;
+    }
+    return new DropSeed(tier, material, RandomSources.current().nextLong());
+  }
+
+  /**
+   * Reads a seed written by {@link #serialize()}.
+   *
+   * @param string serialized seed
+   * @return seed, or null if the string is malformed or its tier or material no longer exists
+   */
+  public static DropSeed deserialize(String string) {
+    if (string == null) {
+      return null;
+    }
+    String[] split = string.split(":", 3);
+    if (split.length != 3) {
+      return null;
+    }
+    long seed;
+    try {
+      seed = Long.parseUnsignedLong(split[0], 16);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    Material material = Material.getMaterial(split[1]);
+    Tier tier = TierUtil.getTier(split[2]);
+    if (material == null || material == Material.AIR || tier == null) {
+      return null;
+    }
+    return new DropSeed(tier, material, seed);
+  }
+
+  public Tier getTier() {
+    return tier;
+  }
+
+  public Material getMaterial() {
+    return material;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Builds the full item, drawing every roll from this seed.
+   *
+   * @param reason reason the item is generated
+   * @param useDurability whether to roll durability
+   * @return built item, or null if the builder produced none
+   */
+  public ItemStack materialize(final ItemGenerationReason reason, final boolean useDurability) {
+    return withRolls(() -> MythicDropsPlugin.getNewDropBuilder().withItemGenerationReason(reason)
+        .useDurability(useDurability).withTier(tier).withMaterial(material).build());
+  }
+
+  <T> T withRolls(Supplier<T> action) {
+    return RandomSources.withSource(new SeededRandomSource(seed), action);
+  }
+
+  /**
+   * Writes the seed as a string that {@link #deserialize(String)} reads back, with the tier name last since it may
+   * contain anything.
+   *
+   * @return serialized seed
+   */
+  public String serialize() {
+    return Long.toHexString(seed) + ":" + material.name() + ":" + tier.getName();
+  }
+
+}
@@ -0,0 +1,217 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.items;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.items.ItemGenerationReason;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.items.MythicItemStack;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.items.NonrepairableItemStack;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
+import com.tealcube.minecraft.bukkit.mythicdrops.tiers.TierMap;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.Validate;
+import org.bukkit.Color;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.LeatherArmorMeta;
+import org.bukkit.inventory.meta.SkullMeta;
+
+/**
+ * Every rolled decision for a tiered item, with no Bukkit objects attached. Produced by
+ * {@link MythicDropBuilder#rollSpec()} on any thread and turned into an item by {@link #toItemStack()} on the main
+ * thread.
+ */
+public final class DropSpec implements Serializable {
+
+  public static final int NO_COLOR = -1;
+  private static final long serialVersionUID = 1L;
+
+  private final String tierName;
+  private final Material material;
+  private final ItemGenerationReason reason;
+  private final boolean repairable;
+  private final short durability;
+  private final Map<String, Integer> enchantments;
+  private final String displayName;
+  private final List<String> lore;
+  private final int leatherColor;
+
+  DropSpec(String tierName, Material material, ItemGenerationReason reason, boolean repairable, short durability,
+      Map<Enchantment, Integer> enchantments, String displayName, List<String> lore, int leatherColor) {
+    Validate.notNull(tierName, "Tier name cannot be null");
+    Validate.notNull(material, "Material cannot be null");
+    this.tierName = tierName;
+    this.material = material;
+    this.reason = reason != null ? reason : ItemGenerationReason.DEFAULT;
+    this.repairable = repairable;
+    this.durability = durability;
+    Map<String, Integer> enchantmentNames = new LinkedHashMap<>();
+    for (Map.Entry<Enchantment, Integer> entry : enchantments.entrySet()) {
+      enchantmentNames.put(entry.getKey().getName(), entry.getValue());
+    }
+    this.enchantments = Collections.unmodifiableMap(enchantmentNames);
+    this.displayName = displayName;
+    this.lore = Collections.unmodifiableList(new ArrayList<>(lore));
+    this.leatherColor = leatherColor;
+  }
+
+  public String getTierName() {
+    return tierName;
+  }
+
+  /**
+   * Looks up the tier by name in the currently loaded {@link TierMap}.
+   *
+   * @return tier, or null if it is no longer loaded
+   */
+  public Tier getTier() {
+    return TierMap.getInstance().get(tierName.toLowerCase());
+  }
+
+  public Material getMaterial() {
+    return material;
+  }
+
+  public ItemGenerationReason getReason() {
+    return reason;
+  }
+
+  public boolean isRepairable() {
+    return repairable;
+  }
+
+  public short getDurability() {
+    return durability;
+  }
+
+  /**
+   * Gets the rolled enchantments keyed by {@link Enchantment#getName()}, in the order they are applied.
+   *
+   * @return unmodifiable map of enchantment names to levels
+   */
+  public Map<String, Integer> getEnchantments() {
+    return enchantments;
+  }
+
+  public String getDisplayName() {
+    return displayName;
+  }
+
+  public List<String> getLore() {
+    return lore;
+  }
+
+  /**
+   * Gets the rolled leather color as an RGB value.
+   *
+   * @return RGB value, or {@link #NO_COLOR}
+   */
+  public int getLeatherColor() {
+    return leatherColor;
+  }
+
+  /**
+   * Builds the item described by this spec. Must be called on the main thread.
+   *
+   * @return built item
+   */
+  public ItemStack toItemStack() {
+    MythicItemStack nis;
+    if (repairable) {
+      nis = new MythicItemStack(material, 1, (short) 0, "");
+    } else {
+      nis = new NonrepairableItemStack(material, 1, (short) 0, "");
+    }
+    ItemMeta im = nis.getItemMeta();
+    for (Map.Entry<String, Integer> entry : enchantments.entrySet()) {
+      Enchantment enchantment = Enchantment.getByName(entry.getKey());
+      if (enchantment != null) {
+        im.addEnchant(enchantment, entry.getValue(), true);
+      }
+    }
+    nis.setDurability(durability);
+    im.setDisplayName(displayName);
+    im.setLore(new ArrayList<>(lore));
+    if (leatherColor != NO_COLOR && im instanceof LeatherArmorMeta) {
+      ((LeatherArmorMeta) im).setColor(Color.fromRGB(leatherColor));
+    }
+    if (im instanceof SkullMeta) {
+      ((SkullMeta) im).setOwner("ToppleTheNun");
+    }
+    nis.setItemMeta(im);
+    return nis;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = tierName.hashCode();
+    result = 31 * result + material.hashCode();
+    result = 31 * result + reason.hashCode();
+    result = 31 * result + (repairable ? 1 : 0);
+    result = 31 * result + durability;
+    result = 31 * result + enchantments.hashCode();
+    result = 31 * result + (displayName != null ? displayName.hashCode() : 0);
+    result = 31 * result + lore.hashCode();
+    result = 31 * result + leatherColor;
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof DropSpec)) {
+      return false;
+    }
+
+    DropSpec that = (DropSpec) o;
+
+    return repairable == that.repairable && durability == that.durability && leatherColor == that.leatherColor
+        && tierName.equals(that.tierName) && material == that.material && reason == that.reason
+        && enchantments.equals(that.enchantments)
+        && !(displayName != null ? !displayName.equals(that.displayName) : that.displayName != null)
+        && lore.equals(that.lore);
+  }
+
+  @Override
+  public String toString() {
+    return "DropSpec{" +
+        "tierName='" + tierName + '\'' +
+        ", material=" + material +
+        ", reason=" + reason +
+        ", repairable=" + repairable +
+        ", durability=" + durability +
+        ", enchantments=" + enchantments +
+        ", displayName='" + displayName + '\'' +
+        ", lore=" + lore +
+        ", leatherColor=" + leatherColor +
+        '}';
+  }
+
+}
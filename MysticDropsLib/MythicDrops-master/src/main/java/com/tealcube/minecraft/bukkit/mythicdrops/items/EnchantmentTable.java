@@ -0,0 +1,213 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.items;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.enchantments.MythicEnchantment;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
+import com.tealcube.minecraft.bukkit.mythicdrops.utils.RandomRangeUtil;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.Validate;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * The enchantments a {@link Tier} can put on a single {@link Material}, with their level bounds worked out ahead of
+ * time. Compiled once per (Tier, Material) by {@link EnchantmentTableMap} so that building a drop never has to ask an
+ * {@link Enchantment} whether it applies.
+ */
+public final class EnchantmentTable {
+
+  // how many rejected draws a roll of bonus enchantments tolerates, as the builder did before the table
+  private static final int MAX_REJECTED_BONUS_DRAWS = 10;
+
+  private final Entry[] baseEntries;
+  private final Entry[] bonusEntries;
+  private final int minimumBonusEnchantments;
+  private final int maximumBonusEnchantments;
+
+  private EnchantmentTable(Entry[] baseEntries, Entry[] bonusEntries, int minimumBonusEnchantments,
+                           int maximumBonusEnchantments) {
+    this.baseEntries = baseEntries;
+    this.bonusEntries = bonusEntries;
+    this.minimumBonusEnchantments = minimumBonusEnchantments;
+    this.maximumBonusEnchantments = maximumBonusEnchantments;
+  }
+
+  /**
+   * Compiles the table for the given tier and material.
+   *
+   * @param tier     Tier to read enchantments from
+   * @param material Material the enchantments will be applied to
+   * @return compiled table
+   */
+  public static EnchantmentTable compile(Tier tier, Material material) {
+    Validate.notNull(tier, "Tier cannot be null");
+    Validate.notNull(material, "Material cannot be null");
+    return new EnchantmentTable(compileBase(tier, material), compileBonus(tier, material),
+        tier.getMinimumBonusEnchantments(), tier.getMaximumBonusEnchantments());
+  }
+
+  private static Entry[] compileBase(Tier tier, Material material) {
+    List<Entry> entries = new ArrayList<>();
+    if (tier.getBaseEnchantments() == null) {
+      return new Entry[0];
+    }
+    ItemStack itemStack = new ItemStack(material);
+    for (MythicEnchantment me : tier.getBaseEnchantments()) {
+      if (me == null || me.getEnchantment() == null) {
+        continue;
+      }
+      Enchantment e = me.getEnchantment();
+      if (!tier.isSafeBaseEnchantments()) {
+        entries.add(new Entry(e, me.getMinimumLevel(), me.getMaximumLevel(), Integer.MIN_VALUE,
+            Integer.MAX_VALUE));
+        continue;
+      }
+      if (!e.canEnchantItem(itemStack)) {
+        continue;
+      }
+      int minimumLevel = Math.max(me.getMinimumLevel(), e.getStartLevel());
+      if (tier.isAllowHighBaseEnchantments()) {
+        entries.add(new Entry(e, minimumLevel, me.getMaximumLevel(), Integer.MIN_VALUE, Integer.MAX_VALUE));
+      } else {
+        int maximumLevel = Math.min(me.getMaximumLevel(), e.getMaxLevel());
+        entries.add(new Entry(e, minimumLevel, maximumLevel, e.getStartLevel(), e.getMaxLevel()));
+      }
+    }
+    return entries.toArray(new Entry[entries.size()]);
+  }
+
+  private static Entry[] compileBonus(Tier tier, Material material) {
+    List<Entry> entries = new ArrayList<>();
+    if (tier.getBonusEnchantments() == null) {
+      return new Entry[0];
+    }
+    for (MythicEnchantment me : tier.getBonusEnchantments()) {
+      if (me == null || me.getEnchantment() == null) {
+        continue;
+      }
+      Enchantment e = me.getEnchantment();
+      if (tier.isSafeBonusEnchantments() && (e.getItemTarget() == null || !e.getItemTarget().includes(material))) {
+        continue;
+      }
+      if (tier.isAllowHighBonusEnchantments()) {
+        entries.add(new Entry(e, me.getMinimumLevel(), me.getMaximumLevel(), Integer.MIN_VALUE,
+            Integer.MAX_VALUE));
+      } else {
+        entries.add(new Entry(e, me.getMinimumLevel(), me.getMaximumLevel(), e.getStartLevel(), e.getMaxLevel()));
+      }
+    }
+    return entries.toArray(new Entry[entries.size()]);
+  }
+
+  /**
+   * Rolls a level for every base enchantment that applies.
+   *
+   * @return map of enchantments to levels
+   */
+  public Map<Enchantment, Integer> rollBaseEnchantments() {
+    Map<Enchantment, Integer> map = new HashMap<>();
+    for (Entry entry : baseEntries) {
+      map.put(entry.enchantment, entry.rollLevel());
+    }
+    return map;
+  }
+
+  /**
+   * Picks between the tier's minimum and maximum number of bonus enchantments, without repeats, using a partial
+   * Fisher-Yates shuffle. If fewer enchantments apply than were rolled, all of them are used. A draw that would push
+   * an enchantment past its maximum is rejected and another entry is drawn in its place, while entries remain and
+   * until {@value #MAX_REJECTED_BONUS_DRAWS} draws have been rejected.
+   *
+   * @return map of enchantments to levels
+   */
+  public Map<Enchantment, Integer> rollBonusEnchantments() {
+    Map<Enchantment, Integer> map = new HashMap<>();
+    if (bonusEntries.length == 0) {
+      return map;
+    }
+    int count = Math.min(RandomRangeUtil.randomRange(minimumBonusEnchantments, maximumBonusEnchantments),
+        bonusEntries.length);
+    Entry[] entries = bonusEntries.clone();
+    int added = 0;
+    int rejected = 0;
+    for (int i = 0; i < entries.length && added < count && rejected < MAX_REJECTED_BONUS_DRAWS; i++) {
+      int j = RandomSources.current().nextInt(i, entries.length);
+      Entry chosen = entries[j];
+      entries[j] = entries[i];
+      entries[i] = chosen;
+
+      // two entries for the same enchantment stack, as long as they stay under the entry's maximum
+      Integer existing = map.get(chosen.enchantment);
+      int level = RandomRangeUtil.randomRange(chosen.minimumLevel, chosen.maximumLevel);
+      if (existing != null) {
+        if (level + existing > chosen.maximumLevel) {
+          rejected++;
+          continue;
+        }
+        level += existing;
+      }
+      map.put(chosen.enchantment, chosen.clamp(level));
+      added++;
+    }
+    return map;
+  }
+
+  public int getBaseEnchantmentCount() {
+    return baseEntries.length;
+  }
+
+  public int getBonusEnchantmentCount() {
+    return bonusEntries.length;
+  }
+
+  private static final class Entry {
+    private final Enchantment enchantment;
+    private final int minimumLevel;
+    private final int maximumLevel;
+    private final int lowestLevel;
+    private final int highestLevel;
+
+    private Entry(Enchantment enchantment, int minimumLevel, int maximumLevel, int lowestLevel,
+                  int highestLevel) {
+      this.enchantment = enchantment;
+      this.minimumLevel = minimumLevel;
+      this.maximumLevel = maximumLevel;
+      this.lowestLevel = lowestLevel;
+      this.highestLevel = highestLevel;
+    }
+
+    private int rollLevel() {
+      return clamp(RandomRangeUtil.randomRange(minimumLevel, maximumLevel));
+    }
+
+    private int clamp(int level) {
+      return Math.max(Math.min(level, highestLevel), lowestLevel);
+    }
+  }
+
+}
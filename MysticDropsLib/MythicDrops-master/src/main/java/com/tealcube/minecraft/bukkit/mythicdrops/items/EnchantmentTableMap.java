@@ -0,0 +1,80 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.items;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
+import com.tealcube.minecraft.bukkit.mythicdrops.utils.ItemUtil;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.Validate;
+import org.bukkit.Material;
+
+/**
+ * An extension of {@link ConcurrentHashMap} holding the compiled {@link EnchantmentTable}s for each {@link Tier}.
+ */
+public final class EnchantmentTableMap extends ConcurrentHashMap<Tier, Map<Material, EnchantmentTable>> {
+
+  private static final EnchantmentTableMap _INSTANCE = new EnchantmentTableMap();
+
+  private EnchantmentTableMap() {
+    // do nothing
+  }
+
+  /**
+   * Gets the instance of EnchantmentTableMap running on the server.
+   *
+   * @return instance running on the server
+   */
+  public static EnchantmentTableMap getInstance() {
+    return _INSTANCE;
+  }
+
+  /**
+   * Throws away any existing tables and compiles one for every material each of the given tiers can drop as.
+   *
+   * @param tiers Tiers to compile
+   */
+  public void compile(Collection<Tier> tiers) {
+    clear();
+    for (Tier tier : tiers) {
+      for (Material material : ItemUtil.getMaterialsFromTier(tier)) {
+        getTable(tier, material);
+      }
+    }
+  }
+
+  /**
+   * Gets the table for the given tier and material, compiling it if it has not been seen before.
+   *
+   * @param tier     Tier
+   * @param material Material
+   * @return compiled table
+   */
+  public EnchantmentTable getTable(Tier tier, Material material) {
+    Validate.notNull(tier, "Tier cannot be null");
+    Validate.notNull(material, "Material cannot be null");
+    Map<Material, EnchantmentTable> tables = computeIfAbsent(tier, k -> new ConcurrentHashMap<>());
+    return tables.computeIfAbsent(material, k -> EnchantmentTable.compile(tier, material));
+  }
+
+}
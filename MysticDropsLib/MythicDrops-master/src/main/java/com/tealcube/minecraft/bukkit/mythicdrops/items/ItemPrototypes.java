@@ -0,0 +1,208 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.items;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
+import com.tealcube.minecraft.bukkit.mythicdrops.identification.IdentityTome;
+import com.tealcube.minecraft.bukkit.mythicdrops.identification.UnidentifiedItem;
+import com.tealcube.minecraft.bukkit.mythicdrops.socketting.SocketGem;
+import com.tealcube.minecraft.bukkit.mythicdrops.socketting.SocketItem;
+import com.tealcube.minecraft.bukkit.mythicdrops.utils.ItemUtil;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * Prototypes of the Identity Tome, the Unidentified Item of every tier material and the Socket Gem item of every gem
+ * and socket gem material. Building one of these formats its name and lore into a fresh ItemMeta, so they are built
+ * once whenever the settings are loaded and handed out as clones. Each compile replaces the prototypes as a whole, so
+ * they can be read from any thread.
+ */
+public final class ItemPrototypes {
+
+  private static final ItemPrototypes _INSTANCE = new ItemPrototypes();
+
+  private volatile Prototypes prototypes = new Prototypes(null, null, null, Collections.emptyMap(),
+      Collections.emptyMap());
+
+  private ItemPrototypes() {
+    // do nothing
+  }
+
+  /**
+   * Gets the instance of ItemPrototypes running on the server.
+   *
+   * @return instance running on the server
+   */
+  public static ItemPrototypes getInstance() {
+    return _INSTANCE;
+  }
+
+  /**
+   * Throws away the existing prototypes and builds them again from the current identifying and socketting settings.
+   *
+   * @param tiers           Tiers whose materials can drop as Unidentified Items
+   * @param socketGems      Socket Gems that can drop
+   * @param socketMaterials materials Socket Gems can drop as
+   */
+  public void compile(Collection<Tier> tiers, Collection<SocketGem> socketGems,
+                      Collection<Material> socketMaterials) {
+    ItemStack identityTome = new IdentityTome();
+    Map<Material, ItemStack> unidentifiedItems = new EnumMap<>(Material.class);
+    for (Tier tier : tiers) {
+      for (Material material : ItemUtil.getMaterialsFromTier(tier)) {
+        if (!unidentifiedItems.containsKey(material)) {
+          unidentifiedItems.put(material, new UnidentifiedItem(material));
+        }
+      }
+    }
+    Map<String, Map<Material, ItemStack>> socketItems = new HashMap<>();
+    for (SocketGem socketGem : socketGems) {
+      Map<Material, ItemStack> byMaterial = new EnumMap<>(Material.class);
+      for (Material material : socketMaterials) {
+        byMaterial.put(material, new SocketItem(material, socketGem));
+      }
+      socketItems.put(socketGem.getName(), byMaterial);
+    }
+    // the unidentified name does not depend on the material, so any prototype gives the key
+    ItemStack unidentified = unidentifiedItems.isEmpty() ? new UnidentifiedItem(Material.STONE)
+        : unidentifiedItems.values().iterator().next();
+    prototypes = new Prototypes(identityTome, displayName(identityTome), displayName(unidentified),
+        unidentifiedItems, socketItems);
+  }
+
+  /**
+   * Gets a new Identity Tome.
+   *
+   * @return Identity Tome
+   */
+  public ItemStack identityTome() {
+    ItemStack prototype = prototypes.identityTome;
+    return prototype != null ? prototype.clone() : new IdentityTome();
+  }
+
+  /**
+   * Gets a new Unidentified Item of the given material.
+   *
+   * @param material Material
+   * @return Unidentified Item
+   */
+  public ItemStack unidentifiedItem(Material material) {
+    ItemStack prototype = prototypes.unidentifiedItems.get(material);
+    return prototype != null ? prototype.clone() : new UnidentifiedItem(material);
+  }
+
+  /**
+   * Gets a new item for the given Socket Gem.
+   *
+   * @param socketGem Socket Gem
+   * @param material  Material
+   * @return Socket Gem item
+   */
+  public ItemStack socketItem(SocketGem socketGem, Material material) {
+    Map<Material, ItemStack> byMaterial = socketGem != null ? prototypes.socketItems.get(socketGem.getName()) : null;
+    ItemStack prototype = byMaterial != null ? byMaterial.get(material) : null;
+    return prototype != null ? prototype.clone() : new SocketItem(material, socketGem);
+  }
+
+  /**
+   * Checks if the display name is the one Identity Tomes have.
+   *
+   * @param displayName display name of an item
+   * @return if the display name is the Identity Tome's
+   */
+  public boolean isIdentityTomeName(String displayName) {
+    String key = prototypes.identityTomeName;
+    return key != null && key.equals(displayName);
+  }
+
+  /**
+   * Checks if the display name is the one Unidentified Items have.
+   *
+   * @param displayName display name of an item
+   * @return if the display name is the Unidentified Items'
+   */
+  public boolean isUnidentifiedName(String displayName) {
+    String key = prototypes.unidentifiedName;
+    return key != null && key.equals(displayName);
+  }
+
+  /**
+   * Checks if the item is an Identity Tome, looking at its display name before comparing it to the prototype.
+   *
+   * @param itemStack item to check
+   * @return if the item is an Identity Tome
+   */
+  public boolean isIdentityTome(ItemStack itemStack) {
+    Prototypes current = prototypes;
+    return current.identityTomeName != null && current.identityTomeName.equals(displayName(itemStack))
+        && itemStack.isSimilar(current.identityTome);
+  }
+
+  /**
+   * Checks if the item is an Unidentified Item, looking at its display name before comparing it to the prototype.
+   *
+   * @param itemStack item to check
+   * @return if the item is an Unidentified Item
+   */
+  public boolean isUnidentifiedItem(ItemStack itemStack) {
+    Prototypes current = prototypes;
+    if (current.unidentifiedName == null || !current.unidentifiedName.equals(displayName(itemStack))) {
+      return false;
+    }
+    ItemStack prototype = current.unidentifiedItems.get(itemStack.getType());
+    return itemStack.isSimilar(prototype != null ? prototype : new UnidentifiedItem(itemStack.getType()));
+  }
+
+  private static String displayName(ItemStack itemStack) {
+    if (itemStack == null || !itemStack.hasItemMeta()) {
+      return null;
+    }
+    ItemMeta itemMeta = itemStack.getItemMeta();
+    return itemMeta.hasDisplayName() ? itemMeta.getDisplayName() : null;
+  }
+
+  private static final class Prototypes {
+
+    private final ItemStack identityTome;
+    private final String identityTomeName;
+    private final String unidentifiedName;
+    private final Map<Material, ItemStack> unidentifiedItems;
+    private final Map<String, Map<Material, ItemStack>> socketItems;
+
+    private Prototypes(ItemStack identityTome, String identityTomeName, String unidentifiedName,
+                       Map<Material, ItemStack> unidentifiedItems, Map<String, Map<Material, ItemStack>> socketItems) {
+      this.identityTome = identityTome;
+      this.identityTomeName = identityTomeName;
+      this.unidentifiedName = unidentifiedName;
+      this.unidentifiedItems = unidentifiedItems;
+      this.socketItems = socketItems;
+    }
+
+  }
+
+}
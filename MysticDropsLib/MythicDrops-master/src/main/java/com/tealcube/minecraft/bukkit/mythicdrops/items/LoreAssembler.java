@@ -0,0 +1,164 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.items;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.utils.StringUtil;
+import com.tealcube.minecraft.bukkit.mythicdrops.utils.TemplatingUtil;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * A compiled tooltip format. Lines that are exactly a list placeholder such as {@code %baselore%} are expanded in
+ * place, and every resulting line has its scalar placeholders, colors and templates rendered, all in a single pass
+ * into one pre-sized list. Lines of a {@link Section#isColored() colored} section are not colored again.
+ */
+public final class LoreAssembler {
+
+  private static volatile LoreAssembler cached;
+
+  private final List<String> format;
+  private final String[] lines;
+  private final Section[] sections;
+  private final int scalarLines;
+
+  private LoreAssembler(List<String> format) {
+    this.format = new ArrayList<>(format);
+    this.lines = new String[format.size()];
+    this.sections = new Section[format.size()];
+    int scalars = 0;
+    for (int i = 0; i < lines.length; i++) {
+      String line = format.get(i) != null ? format.get(i) : "";
+      lines[i] = line;
+      sections[i] = Section.fromPlaceholder(line);
+      if (sections[i] == null) {
+        scalars++;
+      }
+    }
+    this.scalarLines = scalars;
+  }
+
+  /**
+   * Gets the assembler for the given tooltip format, compiling it again only if the format has changed since the
+   * last call.
+   *
+   * @param format tooltip format
+   * @return assembler for the format
+   */
+  public static LoreAssembler forFormat(List<String> format) {
+    LoreAssembler assembler = cached;
+    if (assembler == null || !assembler.format.equals(format)) {
+      assembler = new LoreAssembler(format);
+      cached = assembler;
+    }
+    return assembler;
+  }
+
+  /**
+   * Assembles lore from the compiled format.
+   *
+   * @param sectionLines lines to put in place of each list placeholder; missing sections are left out
+   * @param args         scalar placeholders and their replacements
+   * @return rendered lore
+   */
+  public List<String> assemble(EnumMap<Section, List<String>> sectionLines, String[][] args) {
+    int size = scalarLines;
+    for (Section section : sections) {
+      if (section != null && sectionLines.get(section) != null) {
+        size += sectionLines.get(section).size();
+      }
+    }
+    List<String> lore = new ArrayList<>(size);
+    for (int i = 0; i < lines.length; i++) {
+      if (sections[i] == null) {
+        lore.add(render(lines[i], args, true));
+        continue;
+      }
+      List<String> expanded = sectionLines.get(sections[i]);
+      if (expanded == null) {
+        continue;
+      }
+      boolean color = !sections[i].isColored();
+      for (String line : expanded) {
+        lore.add(render(line, args, color));
+      }
+    }
+    return lore;
+  }
+
+  private static String render(String line, String[][] args, boolean color) {
+    String s = line;
+    boolean hasPlaceholders = s.indexOf('%') >= 0;
+    if (hasPlaceholders) {
+      s = StringUtil.replaceArgs(s, args);
+    }
+    if (color && (s.indexOf('&') >= 0 || s.indexOf('\u00A7') >= 0)) {
+      s = StringUtil.colorString(s);
+    }
+    if (hasPlaceholders && s.indexOf('%') >= 0) {
+      s = TemplatingUtil.template(s);
+    }
+    return s;
+  }
+
+  /**
+   * The list placeholders a tooltip format line can consist of.
+   */
+  public enum Section {
+    BASE_LORE("%baselore%", true), BONUS_LORE("%bonuslore%", true), GENERAL_LORE("%generallore%", true),
+    MATERIAL_LORE("%materiallore%", true), TIER_LORE("%tierlore%", true),
+    ENCHANTMENT_LORE("%enchantmentlore%", true), ITEMTYPE_LORE("%itemtypelore%", true),
+    SOCKET_LORE("%socketlore%", false), RELATION_LORE("%relationlore%", false);
+
+    private final String placeholder;
+    private final boolean colored;
+
+    Section(String placeholder, boolean colored) {
+      this.placeholder = placeholder;
+      this.colored = colored;
+    }
+
+    public String getPlaceholder() {
+      return placeholder;
+    }
+
+    /**
+     * Whether the lines of this section are colored when they are loaded, see
+     * {@link com.tealcube.minecraft.bukkit.mythicdrops.utils.StringListUtil#splitAndColor(List)}.
+     *
+     * @return if the lines are already colored
+     */
+    public boolean isColored() {
+      return colored;
+    }
+
+    static Section fromPlaceholder(String line) {
+      for (Section section : values()) {
+        if (section.placeholder.equals(line)) {
+          return section;
+        }
+      }
+      return null;
+    }
+  }
+
+}
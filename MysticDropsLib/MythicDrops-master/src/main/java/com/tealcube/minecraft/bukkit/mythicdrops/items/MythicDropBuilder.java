@@ -21,35 +21,33 @@
  */
 package com.tealcube.minecraft.bukkit.mythicdrops.items;
 
-import com.google.common.base.Joiner;
-import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.MythicDrops;
-import com.tealcube.minecraft.bukkit.mythicdrops.api.enchantments.MythicEnchantment;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.items.ItemGenerationReason;
-import com.tealcube.minecraft.bukkit.mythicdrops.api.items.MythicItemStack;
-import com.tealcube.minecraft.bukkit.mythicdrops.api.items.NonrepairableItemStack;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.items.builders.DropBuilder;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.names.NameType;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
+import com.tealcube.minecraft.bukkit.mythicdrops.events.RandomItemBatchGenerationEvent;
 import com.tealcube.minecraft.bukkit.mythicdrops.events.RandomItemGenerationEvent;
 import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
 import com.tealcube.minecraft.bukkit.mythicdrops.names.NameMap;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
 import com.tealcube.minecraft.bukkit.mythicdrops.tiers.TierMap;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.ItemStackUtil;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.ItemUtil;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.RandomRangeUtil;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.StringUtil;
-import com.tealcube.minecraft.bukkit.mythicdrops.utils.TemplatingUtil;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
-import net.nunnerycode.bukkit.libraries.ivory.collections.IvoryStringList;
-import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.text.WordUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Color;
@@ -57,14 +55,13 @@ import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.inventory.meta.LeatherArmorMeta;
-import org.bukkit.inventory.meta.SkullMeta;
 import org.bukkit.material.MaterialData;
 
 public final class MythicDropBuilder implements DropBuilder {
 
   private static final Logger LOGGER = MythicLoggerFactory.getLogger(MythicDropBuilder.class);
+  private static final Set<Material> LEATHER_ARMOR = EnumSet.of(Material.LEATHER_HELMET,
+      Material.LEATHER_CHESTPLATE, Material.LEATHER_LEGGINGS, Material.LEATHER_BOOTS);
   private MythicDrops mythicDrops;
   private Tier tier;
   private Material material;
@@ -139,69 +136,91 @@ public final class MythicDropBuilder implements DropBuilder {
 
   @Override
   public ItemStack build() {
-    Tier t = (tier != null) ? tier : TierMap.getInstance().getRandomWithChance();
+    return build(rollSpec());
+  }
 
-    if (t == null) {
-      t = TierMap.getInstance().getRandomWithChance();
-      if (t == null) {
-        return null;
+  @Override
+  public ItemStack[] buildBatch(int n) {
+    if (n <= 0) {
+      return new ItemStack[0];
+    }
+    Tier fixedTier = tier;
+    Material fixedMaterial = material;
+    Map<Tier, Material[]> materialTables = new HashMap<>();
+    Tier[] tiers = new Tier[n];
+    ItemStack[] itemStacks = new ItemStack[n];
+    int built = 0;
+    try {
+      for (int i = 0; i < n; i++) {
+        Tier t = fixedTier != null ? fixedTier : TierMap.getInstance().getRandomWithChance();
+        if (t == null) {
+          continue;
+        }
+        Material mat = fixedMaterial;
+        if (mat == null) {
+          Material[] materials = materialTables.get(t);
+          if (materials == null) {
+            Collection<Material> collection = ItemUtil.getMaterialsFromTier(t);
+            materials = collection.toArray(new Material[collection.size()]);
+            materialTables.put(t, materials);
+          }
+          if (materials.length == 0) {
+            continue;
+          }
+          mat = materials[RandomSources.current().nextInt(0, materials.length)];
+        }
+        tier = t;
+        material = mat;
+        DropSpec spec = rollSpec();
+        if (spec == null) {
+          continue;
+        }
+        tiers[built] = t;
+        itemStacks[built] = spec.toItemStack();
+        built++;
       }
+    } finally {
+      tier = fixedTier;
+      material = fixedMaterial;
     }
-
-    tier = t;
-
-    Material mat = material != null ? material : ItemUtil.getRandomMaterialFromCollection
-        (ItemUtil.getMaterialsFromTier(t));
-
-    if (mat == null || mat == Material.AIR) {
-      return null;
+    if (built < n) {
+      tiers = Arrays.copyOf(tiers, built);
+      itemStacks = Arrays.copyOf(itemStacks, built);
     }
-
-    MythicItemStack nis;
-    if (mythicDrops.getConfigSettings().isAllowRepairingUsingAnvil()) {
-      LOGGER.fine("Spawning repairable item");
-      nis = new MythicItemStack(mat, 1, (short) 0, "");
-    } else {
-      LOGGER.fine("Spawning nonrepairable item");
-      nis = new NonrepairableItemStack(mat, 1, (short) 0, "");
+    if (!callEvent) {
+      return itemStacks;
     }
-    ItemMeta im = nis.getItemMeta();
-
-    Map<Enchantment, Integer> baseEnchantmentMap = getBaseEnchantments(nis, t);
-    Map<Enchantment, Integer> bonusEnchantmentMap = getBonusEnchantments(nis, t);
 
-    for (Map.Entry<Enchantment, Integer> baseEnch : baseEnchantmentMap.entrySet()) {
-      im.addEnchant(baseEnch.getKey(), baseEnch.getValue(), true);
+    RandomItemBatchGenerationEvent ribge = new RandomItemBatchGenerationEvent(tiers, itemStacks, itemGenerationReason);
+    Bukkit.getPluginManager().callEvent(ribge);
+    if (ribge.isCancelled()) {
+      return new ItemStack[0];
     }
-    for (Map.Entry<Enchantment, Integer> bonusEnch : bonusEnchantmentMap.entrySet()) {
-      im.addEnchant(bonusEnch.getKey(), bonusEnch.getValue(), true);
+    List<ItemStack> result = new ArrayList<>(ribge.size());
+    for (int i = 0; i < ribge.size(); i++) {
+      ItemStack itemStack = ribge.getItemStack(i);
+      if (!ribge.isVetoed(i) && itemStack != null) {
+        result.add(itemStack);
+      }
     }
+    return result.toArray(new ItemStack[result.size()]);
+  }
 
-    if (useDurability) {
-      nis.setDurability(
-          ItemStackUtil.getDurabilityForMaterial(nis.getType(), t.getMinimumDurabilityPercentage
-              (), t.getMaximumDurabilityPercentage())
-      );
-    }
-    String name = generateName(nis, im);
-    im.setDisplayName(name);
-    List<String> lore = generateLore(nis, im);
-    im.setLore(lore);
-    if (mythicDrops.getConfigSettings().isRandomizeLeatherColors() &&
-        nis.getItemMeta() instanceof LeatherArmorMeta) {
-      ((LeatherArmorMeta) im).setColor(Color.fromRGB(
-          RandomUtils.nextInt(0, 255),
-          RandomUtils.nextInt(0, 255),
-          RandomUtils.nextInt(0, 255)
-      ));
-    }
-    if (nis.getItemMeta() instanceof SkullMeta) {
-      ((SkullMeta) im).setOwner("ToppleTheNun");
+  /**
+   * Materializes an already rolled spec and fires the generation event for it, as {@link #build()} would have.
+   *
+   * @param spec spec to materialize
+   * @return built item, or null if the spec is null or the event was cancelled
+   */
+  public ItemStack build(DropSpec spec) {
+    if (spec == null) {
+      return null;
     }
-    nis.setItemMeta(im);
+    ItemStack nis = spec.toItemStack();
 
     if (callEvent) {
-      RandomItemGenerationEvent rige = new RandomItemGenerationEvent(t, nis, itemGenerationReason);
+      Tier t = tier != null ? tier : spec.getTier();
+      RandomItemGenerationEvent rige = new RandomItemGenerationEvent(t, nis, spec.getReason());
       Bukkit.getPluginManager().callEvent(rige);
 
       if (rige.isCancelled()) {
@@ -213,168 +232,111 @@ public final class MythicDropBuilder implements DropBuilder {
     return nis;
   }
 
-  private Map<Enchantment, Integer> getBonusEnchantments(MythicItemStack is, Tier t) {
-    Validate.notNull(is, "MythicItemStack cannot be null");
-    Validate.notNull(t, "Tier cannot be null");
-
-    if (t.getBonusEnchantments() == null || t.getBonusEnchantments().isEmpty()) {
-      return new HashMap<>();
-    }
+  /**
+   * Rolls every decision for the item without creating any Bukkit objects. Safe to call off the main thread as long
+   * as this builder is only used by one thread; turn the result into an item with {@link DropSpec#toItemStack()}.
+   *
+   * @return rolled spec, or null if no tier or material could be chosen
+   */
+  public DropSpec rollSpec() {
+    Tier t = (tier != null) ? tier : TierMap.getInstance().getRandomWithChance();
 
-    Map<Enchantment, Integer> map = new HashMap<>();
-
-    int added = 0;
-    int attempts = 0;
-    int range = RandomRangeUtil.randomRange(t.getMinimumBonusEnchantments(),
-        t.getMaximumBonusEnchantments());
-    MythicEnchantment[]
-        array =
-        t.getBonusEnchantments().toArray(new MythicEnchantment[t.getBonusEnchantments()
-            .size()]);
-    while (added < range && attempts < 10) {
-      MythicEnchantment chosenEnch = array[RandomUtils.nextInt(0, array.length)];
-      if (chosenEnch == null || chosenEnch.getEnchantment() == null) {
-        attempts++;
-        continue;
-      }
-      Enchantment e = chosenEnch.getEnchantment();
-      int randLevel = RandomRangeUtil.randomRange(chosenEnch.getMinimumLevel(),
-          chosenEnch.getMaximumLevel());
-      if (map.containsKey(e)) {
-        if (randLevel + map.get(e) > chosenEnch.getMaximumLevel()) {
-          attempts++;
-          continue;
-        }
-        randLevel += map.get(e);
-      }
-      if (t.isSafeBonusEnchantments()) {
-        if (e.getItemTarget() == null) {
-          attempts++;
-          continue;
-        }
-        if (!e.getItemTarget().includes(is.getType())) {
-          attempts++;
-          continue;
-        }
-        if (!t.isAllowHighBonusEnchantments()) {
-          randLevel = getAcceptableEnchantmentLevel(e, randLevel);
-        }
-      } else {
-        if (!t.isAllowHighBonusEnchantments()) {
-          randLevel = getAcceptableEnchantmentLevel(e, randLevel);
-        }
+    if (t == null) {
+      t = TierMap.getInstance().getRandomWithChance();
+      if (t == null) {
+        return null;
       }
-      map.put(e, randLevel);
-      added++;
     }
-    return map;
-  }
 
-  private Map<Enchantment, Integer> getBaseEnchantments(MythicItemStack is, Tier t) {
-    Validate.notNull(is, "MythicItemStack cannot be null");
-    Validate.notNull(t, "Tier cannot be null");
+    tier = t;
+
+    Material mat = material != null ? material : ItemUtil.getRandomMaterialFromCollection
+        (ItemUtil.getMaterialsFromTier(t));
+
+    if (mat == null || mat == Material.AIR) {
+      return null;
+    }
 
-    if (t.getBaseEnchantments() == null || t.getBaseEnchantments().isEmpty()) {
-      return new HashMap<>();
+    boolean repairable = mythicDrops.getConfigSettings().isAllowRepairingUsingAnvil();
+    if (repairable) {
+      LOGGER.fine("Spawning repairable item");
+    } else {
+      LOGGER.fine("Spawning nonrepairable item");
     }
 
-    Map<Enchantment, Integer> map = new HashMap<>();
+    EnchantmentTable enchantmentTable = EnchantmentTableMap.getInstance().getTable(t, mat);
+    Map<Enchantment, Integer> enchantments = new LinkedHashMap<>(enchantmentTable.rollBaseEnchantments());
+    enchantments.putAll(enchantmentTable.rollBonusEnchantments());
 
-    for (MythicEnchantment me : t.getBaseEnchantments()) {
-      if (me == null) {
-        continue;
-      }
-      Enchantment e = me.getEnchantment();
-      if (e == null) {
-        continue;
-      }
-      int minimumLevel = Math.max(me.getMinimumLevel(), e.getStartLevel());
-      int maximumLevel = Math.min(me.getMaximumLevel(), e.getMaxLevel());
-      if (t.isSafeBaseEnchantments() && e.canEnchantItem(is)) {
-        if (t.isAllowHighBaseEnchantments()) {
-          map.put(e, RandomRangeUtil.randomRange
-              (minimumLevel, me.getMaximumLevel()));
-        } else {
-          map.put(e, getAcceptableEnchantmentLevel(e,
-              RandomRangeUtil
-                  .randomRange(minimumLevel, maximumLevel)
-          ));
-        }
-      } else if (!t.isSafeBaseEnchantments()) {
-        map.put(e, RandomRangeUtil.randomRange
-            (me.getMinimumLevel(), me.getMaximumLevel()));
-      }
+    short durability = 0;
+    if (useDurability) {
+      durability = ItemStackUtil.getDurabilityForMaterial(mat, t.getMinimumDurabilityPercentage(),
+          t.getMaximumDurabilityPercentage());
+    }
+    String name = generateName(mat, enchantments);
+    List<String> lore = generateLore(mat, enchantments, name);
+    int leatherColor = DropSpec.NO_COLOR;
+    if (mythicDrops.getConfigSettings().isRandomizeLeatherColors() && LEATHER_ARMOR.contains(mat)) {
+      leatherColor = Color.fromRGB(
+          RandomSources.current().nextInt(0, 255),
+          RandomSources.current().nextInt(0, 255),
+          RandomSources.current().nextInt(0, 255)
+      ).asRGB();
     }
-    return map;
-  }
 
-  private int getAcceptableEnchantmentLevel(Enchantment ench, int level) {
-    return Math.max(Math.min(level, ench.getMaxLevel()), ench.getStartLevel());
+    return new DropSpec(t.getName(), mat, itemGenerationReason, repairable, durability, enchantments, name, lore,
+        leatherColor);
   }
 
-  private List<String> generateLore(ItemStack itemStack, ItemMeta itemMeta) {
-    IvoryStringList tempLore = new IvoryStringList();
-    if (itemStack == null || tier == null || itemMeta == null) {
-      return tempLore;
+  private List<String> generateLore(Material material, Map<Enchantment, Integer> enchantments, String name) {
+    if (material == null || tier == null) {
+      return new ArrayList<>();
     }
     List<String> tooltipFormat = mythicDrops.getConfigSettings().getTooltipFormat();
 
-    String minecraftName = getMinecraftMaterialName(itemStack.getData().getItemType());
-    String mythicName = getMythicMaterialName(itemStack.getType());
-    String itemType = getItemTypeName(ItemUtil.getItemTypeFromMaterial(itemStack.getType()));
-    String materialType = getItemTypeName(ItemUtil.getMaterialTypeFromMaterial(itemStack.getType()));
+    DisplayNames displayNames = DisplayNames.getInstance();
+    String minecraftName = DisplayNames.getMinecraftName(material);
+    String mythicName = displayNames.getMythicName(material);
+    String itemTypeKey = displayNames.getItemType(material);
+    String itemType = displayNames.getItemTypeName(itemTypeKey);
+    String materialType = displayNames.getItemTypeName(displayNames.getMaterialType(material));
     String tierName = tier.getDisplayName();
-    String enchantment = getEnchantmentTypeName(itemMeta);
-    String generalLoreString = NameMap.getInstance().getRandom(NameType.GENERAL_LORE, "");
-    String materialLoreString = NameMap.getInstance().getRandom(NameType.MATERIAL_LORE,
-        itemStack.getType().name().toLowerCase());
-    String tierLoreString =
-        NameMap.getInstance().getRandom(NameType.TIER_LORE, tier.getName().toLowerCase());
-    String enchantmentLoreString = NameMap.getInstance().getRandom(NameType.ENCHANTMENT_LORE,
-        enchantment != null ? enchantment.toLowerCase()
-            : "");
-    String itemTypeLoreString = NameMap.getInstance().getRandom(NameType.ITEMTYPE_LORE,
-        ItemUtil
-            .getItemTypeFromMaterial(
-                itemStack.getType()));
-
-    List<String> generalLore = Arrays.asList(generalLoreString.split("/n"));
-    List<String> materialLore = Arrays.asList(materialLoreString.split("/n"));
-    List<String> tierLore = Arrays.asList(tierLoreString.split("/n"));
-    List<String> enchantmentLore = Arrays.asList(enchantmentLoreString.split("/n"));
-    List<String> itemTypeLore = Arrays.asList(itemTypeLoreString.split("/n"));
-
-    tempLore.addAll(tooltipFormat);
-
+    String enchantment = displayNames.getEnchantmentName(ItemStackUtil.getHighestEnchantment(enchantments));
+    NameMap nameMap = NameMap.getInstance();
+    List<String> generalLore = Arrays.asList(nameMap.getRandomLines(NameType.GENERAL_LORE, ""));
+    List<String> materialLore = Arrays.asList(nameMap.getRandomLines(NameType.MATERIAL_LORE,
+        material.name().toLowerCase()));
+    List<String> tierLore = Arrays.asList(nameMap.getRandomLines(NameType.TIER_LORE, tier.getName().toLowerCase()));
+    List<String> enchantmentLore = Arrays.asList(nameMap.getRandomLines(NameType.ENCHANTMENT_LORE,
+        enchantment != null ? enchantment.toLowerCase() : ""));
+    List<String> itemTypeLore = Arrays.asList(nameMap.getRandomLines(NameType.ITEMTYPE_LORE, itemTypeKey));
+
+    String[][] baseLoreLines = tier.getBaseLoreLines();
     List<String> baseLore = new ArrayList<>();
-    for (String s : tier.getBaseLore()) {
-      String[] strings = s.split("/n");
-      baseLore.addAll(Arrays.asList(strings));
+    for (String[] lines : baseLoreLines) {
+      baseLore.addAll(Arrays.asList(lines));
     }
 
     List<String> bonusLore = new ArrayList<>();
-    int numOfBonusLore = RandomRangeUtil.randomRange(tier.getMinimumBonusLore(),
-        tier.getMaximumBonusLore());
-    List<String> chosenLore = new ArrayList<>();
-    for (int i = 0; i < numOfBonusLore; i++) {
-      if (tier.getBonusLore() == null || tier.getBonusLore().isEmpty() || chosenLore.size() == tier
-          .getBonusLore().size()) {
-        continue;
+    String[][] bonusLoreLines = tier.getBonusLoreLines();
+    int numOfBonusLore = Math.min(RandomRangeUtil.randomRange(tier.getMinimumBonusLore(),
+        tier.getMaximumBonusLore()), bonusLoreLines.length);
+    if (numOfBonusLore > 0) {
+      // partial Fisher-Yates shuffle, so every chosen entry is distinct without retrying
+      int[] order = new int[bonusLoreLines.length];
+      for (int i = 0; i < order.length; i++) {
+        order[i] = i;
       }
-      // choose a random String out of the tier's bonus lore
-      String s = tier.getBonusLore().get(RandomUtils.nextInt(0, tier.getBonusLore().size()));
-      if (chosenLore.contains(s)) {
-        i--;
-        continue;
+      for (int i = 0; i < numOfBonusLore; i++) {
+        int j = RandomSources.current().nextInt(i, order.length);
+        int chosen = order[j];
+        order[j] = order[i];
+        order[i] = chosen;
+        bonusLore.addAll(Arrays.asList(bonusLoreLines[chosen]));
       }
-      chosenLore.add(s);
-      // split on the next line /n
-      String[] strings = s.split("/n");
-
-      bonusLore.addAll(Arrays.asList(strings));
     }
 
-    double c = MythicDropsPlugin.getInstance().getRandom().nextDouble();
+    double c = RandomSources.current().nextDouble();
 
     List<String> socketLore = new ArrayList<>();
     if (mythicDrops.getConfigSettings().isSockettingEnabled() && c < tier.getChanceToHaveSockets()) {
@@ -389,23 +351,22 @@ public final class MythicDropBuilder implements DropBuilder {
     }
 
     List<String> relationLore = new ArrayList<>();
-    for (String s : ChatColor.stripColor(itemMeta.getDisplayName()).split(" ")) {
+    for (String s : ChatColor.stripColor(name).split(" ")) {
       relationLore.addAll(mythicDrops.getRelationSettings().getLoreFromName(s));
     }
 
-    tempLore.replaceWithList("%baselore%", baseLore);
-    tempLore.replaceWithList("%generallore%", generalLore);
-    tempLore.replaceWithList("%materiallore%", materialLore);
-    tempLore.replaceWithList("%tierlore%", tierLore);
-    tempLore.replaceWithList("%enchantmentlore%", enchantmentLore);
-    tempLore.replaceWithList("%itemtypelore%", itemTypeLore);
-    tempLore.replaceWithList("%baselore%", baseLore);
-    tempLore.replaceWithList("%bonuslore%", bonusLore);
-    tempLore.replaceWithList("%socketlore%", socketLore);
-    tempLore.replaceWithList("%relationlore%", relationLore);
+    EnumMap<LoreAssembler.Section, List<String>> sections = new EnumMap<>(LoreAssembler.Section.class);
+    sections.put(LoreAssembler.Section.BASE_LORE, baseLore);
+    sections.put(LoreAssembler.Section.BONUS_LORE, bonusLore);
+    sections.put(LoreAssembler.Section.GENERAL_LORE, generalLore);
+    sections.put(LoreAssembler.Section.MATERIAL_LORE, materialLore);
+    sections.put(LoreAssembler.Section.TIER_LORE, tierLore);
+    sections.put(LoreAssembler.Section.ENCHANTMENT_LORE, enchantmentLore);
+    sections.put(LoreAssembler.Section.ITEMTYPE_LORE, itemTypeLore);
+    sections.put(LoreAssembler.Section.SOCKET_LORE, socketLore);
+    sections.put(LoreAssembler.Section.RELATION_LORE, relationLore);
 
     String[][] args = {{"%basematerial%", minecraftName != null ? minecraftName : ""},
-        {"%mythicmaterial%", mythicName != null ? mythicName : ""},
         {"%mythicmaterial%", mythicName != null ? mythicName : ""},
         {"%itemtype%", itemType != null ? itemType : ""},
         {"%materialtype%", materialType != null ? materialType : ""},
@@ -413,94 +374,36 @@ public final class MythicDropBuilder implements DropBuilder {
         {"%enchantment%", enchantment != null ? enchantment : ""},
         {"%tiercolor%", tier.getDisplayColor() + ""}};
 
-    List<String> lore = new ArrayList<>();
-    for (String s : tempLore) {
-      lore.add(StringUtil.colorString(StringUtil.replaceArgs(s, args)));
-    }
-
-    return randomVariableReplace(lore);
-  }
-
-  private List<String> randomVariableReplace(List<String> list) {
-    List<String> newList = new ArrayList<>();
-    for (String s : list) {
-      newList.add(TemplatingUtil.template(s));
-    }
-    return newList;
-  }
-
-  private String getEnchantmentTypeName(ItemMeta itemMeta) {
-    Enchantment enchantment = ItemStackUtil.getHighestEnchantment(itemMeta);
-    if (enchantment == null) {
-      return mythicDrops.getConfigSettings().getFormattedLanguageString("displayNames.Ordinary");
-    }
-    String ench = mythicDrops.getConfigSettings()
-        .getFormattedLanguageString("displayNames." + enchantment.getName());
-    if (ench != null) {
-      return ench;
-    }
-    return "Ordinary";
-  }
-
-  private String getMythicMaterialName(Material matData) {
-    String comb = matData.name();
-    String
-        mythicMatName =
-        mythicDrops.getConfigSettings().getFormattedLanguageString(
-            "displayNames." + comb);
-    if (mythicMatName == null || mythicMatName.equals("displayNames." + comb)) {
-      mythicMatName = getMinecraftMaterialName(matData);
-    }
-    return WordUtils.capitalize(mythicMatName);
-  }
-
-  private String getMinecraftMaterialName(Material material) {
-    String matName = material.name();
-    String[] split = matName.split("_");
-    String prettyMaterialName = Joiner.on(" ").skipNulls().join(split);
-    return WordUtils.capitalizeFully(prettyMaterialName);
-  }
-
-  private String getItemTypeName(String itemType) {
-    if (itemType == null) {
-      return "";
-    }
-    String
-        mythicMatName =
-        mythicDrops.getConfigSettings().getFormattedLanguageString(
-            "displayNames." + itemType.toLowerCase());
-    if (mythicMatName == null) {
-      mythicMatName = itemType;
-    }
-    return WordUtils.capitalizeFully(mythicMatName);
+    return LoreAssembler.forFormat(tooltipFormat).assemble(sections, args);
   }
 
-  private String generateName(ItemStack itemStack, ItemMeta itemMeta) {
-    Validate.notNull(itemStack, "ItemStack cannot be null");
+  private String generateName(Material material, Map<Enchantment, Integer> enchantments) {
+    Validate.notNull(material, "Material cannot be null");
     Validate.notNull(tier, "Tier cannot be null");
 
     String format = mythicDrops.getConfigSettings().getItemDisplayNameFormat();
     if (format == null || format.isEmpty()) {
       return "Mythic Item";
     }
-    String minecraftName = getMinecraftMaterialName(itemStack.getData().getItemType());
-    String mythicName = getMythicMaterialName(itemStack.getType());
+    DisplayNames displayNames = DisplayNames.getInstance();
+    String minecraftName = DisplayNames.getMinecraftName(material);
+    String mythicName = displayNames.getMythicName(material);
+    String itemTypeKey = displayNames.getItemType(material);
     String generalPrefix = NameMap.getInstance().getRandom(NameType.GENERAL_PREFIX, "");
     String generalSuffix = NameMap.getInstance().getRandom(NameType.GENERAL_SUFFIX, "");
     String materialPrefix = NameMap.getInstance().getRandom(NameType.MATERIAL_PREFIX,
-        itemStack.getType().name().toLowerCase());
+        material.name().toLowerCase());
     String materialSuffix = NameMap.getInstance().getRandom(NameType.MATERIAL_SUFFIX,
-        itemStack.getType().name().toLowerCase());
+        material.name().toLowerCase());
     String tierPrefix =
         NameMap.getInstance().getRandom(NameType.TIER_PREFIX, tier.getName().toLowerCase());
     String tierSuffix =
         NameMap.getInstance().getRandom(NameType.TIER_SUFFIX, tier.getName().toLowerCase());
-    String itemType = getItemTypeName(ItemUtil.getItemTypeFromMaterial(itemStack.getType()));
-    String materialType = getItemTypeName(ItemUtil.getMaterialTypeFromMaterial(itemStack.getType
-        ()));
+    String itemType = displayNames.getItemTypeName(itemTypeKey);
+    String materialType = displayNames.getItemTypeName(displayNames.getMaterialType(material));
     String tierName = tier.getDisplayName();
-    String enchantment = getEnchantmentTypeName(itemMeta);
-    Enchantment highestEnch = ItemStackUtil.getHighestEnchantment(itemMeta);
+    Enchantment highestEnch = ItemStackUtil.getHighestEnchantment(enchantments);
+    String enchantment = displayNames.getEnchantmentName(highestEnch);
     String enchantmentPrefix = NameMap.getInstance().getRandom(NameType.ENCHANTMENT_PREFIX,
         highestEnch != null ? highestEnch.getName()
             .toLowerCase() :
@@ -509,12 +412,8 @@ public final class MythicDropBuilder implements DropBuilder {
         highestEnch != null ? highestEnch.getName()
             .toLowerCase() :
             "");
-    String itemTypePrefix =
-        NameMap.getInstance().getRandom(NameType.ITEMTYPE_PREFIX,
-            ItemUtil.getItemTypeFromMaterial(itemStack.getType()));
-    String itemTypeSuffix =
-        NameMap.getInstance().getRandom(NameType.ITEMTYPE_SUFFIX,
-            ItemUtil.getItemTypeFromMaterial(itemStack.getType()));
+    String itemTypePrefix = NameMap.getInstance().getRandom(NameType.ITEMTYPE_PREFIX, itemTypeKey);
+    String itemTypeSuffix = NameMap.getInstance().getRandom(NameType.ITEMTYPE_SUFFIX, itemTypeKey);
 
     String[][] args = {{"%basematerial%", minecraftName}, {"%mythicmaterial%", mythicName},
         {"%generalprefix%", generalPrefix}, {"%generalsuffix%", generalSuffix},
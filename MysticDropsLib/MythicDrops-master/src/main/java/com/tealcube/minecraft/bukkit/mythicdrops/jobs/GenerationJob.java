@@ -0,0 +1,146 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.jobs;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.items.builders.DropBuilder;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import org.apache.commons.lang3.Validate;
+import org.bukkit.command.CommandSender;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Generates a fixed number of items over as many ticks as it needs, handing each slice of items to a sink. Run by the
+ * {@link JobManager}.
+ */
+public final class GenerationJob {
+
+  private static final int SLICE = 16;
+  private static final int MAX_FAILED_BUILDS = 100;
+
+  private final CommandSender sender;
+  private final String description;
+  private final int amount;
+  private final DropBuilder dropBuilder;
+  private final Consumer<ItemStack[]> sink;
+  private final IntConsumer onFinish;
+  private int id;
+  private int generated;
+  private int failedBuilds;
+  private boolean cancelled;
+
+  /**
+   * Creates a job.
+   *
+   * @param sender who started the job; receives progress messages
+   * @param description short description shown in the job list
+   * @param amount number of items to generate
+   * @param dropBuilder builder to generate with
+   * @param sink receives each slice of generated items
+   * @param onFinish called with the number of generated items once the job finishes or gives up
+   */
+  public GenerationJob(CommandSender sender, String description, int amount, DropBuilder dropBuilder,
+      Consumer<ItemStack[]> sink, IntConsumer onFinish) {
+    Validate.notNull(sender, "CommandSender cannot be null");
+    Validate.notNull(dropBuilder, "DropBuilder cannot be null");
+    Validate.notNull(sink, "sink cannot be null");
+    Validate.notNull(onFinish, "onFinish cannot be null");
+    this.sender = sender;
+    this.description = description;
+    this.amount = Math.max(amount, 0);
+    this.dropBuilder = dropBuilder;
+    this.sink = sink;
+    this.onFinish = onFinish;
+  }
+
+  /**
+   * Generates items until the job is done or the deadline passes. Always generates at least one slice.
+   *
+   * @param deadline {@link System#nanoTime()} value to stop at
+   * @return if the job is done
+   */
+  boolean step(long deadline) {
+    do {
+      if (isDone()) {
+        return true;
+      }
+      int requested = Math.min(amount - generated, SLICE);
+      ItemStack[] itemStacks = dropBuilder.buildBatch(requested);
+      if (itemStacks.length > 0) {
+        sink.accept(itemStacks);
+      }
+      generated += itemStacks.length;
+      failedBuilds += requested - itemStacks.length;
+    } while (System.nanoTime() - deadline < 0);
+    return isDone();
+  }
+
+  void finish() {
+    onFinish.accept(generated);
+  }
+
+  void cancel() {
+    cancelled = true;
+  }
+
+  void setId(int id) {
+    this.id = id;
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public CommandSender getSender() {
+    return sender;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public int getAmount() {
+    return amount;
+  }
+
+  public int getGenerated() {
+    return generated;
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Checks if the job stopped early because too many items failed to generate.
+   *
+   * @return if the job gave up
+   */
+  public boolean isGivenUp() {
+    return failedBuilds >= MAX_FAILED_BUILDS;
+  }
+
+  public boolean isDone() {
+    return cancelled || generated >= amount || isGivenUp();
+  }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.jobs;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
+import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Runs {@link GenerationJob}s on the main thread, sharing a per-tick time budget between them so large commands are
+ * spread over several ticks.
+ */
+public final class JobManager {
+
+  private static final Logger LOGGER = MythicLoggerFactory.getLogger(JobManager.class);
+  private static final long PROGRESS_PERIOD = 40L;
+
+  private final MythicDropsPlugin plugin;
+  private final Map<Integer, GenerationJob> jobs = new LinkedHashMap<>();
+  private int nextId = 1;
+  private long ticks;
+  private BukkitTask task;
+
+  public JobManager(MythicDropsPlugin plugin) {
+    this.plugin = plugin;
+  }
+
+  /**
+   * Runs the job's first slice right away and schedules the rest over the following ticks.
+   *
+   * @param job job to run
+   */
+  public void submit(GenerationJob job) {
+    job.setId(nextId++);
+    if (job.step(System.nanoTime() + share(1))) {
+      finish(job);
+      return;
+    }
+    jobs.put(job.getId(), job);
+    LOGGER.info("Started job #" + job.getId() + ": " + job.getDescription());
+    job.getSender().sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.job-started",
+        new String[][]{{"%id%", String.valueOf(job.getId())}, {"%amount%", String.valueOf(job.getAmount())}}));
+    if (task == null) {
+      task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+  }
+
+  /**
+   * Cancels a running job.
+   *
+   * @param id id of the job
+   * @return cancelled job, or null if there is no such job
+   */
+  public GenerationJob cancel(int id) {
+    GenerationJob job = jobs.remove(id);
+    if (job != null) {
+      job.cancel();
+      LOGGER.info("Cancelled job #" + id + " after " + job.getGenerated() + " item(s)");
+    }
+    return job;
+  }
+
+  public List<GenerationJob> getJobs() {
+    return new ArrayList<>(jobs.values());
+  }
+
+  public void stop() {
+    if (task != null) {
+      task.cancel();
+      task = null;
+    }
+    for (GenerationJob job : jobs.values()) {
+      job.cancel();
+    }
+    jobs.clear();
+  }
+
+  private void tick() {
+    ticks++;
+    if (jobs.isEmpty()) {
+      task.cancel();
+      task = null;
+      return;
+    }
+    long share = share(jobs.size());
+    for (Iterator<GenerationJob> iterator = jobs.values().iterator(); iterator.hasNext(); ) {
+      GenerationJob job = iterator.next();
+      if (job.getSender() instanceof Player && !((Player) job.getSender()).isOnline()) {
+        iterator.remove();
+        job.cancel();
+        continue;
+      }
+      if (job.step(System.nanoTime() + share)) {
+        iterator.remove();
+        finish(job);
+      } else if (ticks % PROGRESS_PERIOD == 0) {
+        job.getSender().sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.job-progress",
+            new String[][]{{"%id%", String.valueOf(job.getId())}, {"%done%", String.valueOf(job.getGenerated())},
+                {"%amount%", String.valueOf(job.getAmount())}}));
+      }
+    }
+  }
+
+  private void finish(GenerationJob job) {
+    if (job.isGivenUp()) {
+      job.getSender().sendMessage(plugin.getConfigSettings().getFormattedLanguageString("command.job-gave-up",
+          new String[][]{{"%id%", String.valueOf(job.getId())}, {"%done%", String.valueOf(job.getGenerated())}}));
+    }
+    job.finish();
+  }
+
+  // every job gets an equal share of the tick budget
+  private long share(int jobCount) {
+    long budget = TimeUnit.MILLISECONDS.toNanos(Math.max(plugin.getConfigSettings().getJobTickBudget(), 1));
+    return budget / Math.max(jobCount, 1);
+  }
+
+}
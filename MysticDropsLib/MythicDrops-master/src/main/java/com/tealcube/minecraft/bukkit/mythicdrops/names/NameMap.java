@@ -22,14 +22,31 @@
 package com.tealcube.minecraft.bukkit.mythicdrops.names;
 
 import com.tealcube.minecraft.bukkit.mythicdrops.api.names.NameType;
+import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
+import com.tealcube.minecraft.bukkit.mythicdrops.utils.StringListUtil;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import org.apache.commons.lang3.RandomUtils;
+import java.util.logging.Logger;
 
+/**
+ * Holds the loaded prefixes, suffixes, lore and mob names. Entries are still stored under their flat
+ * {@code nameType.getFormat() + key} keys, but lookups go through an index of {@link NameType} to key to names, which
+ * is rebuilt whenever the map is changed through {@link #put}, {@link #putAll}, {@link #remove} or {@link #clear}.
+ */
 public final class NameMap extends ConcurrentHashMap<String, List<String>> {
 
+  private static final Logger LOGGER = MythicLoggerFactory.getLogger(NameMap.class);
   private static final NameMap _INSTANCE = new NameMap();
+  private static final String[] NO_LORE = {""};
+
+  private volatile Index index;
 
   private NameMap() {
     // do nothing
@@ -40,30 +57,77 @@ public final class NameMap extends ConcurrentHashMap<String, List<String>> {
   }
 
   public String getRandomKey(NameType nameType) {
-    List<String> matchingKeys = getMatchingKeys(nameType);
-    String key = matchingKeys.get(RandomUtils.nextInt(0, matchingKeys.size()));
-    return key.replace(nameType.getFormat(), "");
+    String[] keys = getIndex().keys.get(nameType);
+    return keys[RandomSources.current().nextInt(0, keys.length)];
   }
 
   public List<String> getMatchingKeys(NameType nameType) {
-    List<String> matchingKeys = new ArrayList<>();
-    for (String key : keySet()) {
-      if (key.startsWith(nameType.getFormat())) {
-        matchingKeys.add(key);
-      }
+    String[] keys = getIndex().keys.get(nameType);
+    List<String> matchingKeys = new ArrayList<>(keys.length);
+    for (String key : keys) {
+      matchingKeys.add(nameType.getFormat() + key);
     }
     return matchingKeys;
   }
 
   public String getRandom(NameType nameType, String key) {
-    List<String> list = new ArrayList<>();
-    if (containsKey(nameType.getFormat() + key)) {
-      list = get(nameType.getFormat() + key);
-    }
-    if (list == null || list.isEmpty()) {
+    List<String> names = getNames(nameType, key);
+    if (names.isEmpty()) {
       return "";
     }
-    return list.get(RandomUtils.nextInt(0, list.size()));
+    return names.get(RandomSources.current().nextInt(0, names.size()));
+  }
+
+  /**
+   * Picks a random lore entry for the given type and key and splits it on {@code /n} and colors it. Only the picked
+   * entry is split, so lore stays in the shared arena after {@link #compact()}. If there is none, a single empty line
+   * is returned, matching what splitting an empty entry would give. The returned array must not be modified.
+   *
+   * @param nameType one of the lore types
+   * @param key      lower-case key under the type, such as a material or tier name
+   * @return lines of the chosen lore entry
+   */
+  public String[] getRandomLines(NameType nameType, String key) {
+    List<String> entries = getNames(nameType, key);
+    if (entries.isEmpty()) {
+      return NO_LORE;
+    }
+    return StringListUtil.splitAndColor(entries.get(RandomSources.current().nextInt(0, entries.size())));
+  }
+
+  /**
+   * Gets the names loaded for the given type and key. Keys are matched exactly, so callers pass the lower-case
+   * key the loaders store names under. The returned list is the stored one and must not be modified.
+   *
+   * @param nameType type of name
+   * @param key      lower-case key under the type, such as a material or tier name
+   * @return names, or an empty list if there are none
+   */
+  public List<String> getNames(NameType nameType, String key) {
+    List<String> names = getIndex().names.get(nameType).get(key == null ? "" : key);
+    return names != null ? names : Collections.<String>emptyList();
+  }
+
+  /**
+   * Replaces every stored list with a {@link StringTable} backed by one shared char arena, so that lines repeated
+   * across files are only held once, and rebuilds the lookup index up front. The logged size after compaction
+   * includes the index. Intended to be called once all names have been loaded.
+   */
+  public synchronized void compact() {
+    StringPool pool = new StringPool();
+    List<String> keys = new ArrayList<>(keySet());
+    int[] handles = new int[keys.size()];
+    for (int i = 0; i < keys.size(); i++) {
+      handles[i] = pool.add(super.get(keys.get(i)));
+    }
+    StringTable[] tables = pool.build();
+    for (int i = 0; i < keys.size(); i++) {
+      super.put(keys.get(i), tables[handles[i]]);
+    }
+    index = new Index(this);
+    LOGGER.info(String.format("Compacted names: %d lines, %d unique, ~%d KiB -> ~%d KiB including a ~%d KiB index",
+        pool.getLines(), pool.getUniqueLines(), pool.getUnpooledBytes() / 1024,
+        (pool.getPooledBytes() + index.bytes) / 1024, index.bytes / 1024));
   }
 
   public List<String> get(String key) {
@@ -77,14 +141,85 @@ public final class NameMap extends ConcurrentHashMap<String, List<String>> {
   }
 
   @Override
-  public List<String> put(String string, List<String> list) {
+  public synchronized List<String> put(String string, List<String> list) {
     if (string == null) {
       return list;
     }
     if (list == null) {
       return new ArrayList<>();
     }
+    index = null;
     return super.put(string, list);
   }
 
+  @Override
+  public synchronized void putAll(Map<? extends String, ? extends List<String>> m) {
+    for (Map.Entry<? extends String, ? extends List<String>> entry : m.entrySet()) {
+      put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  @Override
+  public synchronized List<String> remove(Object key) {
+    index = null;
+    return super.remove(key);
+  }
+
+  @Override
+  public synchronized void clear() {
+    index = null;
+    super.clear();
+  }
+
+  private Index getIndex() {
+    Index i = index;
+    if (i != null) {
+      return i;
+    }
+    synchronized (this) {
+      if (index == null) {
+        index = new Index(this);
+      }
+      return index;
+    }
+  }
+
+  private static final class Index {
+    // HashMap node plus its table slot
+    private static final int MAP_ENTRY_SIZE = 40;
+
+    private final EnumMap<NameType, Map<String, List<String>>> names = new EnumMap<>(NameType.class);
+    private final EnumMap<NameType, String[]> keys = new EnumMap<>(NameType.class);
+    private long bytes;
+
+    private Index(Map<String, List<String>> entries) {
+      EnumMap<NameType, List<String>> keyLists = new EnumMap<>(NameType.class);
+      for (NameType nameType : NameType.values()) {
+        names.put(nameType, new HashMap<String, List<String>>());
+        keyLists.put(nameType, new ArrayList<String>());
+      }
+      for (Map.Entry<String, List<String>> entry : entries.entrySet()) {
+        // a key can belong to more than one type, e.g. "mobname.zombie" is also under "mobname"
+        for (NameType nameType : NameType.values()) {
+          if (!entry.getKey().startsWith(nameType.getFormat())) {
+            continue;
+          }
+          String key = entry.getKey().substring(nameType.getFormat().length());
+          keyLists.get(nameType).add(key);
+          bytes += StringPool.sizeOf(key);
+          if (!entry.getValue().isEmpty()) {
+            names.get(nameType).put(key, entry.getValue());
+            bytes += MAP_ENTRY_SIZE;
+          }
+        }
+      }
+      for (Map.Entry<NameType, List<String>> entry : keyLists.entrySet()) {
+        String[] array = entry.getValue().toArray(new String[entry.getValue().size()]);
+        Arrays.sort(array);
+        keys.put(entry.getKey(), array);
+        bytes += StringPool.align(StringPool.ARRAY_HEADER + (long) StringPool.REFERENCE_SIZE * array.length);
+      }
+    }
+  }
+
 }
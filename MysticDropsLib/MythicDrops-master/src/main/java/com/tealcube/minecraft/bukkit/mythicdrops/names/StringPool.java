@@ -0,0 +1,120 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.names;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packs lists of strings into {@link StringTable}s that share one char arena. Every distinct string is written to the
+ * arena once, no matter how many lists it appears in.
+ */
+final class StringPool {
+
+  // rough HotSpot sizes with compressed oops, used for the load-time report
+  private static final int OBJECT_HEADER = 12;
+  static final int ARRAY_HEADER = 16;
+  static final int REFERENCE_SIZE = 4;
+  private static final int STRING_SIZE = 24;
+
+  private final StringBuilder arena = new StringBuilder();
+  private final Map<String, Integer> offsets = new HashMap<>();
+  private final List<int[][]> pending = new ArrayList<>();
+  private long pooledBytes;
+  private long unpooledBytes;
+  private int lines;
+
+  /**
+   * Interns every string of the list into the arena. Returns a handle into the array returned by {@link #build()}
+   * once everything has been added.
+   *
+   * @param strings strings to add
+   * @return handle for the list
+   */
+  int add(List<String> strings) {
+    int[] tableOffsets = new int[strings.size()];
+    int[] tableLengths = new int[strings.size()];
+    for (int i = 0; i < strings.size(); i++) {
+      String s = strings.get(i);
+      if (s == null) {
+        s = "";
+      }
+      Integer offset = offsets.get(s);
+      if (offset == null) {
+        offset = arena.length();
+        arena.append(s);
+        offsets.put(s, offset);
+      }
+      tableOffsets[i] = offset;
+      tableLengths[i] = s.length();
+      unpooledBytes += sizeOf(s) + REFERENCE_SIZE;
+    }
+    lines += strings.size();
+    pooledBytes += OBJECT_HEADER + 3 * REFERENCE_SIZE + 2 * align(ARRAY_HEADER + 4L * strings.size());
+    pending.add(new int[][]{tableOffsets, tableLengths});
+    return pending.size() - 1;
+  }
+
+  /**
+   * Freezes the arena. Must be called after the last {@link #add(List)}.
+   *
+   * @return tables, indexed by the handles returned from {@link #add(List)}
+   */
+  StringTable[] build() {
+    char[] chars = new char[arena.length()];
+    arena.getChars(0, arena.length(), chars, 0);
+    pooledBytes += align(ARRAY_HEADER + 2L * chars.length);
+    StringTable[] tables = new StringTable[pending.size()];
+    for (int i = 0; i < tables.length; i++) {
+      int[][] table = pending.get(i);
+      tables[i] = new StringTable(chars, table[0], table[1]);
+    }
+    return tables;
+  }
+
+  int getLines() {
+    return lines;
+  }
+
+  int getUniqueLines() {
+    return offsets.size();
+  }
+
+  long getPooledBytes() {
+    return pooledBytes;
+  }
+
+  long getUnpooledBytes() {
+    return unpooledBytes;
+  }
+
+  static long sizeOf(String s) {
+    return STRING_SIZE + align(ARRAY_HEADER + 2L * s.length());
+  }
+
+  static long align(long bytes) {
+    return (bytes + 7) & ~7L;
+  }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.names;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A read-only list of strings stored as ranges of a shared char arena. A {@link String} is only created when an
+ * element is read, so a table costs two ints per line plus its share of the arena. Identical lines share the same
+ * range.
+ */
+public final class StringTable extends AbstractList<String> implements RandomAccess {
+
+  private final char[] arena;
+  private final int[] offsets;
+  private final int[] lengths;
+
+  StringTable(char[] arena, int[] offsets, int[] lengths) {
+    this.arena = arena;
+    this.offsets = offsets;
+    this.lengths = lengths;
+  }
+
+  @Override
+  public String get(int index) {
+    return new String(arena, offsets[index], lengths[index]);
+  }
+
+  @Override
+  public int size() {
+    return offsets.length;
+  }
+
+}
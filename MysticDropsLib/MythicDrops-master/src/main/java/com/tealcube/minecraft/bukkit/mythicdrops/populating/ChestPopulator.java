@@ -0,0 +1,380 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.populating;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.items.ItemGenerationReason;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.random.RandomSource;
+import com.tealcube.minecraft.bukkit.mythicdrops.items.DropSpec;
+import com.tealcube.minecraft.bukkit.mythicdrops.items.MythicDropBuilder;
+import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.ThreadLocalRandomSource;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Chest;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkPopulateEvent;
+import org.bukkit.event.world.WorldSaveEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Puts MythicDrops items into the chests of newly generated chunks. Chests are found on the main thread when a chunk
+ * is populated, the items for them are rolled by a background thread, and the finished items are put into the chests
+ * back on the main thread within a per-tick budget.
+ *
+ * <p>Two {@link ChunkSet}s per world are saved to disk: the chunks that have been filled, so that none is filled twice,
+ * and the chunks that are still waiting to be filled. At most {@code MAX_SCHEDULED} chunks are being rolled or put in
+ * at once. A waiting chunk that did not fit, was unloaded before its items were put in, or was left over from the last
+ * shutdown is rolled again the next time it loads.
+ */
+public final class ChestPopulator implements Listener {
+
+  private static final Logger LOGGER = MythicLoggerFactory.getLogger(ChestPopulator.class);
+  private static final ThreadLocalRandomSource WORKER_SOURCE = new ThreadLocalRandomSource();
+  private static final String DIRECTORY = "populated";
+  private static final String PENDING_SUFFIX = ".pending";
+  private static final int MAX_SCHEDULED = 256;
+
+  private final MythicDropsPlugin plugin;
+  private final Map<UUID, ChunkSet> populated = new HashMap<>();
+  private final Map<UUID, ChunkSet> pending = new HashMap<>();
+  // chunks handed to the roller that have not been applied or dropped yet; only touched on the main thread
+  private final Map<UUID, Set<Long>> scheduled = new HashMap<>();
+  private final Queue<ChunkFill> ready = new ConcurrentLinkedQueue<>();
+  private int scheduledCount;
+  private ExecutorService roller;
+  private BukkitTask task;
+
+  public ChestPopulator(MythicDropsPlugin plugin) {
+    this.plugin = plugin;
+  }
+
+  /**
+   * Starts populating, picking up every loaded chunk that is still waiting to be filled.
+   */
+  public void start() {
+    stop();
+    roller = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "MythicDrops-Populator");
+      thread.setDaemon(true);
+      thread.setPriority(Thread.MIN_PRIORITY);
+      return thread;
+    });
+    task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    for (World world : Bukkit.getWorlds()) {
+      ChunkSet waiting = getPending(world.getUID());
+      for (Chunk chunk : world.getLoadedChunks()) {
+        if (waiting.contains(chunk.getX(), chunk.getZ())) {
+          schedule(chunk);
+        }
+      }
+    }
+  }
+
+  /**
+   * Stops populating and saves which chunks are filled and which are still waiting. Items that have been rolled but not
+   * put in are thrown away, and their chunks are rolled again when they next load.
+   */
+  public void stop() {
+    if (task != null) {
+      task.cancel();
+      task = null;
+    }
+    if (roller != null) {
+      roller.shutdownNow();
+      roller = null;
+    }
+    ready.clear();
+    scheduled.clear();
+    scheduledCount = 0;
+    Set<UUID> worlds = new HashSet<>(populated.keySet());
+    worlds.addAll(pending.keySet());
+    for (UUID uid : worlds) {
+      save(uid);
+    }
+  }
+
+  /**
+   * Gets the number of chunks whose chests are waiting to be filled, loaded or not.
+   *
+   * @return waiting chunk count
+   */
+  public int getWaiting() {
+    int waiting = 0;
+    for (ChunkSet chunks : pending.values()) {
+      waiting += chunks.size();
+    }
+    return waiting;
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onChunkPopulate(ChunkPopulateEvent event) {
+    if (roller == null) {
+      return;
+    }
+    Chunk chunk = event.getChunk();
+    UUID uid = chunk.getWorld().getUID();
+    if (!plugin.getWorldSpawnPolicies().get(chunk.getWorld()).isEnabled()
+        || getPopulated(uid).contains(chunk.getX(), chunk.getZ())
+        || getPending(uid).contains(chunk.getX(), chunk.getZ())) {
+      return;
+    }
+    if (findChests(chunk).isEmpty()) {
+      return;
+    }
+    getPending(uid).add(chunk.getX(), chunk.getZ());
+    schedule(chunk);
+  }
+
+  @EventHandler
+  public void onChunkLoad(ChunkLoadEvent event) {
+    if (roller == null || event.isNewChunk()) {
+      return;
+    }
+    Chunk chunk = event.getChunk();
+    if (getPending(event.getWorld().getUID()).contains(chunk.getX(), chunk.getZ())) {
+      schedule(chunk);
+    }
+  }
+
+  @EventHandler
+  public void onWorldSave(WorldSaveEvent event) {
+    save(event.getWorld().getUID());
+  }
+
+  @EventHandler
+  public void onWorldUnload(WorldUnloadEvent event) {
+    UUID uid = event.getWorld().getUID();
+    save(uid);
+    populated.remove(uid);
+    pending.remove(uid);
+    Set<Long> keys = scheduled.remove(uid);
+    if (keys != null) {
+      scheduledCount -= keys.size();
+    }
+  }
+
+  // hands a waiting chunk to the roller, unless the roller already has it or is full; either way it stays waiting
+  private void schedule(Chunk chunk) {
+    if (scheduledCount >= MAX_SCHEDULED) {
+      return;
+    }
+    UUID uid = chunk.getWorld().getUID();
+    if (!scheduled.computeIfAbsent(uid, k -> new HashSet<>()).add(chunkKey(chunk.getX(), chunk.getZ()))) {
+      return;
+    }
+    scheduledCount++;
+    ChunkFill fill = new ChunkFill(uid, chunk.getX(), chunk.getZ(), findChests(chunk));
+    double chestChance = plugin.getConfigSettings().getPopulatingChestChance();
+    int minimumItems = Math.max(plugin.getConfigSettings().getPopulatingMinimumItems(), 0);
+    int maximumItems = Math.max(plugin.getConfigSettings().getPopulatingMaximumItems(), minimumItems);
+    roller.execute(() -> {
+      try {
+        roll(fill, chestChance, minimumItems, maximumItems);
+      } catch (RuntimeException e) {
+        fill.failed = true;
+        LOGGER.log(Level.WARNING, "Unable to roll chest items for chunk " + fill.chunkX + ", " + fill.chunkZ, e);
+      }
+      ready.offer(fill);
+    });
+  }
+
+  private static List<int[]> findChests(Chunk chunk) {
+    List<int[]> containers = new ArrayList<>();
+    for (BlockState state : chunk.getTileEntities()) {
+      if (state instanceof Chest) {
+        containers.add(new int[]{state.getX(), state.getY(), state.getZ()});
+      }
+    }
+    return containers;
+  }
+
+  private void roll(ChunkFill fill, double chestChance, int minimumItems, int maximumItems) {
+    RandomSources.withSource(WORKER_SOURCE, () -> {
+      RandomSource random = RandomSources.current();
+      for (int i = 0; i < fill.containers.size(); i++) {
+        if (random.nextDouble() >= chestChance) {
+          continue;
+        }
+        int count = random.nextInt(minimumItems, maximumItems + 1);
+        List<DropSpec> specs = new ArrayList<>(count);
+        for (int j = 0; j < count; j++) {
+          MythicDropBuilder builder = new MythicDropBuilder(plugin);
+          builder.withItemGenerationReason(ItemGenerationReason.POPULATING).useDurability(true);
+          DropSpec spec = builder.rollSpec();
+          if (spec != null) {
+            specs.add(spec);
+          }
+        }
+        fill.specs.put(i, specs);
+      }
+      return null;
+    });
+  }
+
+  private void tick() {
+    long budget = TimeUnit.MILLISECONDS.toNanos(Math.max(plugin.getConfigSettings().getPopulatingTickBudget(), 1));
+    long deadline = System.nanoTime() + budget;
+    ChunkFill fill;
+    while (System.nanoTime() - deadline < 0 && (fill = ready.poll()) != null) {
+      Set<Long> keys = scheduled.get(fill.worldUid);
+      if (keys == null || !keys.remove(chunkKey(fill.chunkX, fill.chunkZ))) {
+        // its world was unloaded while it was rolling
+        continue;
+      }
+      scheduledCount--;
+      apply(fill);
+    }
+  }
+
+  private void apply(ChunkFill fill) {
+    World world = Bukkit.getWorld(fill.worldUid);
+    // a failed or unloaded chunk stays waiting; loading it again just to fill it would defeat the budget
+    if (fill.failed || world == null || !world.isChunkLoaded(fill.chunkX, fill.chunkZ)) {
+      return;
+    }
+    for (Map.Entry<Integer, List<DropSpec>> entry : fill.specs.entrySet()) {
+      int[] position = fill.containers.get(entry.getKey());
+      BlockState state = world.getBlockAt(position[0], position[1], position[2]).getState();
+      if (!(state instanceof Chest)) {
+        continue;
+      }
+      Inventory inventory = ((Chest) state).getBlockInventory();
+      for (DropSpec spec : entry.getValue()) {
+        ItemStack itemStack = new MythicDropBuilder(plugin).build(spec);
+        if (itemStack == null) {
+          continue;
+        }
+        int slot = randomEmptySlot(inventory);
+        if (slot < 0) {
+          break;
+        }
+        inventory.setItem(slot, itemStack);
+      }
+    }
+    getPopulated(fill.worldUid).add(fill.chunkX, fill.chunkZ);
+    getPending(fill.worldUid).remove(fill.chunkX, fill.chunkZ);
+  }
+
+  private static int randomEmptySlot(Inventory inventory) {
+    ItemStack[] contents = inventory.getContents();
+    List<Integer> empty = new ArrayList<>();
+    for (int i = 0; i < contents.length; i++) {
+      if (contents[i] == null || contents[i].getType() == Material.AIR) {
+        empty.add(i);
+      }
+    }
+    return empty.isEmpty() ? -1 : empty.get(RandomSources.current().nextInt(empty.size()));
+  }
+
+  private ChunkSet getPopulated(UUID uid) {
+    return getChunkSet(populated, uid, "");
+  }
+
+  private ChunkSet getPending(UUID uid) {
+    return getChunkSet(pending, uid, PENDING_SUFFIX);
+  }
+
+  private ChunkSet getChunkSet(Map<UUID, ChunkSet> sets, UUID uid, String suffix) {
+    ChunkSet chunks = sets.get(uid);
+    if (chunks == null) {
+      chunks = new ChunkSet();
+      try {
+        chunks.load(getFile(uid, suffix));
+      } catch (IOException e) {
+        LOGGER.log(Level.WARNING, "Unable to load " + getFile(uid, suffix).getName(), e);
+      }
+      sets.put(uid, chunks);
+    }
+    return chunks;
+  }
+
+  private void save(UUID uid) {
+    save(populated.get(uid), uid, "");
+    save(pending.get(uid), uid, PENDING_SUFFIX);
+  }
+
+  private void save(ChunkSet chunks, UUID uid, String suffix) {
+    if (chunks == null || !chunks.isDirty()) {
+      return;
+    }
+    try {
+      chunks.save(getFile(uid, suffix));
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Unable to save " + getFile(uid, suffix).getName(), e);
+    }
+  }
+
+  private File getFile(UUID uid, String suffix) {
+    return new File(new File(plugin.getDataFolder(), DIRECTORY), uid + suffix + ".dat");
+  }
+
+  private static long chunkKey(int chunkX, int chunkZ) {
+    return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+  }
+
+  private static final class ChunkFill {
+
+    private final UUID worldUid;
+    private final int chunkX;
+    private final int chunkZ;
+    private final List<int[]> containers;
+    // container index to the items rolled for it; only chests that passed the chance have an entry
+    private final Map<Integer, List<DropSpec>> specs = new HashMap<>();
+    private volatile boolean failed;
+
+    private ChunkFill(UUID worldUid, int chunkX, int chunkZ, List<int[]> containers) {
+      this.worldUid = worldUid;
+      this.chunkX = chunkX;
+      this.chunkZ = chunkZ;
+      this.containers = containers;
+    }
+
+  }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.populating;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A set of chunks in one world, such as those that have already been populated, stored as one bit per chunk in blocks
+ * of 32 by 32 chunks, the same layout as Minecraft's region files. A world of a million chunks fits in about a
+ * thousand blocks.
+ */
+public final class ChunkSet {
+
+  private static final int FORMAT = 1;
+  private static final int REGION_SHIFT = 5;
+  private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+  private static final int WORDS_PER_REGION = (1 << (REGION_SHIFT * 2)) / Long.SIZE;
+
+  private final Map<Long, long[]> regions = new HashMap<>();
+  private boolean dirty;
+
+  public boolean contains(int chunkX, int chunkZ) {
+    long[] words = regions.get(regionKey(chunkX, chunkZ));
+    if (words == null) {
+      return false;
+    }
+    int bit = bitIndex(chunkX, chunkZ);
+    return (words[bit >>> 6] & (1L << bit)) != 0;
+  }
+
+  public void add(int chunkX, int chunkZ) {
+    long[] words = regions.computeIfAbsent(regionKey(chunkX, chunkZ), k -> new long[WORDS_PER_REGION]);
+    int bit = bitIndex(chunkX, chunkZ);
+    words[bit >>> 6] |= 1L << bit;
+    dirty = true;
+  }
+
+  public void remove(int chunkX, int chunkZ) {
+    long key = regionKey(chunkX, chunkZ);
+    long[] words = regions.get(key);
+    if (words == null) {
+      return;
+    }
+    int bit = bitIndex(chunkX, chunkZ);
+    words[bit >>> 6] &= ~(1L << bit);
+    dirty = true;
+    for (long word : words) {
+      if (word != 0) {
+        return;
+      }
+    }
+    regions.remove(key);
+  }
+
+  /**
+   * Gets if chunks have been added or removed since this was last loaded or saved.
+   *
+   * @return if there is anything to save
+   */
+  public boolean isDirty() {
+    return dirty;
+  }
+
+  /**
+   * Gets the number of chunks in the set.
+   *
+   * @return chunk count
+   */
+  public int size() {
+    int size = 0;
+    for (long[] words : regions.values()) {
+      for (long word : words) {
+        size += Long.bitCount(word);
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Replaces the contents with those saved in the given file. A missing file leaves this empty.
+   *
+   * @param file file to read
+   * @throws IOException if the file cannot be read or is not a chunk set file
+   */
+  public void load(File file) throws IOException {
+    regions.clear();
+    dirty = false;
+    if (!file.exists()) {
+      return;
+    }
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      int format = in.readInt();
+      if (format != FORMAT) {
+        throw new IOException("Unknown chunk set format " + format + " in " + file.getName());
+      }
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        long key = in.readLong();
+        long[] words = new long[WORDS_PER_REGION];
+        for (int j = 0; j < words.length; j++) {
+          words[j] = in.readLong();
+        }
+        regions.put(key, words);
+      }
+    }
+  }
+
+  /**
+   * Saves the contents to the given file. The file is written next to the old one and moved over it, so a crash while
+   * saving never leaves a half-written file behind.
+   *
+   * @param file file to write
+   * @throws IOException if the file cannot be written
+   */
+  public void save(File file) throws IOException {
+    File parent = file.getAbsoluteFile().getParentFile();
+    if (parent != null && !parent.exists() && !parent.mkdirs()) {
+      throw new IOException("Unable to create " + parent.getPath());
+    }
+    File temporary = new File(file.getPath() + ".tmp");
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+      out.writeInt(FORMAT);
+      out.writeInt(regions.size());
+      for (Map.Entry<Long, long[]> entry : regions.entrySet()) {
+        out.writeLong(entry.getKey());
+        for (long word : entry.getValue()) {
+          out.writeLong(word);
+        }
+      }
+    }
+    Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    dirty = false;
+  }
+
+  private static long regionKey(int chunkX, int chunkZ) {
+    return ((long) (chunkX >> REGION_SHIFT) << 32) | ((chunkZ >> REGION_SHIFT) & 0xFFFFFFFFL);
+  }
+
+  private static int bitIndex(int chunkX, int chunkZ) {
+    return ((chunkX & REGION_MASK) << REGION_SHIFT) | (chunkZ & REGION_MASK);
+  }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.random;
+
+import java.util.Random;
+
+/**
+ * A {@link Random} that asks {@link RandomSources#current()} for every value, so it can be cached and shared across
+ * threads and still follow whichever source is in use on the calling thread.
+ */
+final class CurrentSourceRandom extends Random {
+
+  @Override
+  protected int next(int bits) {
+    return (int) (RandomSources.current().nextLong() >>> (64 - bits));
+  }
+
+  @Override
+  public int nextInt(int bound) {
+    if (bound <= 0) {
+      throw new IllegalArgumentException("bound must be positive");
+    }
+    return RandomSources.current().nextInt(bound);
+  }
+
+  @Override
+  public long nextLong() {
+    return RandomSources.current().nextLong();
+  }
+
+  @Override
+  public double nextDouble() {
+    return RandomSources.current().nextDouble();
+  }
+
+  @Override
+  public boolean nextBoolean() {
+    return RandomSources.current().nextBoolean();
+  }
+
+  @Override
+  public synchronized void setSeed(long seed) {
+    // seeds belong to the sources, use RandomSources.seed; Random's constructor calls this too
+  }
+
+}
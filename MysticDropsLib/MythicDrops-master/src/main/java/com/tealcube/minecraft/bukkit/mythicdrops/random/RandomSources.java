@@ -0,0 +1,117 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.random;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.random.RandomSource;
+import java.util.Random;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Holds the {@link RandomSource} used across MythicDrops.
+ */
+public final class RandomSources {
+
+  private static final RandomSource THREAD_LOCAL = new ThreadLocalRandomSource();
+  private static final ThreadLocal<RandomSource> SCOPED = new ThreadLocal<>();
+  private static final Random RANDOM = new CurrentSourceRandom();
+  private static volatile RandomSource current = THREAD_LOCAL;
+
+  private RandomSources() {
+    // do nothing
+  }
+
+  public static RandomSource current() {
+    RandomSource scoped = SCOPED.get();
+    return scoped != null ? scoped : current;
+  }
+
+  /**
+   * Gets a {@link Random} that draws every value from {@link #current()} at the time of the call, unlike
+   * {@link RandomSource#asRandom()}, which is tied to one source and, by default, to one thread.
+   *
+   * @return shared Random following the current source
+   */
+  public static Random random() {
+    return RANDOM;
+  }
+
+  /**
+   * Checks whether rolls on this thread come from the default {@link ThreadLocalRandomSource}, as opposed to a seeded
+   * or scoped source whose sequence somebody is relying on.
+   *
+   * @return if the default source is in use
+   */
+  public static boolean isDefault() {
+    return SCOPED.get() == null && current == THREAD_LOCAL;
+  }
+
+  /**
+   * Runs the given action with {@link #current()} returning the given source on this thread only. Used to replay a
+   * roll from a stored seed without disturbing the shared source.
+   *
+   * @param randomSource source to use while the action runs
+   * @param action action to run
+   * @param <T> type of result
+   * @return result of the action
+   */
+  public static <T> T withSource(RandomSource randomSource, Supplier<T> action) {
+    Validate.notNull(randomSource, "RandomSource cannot be null");
+    Validate.notNull(action, "action cannot be null");
+    RandomSource previous = SCOPED.get();
+    SCOPED.set(randomSource);
+    try {
+      return action.get();
+    } finally {
+      if (previous != null) {
+        SCOPED.set(previous);
+      } else {
+        SCOPED.remove();
+      }
+    }
+  }
+
+  public static void set(RandomSource randomSource) {
+    Validate.notNull(randomSource, "RandomSource cannot be null");
+    current = randomSource;
+  }
+
+  /**
+   * Switches to a {@link SeededRandomSource} with the given seed.
+   *
+   * @param seed seed to use
+   * @return the new source
+   */
+  public static SeededRandomSource seed(long seed) {
+    SeededRandomSource seeded = new SeededRandomSource(seed);
+    current = seeded;
+    return seeded;
+  }
+
+  /**
+   * Switches back to the default {@link ThreadLocalRandomSource}.
+   */
+  public static void reset() {
+    current = THREAD_LOCAL;
+  }
+
+}
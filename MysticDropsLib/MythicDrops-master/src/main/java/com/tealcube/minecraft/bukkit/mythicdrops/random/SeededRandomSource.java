@@ -0,0 +1,102 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.random;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.random.RandomSource;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * {@link RandomSource} that produces the same sequence for the same seed. Calls are synchronized so the sequence is
+ * well defined even if a roll happens off the main thread, which makes this source meant for tests and trace replays
+ * rather than production.
+ */
+public final class SeededRandomSource implements RandomSource {
+
+  private final long seed;
+  private final SplittableRandom random;
+  private final Random view;
+
+  public SeededRandomSource(long seed) {
+    this.seed = seed;
+    this.random = new SplittableRandom(seed);
+    this.view = new SourceRandom(this);
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  @Override
+  public synchronized int nextInt(int bound) {
+    return random.nextInt(bound);
+  }
+
+  @Override
+  public synchronized int nextInt(int origin, int bound) {
+    if (origin >= bound) {
+      return origin;
+    }
+    return random.nextInt(origin, bound);
+  }
+
+  @Override
+  public synchronized long nextLong() {
+    return random.nextLong();
+  }
+
+  @Override
+  public synchronized double nextDouble() {
+    return random.nextDouble();
+  }
+
+  @Override
+  public synchronized boolean nextBoolean() {
+    return random.nextBoolean();
+  }
+
+  @Override
+  public Random asRandom() {
+    return view;
+  }
+
+  private static final class SourceRandom extends Random {
+
+    private final RandomSource source;
+
+    private SourceRandom(RandomSource source) {
+      this.source = source;
+    }
+
+    @Override
+    protected int next(int bits) {
+      return (int) (source.nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+      // the seed belongs to the source, Random's constructor calls this before source is set
+    }
+
+  }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.random;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.random.RandomSource;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Default {@link RandomSource}, backed by {@link ThreadLocalRandom} so no state is shared between threads.
+ */
+public final class ThreadLocalRandomSource implements RandomSource {
+
+  @Override
+  public int nextInt(int bound) {
+    return ThreadLocalRandom.current().nextInt(bound);
+  }
+
+  @Override
+  public int nextInt(int origin, int bound) {
+    if (origin >= bound) {
+      return origin;
+    }
+    return ThreadLocalRandom.current().nextInt(origin, bound);
+  }
+
+  @Override
+  public long nextLong() {
+    return ThreadLocalRandom.current().nextLong();
+  }
+
+  @Override
+  public double nextDouble() {
+    return ThreadLocalRandom.current().nextDouble();
+  }
+
+  @Override
+  public boolean nextBoolean() {
+    return ThreadLocalRandom.current().nextBoolean();
+  }
+
+  @Override
+  public Random asRandom() {
+    return ThreadLocalRandom.current();
+  }
+
+}
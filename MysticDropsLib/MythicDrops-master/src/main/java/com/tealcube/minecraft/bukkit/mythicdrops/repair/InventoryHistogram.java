@@ -0,0 +1,232 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.repair;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.repair.RepairCost;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * Which slots of an inventory hold each (material, durability, display name, lore), taken in one pass over the
+ * inventory. Used to settle a repair without asking the inventory about every configured cost in turn. Only the slots
+ * in a cost's bucket are looked at, and each is confirmed with {@link ItemStack#isSimilar}, so a cost matches exactly
+ * the items {@link Inventory#containsAtLeast} would. Enchanted items are never bucketed, since they never match.
+ */
+public final class InventoryHistogram {
+
+  private final Inventory inventory;
+  private final ItemStack[] contents;
+  private final Map<Key, List<Integer>> slots = new HashMap<>();
+
+  private InventoryHistogram(Inventory inventory) {
+    this.inventory = inventory;
+    this.contents = inventory.getStorageContents();
+    for (int slot = 0; slot < contents.length; slot++) {
+      ItemStack itemStack = contents[slot];
+      if (itemStack == null || itemStack.getType() == Material.AIR) {
+        continue;
+      }
+      String displayName = null;
+      List<String> lore = null;
+      if (itemStack.hasItemMeta()) {
+        ItemMeta itemMeta = itemStack.getItemMeta();
+        if (itemMeta.hasEnchants()) {
+          continue;
+        }
+        displayName = itemMeta.hasDisplayName() ? itemMeta.getDisplayName() : null;
+        lore = itemMeta.hasLore() ? itemMeta.getLore() : null;
+      }
+      slots.computeIfAbsent(new Key(itemStack.getType(), itemStack.getDurability(), displayName, lore),
+          k -> new ArrayList<>()).add(slot);
+    }
+  }
+
+  /**
+   * Scans the storage slots of the given inventory.
+   *
+   * @param inventory inventory to scan
+   * @return histogram of the inventory
+   */
+  public static InventoryHistogram of(Inventory inventory) {
+    return new InventoryHistogram(inventory);
+  }
+
+  public Inventory getInventory() {
+    return inventory;
+  }
+
+  /**
+   * Gets how many items in the inventory can pay for the given cost.
+   *
+   * @param repairCost cost
+   * @return number of matching items
+   */
+  public int count(RepairCost repairCost) {
+    List<Integer> candidates = slots.get(keyOf(repairCost));
+    if (candidates == null) {
+      return 0;
+    }
+    ItemStack costItem = repairCost.toItemStack(1);
+    int count = 0;
+    for (int slot : candidates) {
+      if (contents[slot] != null && contents[slot].isSimilar(costItem)) {
+        count += contents[slot].getAmount();
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Gets the cost with the highest priority, i.e. the lowest priority number, that the inventory can pay in full.
+   *
+   * @param repairCosts costs to choose from
+   * @return cost, or null if none can be paid
+   */
+  public RepairCost findAffordable(List<RepairCost> repairCosts) {
+    RepairCost affordable = null;
+    for (RepairCost repairCost : repairCosts) {
+      if (count(repairCost) < repairCost.getAmount()) {
+        continue;
+      }
+      if (affordable == null || affordable.getPriority() > repairCost.getPriority()) {
+        affordable = repairCost;
+      }
+    }
+    return affordable;
+  }
+
+  /**
+   * Gets if the inventory holds at least one item towards any of the given costs.
+   *
+   * @param repairCosts costs to check
+   * @return if any cost is partly there
+   */
+  public boolean containsAny(List<RepairCost> repairCosts) {
+    for (RepairCost repairCost : repairCosts) {
+      if (count(repairCost) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Takes the items for the given cost out of the inventory, from the lowest slot up, using the slots recorded when the
+   * inventory was scanned.
+   *
+   * @param repairCost cost to pay
+   * @return if the cost was paid in full
+   */
+  public boolean remove(RepairCost repairCost) {
+    List<Integer> candidates = slots.get(keyOf(repairCost));
+    int remaining = repairCost.getAmount();
+    if (candidates == null || count(repairCost) < remaining) {
+      return false;
+    }
+    ItemStack costItem = repairCost.toItemStack(1);
+    for (int slot : candidates) {
+      if (remaining <= 0) {
+        break;
+      }
+      ItemStack itemStack = contents[slot];
+      if (itemStack == null || !itemStack.isSimilar(costItem)) {
+        continue;
+      }
+      int taken = Math.min(itemStack.getAmount(), remaining);
+      remaining -= taken;
+      if (taken == itemStack.getAmount()) {
+        contents[slot] = null;
+        inventory.setItem(slot, null);
+      } else {
+        itemStack.setAmount(itemStack.getAmount() - taken);
+        inventory.setItem(slot, itemStack);
+      }
+    }
+    return true;
+  }
+
+  // matches how MythicItemStack colors the name and lore of the item a cost stands for
+  private static Key keyOf(RepairCost repairCost) {
+    String itemName = repairCost.getItemName();
+    String displayName = itemName == null || itemName.isEmpty() ? null : color(itemName);
+    List<String> lore = null;
+    if (repairCost.getItemLore() != null && !repairCost.getItemLore().isEmpty()) {
+      lore = new ArrayList<>();
+      for (String s : repairCost.getItemLore()) {
+        lore.add(color(s));
+      }
+    }
+    return new Key(repairCost.getMaterial(), (short) 0, displayName, lore);
+  }
+
+  private static String color(String s) {
+    return s.replace('&', '\u00A7').replace("\u00A7\u00A7", "&");
+  }
+
+  private static final class Key {
+
+    private final Material material;
+    private final short durability;
+    private final String displayName;
+    private final List<String> lore;
+
+    private Key(Material material, short durability, String displayName, List<String> lore) {
+      this.material = material;
+      this.durability = durability;
+      this.displayName = displayName;
+      this.lore = lore;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = material != null ? material.hashCode() : 0;
+      result = 31 * result + (int) durability;
+      result = 31 * result + (displayName != null ? displayName.hashCode() : 0);
+      result = 31 * result + (lore != null ? lore.hashCode() : 0);
+      return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+
+      Key that = (Key) o;
+
+      return durability == that.durability && material == that.material
+          && !(displayName != null ? !displayName.equals(that.displayName) : that.displayName != null)
+          && !(lore != null ? !lore.equals(that.lore) : that.lore != null);
+    }
+
+  }
+
+}
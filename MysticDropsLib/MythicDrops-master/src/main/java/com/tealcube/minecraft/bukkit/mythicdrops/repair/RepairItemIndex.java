@@ -0,0 +1,167 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.repair;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.repair.RepairItem;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * The loaded {@link RepairItem}s indexed by material and then by their colored display name and lore, so that finding
+ * the repair item for an item in hand takes at most four hash lookups. A repair item without a name or lore matches
+ * any name or lore; when several match, the one that names more of the item wins.
+ */
+public final class RepairItemIndex {
+
+  private static final RepairItemIndex _INSTANCE = new RepairItemIndex();
+
+  private volatile Map<Material, Map<Key, RepairItem>> index = Collections.emptyMap();
+
+  private RepairItemIndex() {
+    // do nothing
+  }
+
+  /**
+   * Gets the instance of RepairItemIndex running on the server.
+   *
+   * @return instance running on the server
+   */
+  public static RepairItemIndex getInstance() {
+    return _INSTANCE;
+  }
+
+  /**
+   * Throws away the existing index and builds one for the given repair items.
+   *
+   * @param repairItems repair items to index
+   */
+  public void compile(Collection<RepairItem> repairItems) {
+    Map<Material, Map<Key, RepairItem>> compiled = new EnumMap<>(Material.class);
+    for (RepairItem repairItem : repairItems) {
+      if (repairItem.getMaterial() == null) {
+        continue;
+      }
+      String itemName = repairItem.getItemName();
+      String displayName = itemName == null || itemName.isEmpty() ? null
+          : ChatColor.translateAlternateColorCodes('&', itemName);
+      List<String> lore = null;
+      if (repairItem.getItemLore() != null && !repairItem.getItemLore().isEmpty()) {
+        lore = new ArrayList<>();
+        for (String s : repairItem.getItemLore()) {
+          lore.add(ChatColor.translateAlternateColorCodes('&', s));
+        }
+      }
+      compiled.computeIfAbsent(repairItem.getMaterial(), k -> new HashMap<>())
+          .putIfAbsent(new Key(displayName, lore), repairItem);
+    }
+    index = compiled;
+  }
+
+  /**
+   * Finds the repair item for the given item.
+   *
+   * @param itemStack item to repair
+   * @return repair item, or null if the item cannot be repaired
+   */
+  public RepairItem find(ItemStack itemStack) {
+    if (itemStack == null || !index.containsKey(itemStack.getType())) {
+      return null;
+    }
+    String displayName = null;
+    List<String> lore = null;
+    if (itemStack.hasItemMeta()) {
+      ItemMeta itemMeta = itemStack.getItemMeta();
+      if (itemMeta.hasDisplayName()) {
+        displayName = itemMeta.getDisplayName();
+      }
+      if (itemMeta.hasLore()) {
+        lore = itemMeta.getLore();
+      }
+    }
+    return find(itemStack.getType(), displayName, lore);
+  }
+
+  RepairItem find(Material material, String displayName, List<String> lore) {
+    Map<Key, RepairItem> byKey = index.get(material);
+    if (byKey == null) {
+      return null;
+    }
+    RepairItem repairItem = null;
+    if (displayName != null && lore != null) {
+      repairItem = byKey.get(new Key(displayName, lore));
+    }
+    if (repairItem == null && displayName != null) {
+      repairItem = byKey.get(new Key(displayName, null));
+    }
+    if (repairItem == null && lore != null) {
+      repairItem = byKey.get(new Key(null, lore));
+    }
+    if (repairItem == null) {
+      repairItem = byKey.get(new Key(null, null));
+    }
+    return repairItem;
+  }
+
+  private static final class Key {
+
+    private final String displayName;
+    private final List<String> lore;
+
+    private Key(String displayName, List<String> lore) {
+      this.displayName = displayName;
+      this.lore = lore;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = displayName != null ? displayName.hashCode() : 0;
+      result = 31 * result + (lore != null ? lore.hashCode() : 0);
+      return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+
+      Key that = (Key) o;
+
+      return !(displayName != null ? !displayName.equals(that.displayName) : that.displayName != null)
+          && !(lore != null ? !lore.equals(that.lore) : that.lore != null);
+    }
+
+  }
+
+}
@@ -22,15 +22,16 @@
 package com.tealcube.minecraft.bukkit.mythicdrops.repair;
 
 import com.comphenix.xp.rewards.xp.ExperienceManager;
-import com.tealcube.minecraft.bukkit.mythicdrops.api.MythicDrops;
+import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.repair.RepairCost;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.repair.RepairItem;
 import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
+import com.tealcube.minecraft.bukkit.mythicdrops.sessions.SessionType;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.ListIterator;
+import java.util.UUID;
 import java.util.logging.Logger;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -42,21 +43,23 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockDamageEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.inventory.EntityEquipment;
-import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
 import org.bukkit.inventory.meta.ItemMeta;
 
 public final class RepairingListener implements Listener {
 
   private static final Logger LOGGER = MythicLoggerFactory.getLogger(RepairingListener.class);
+  private static final String REPAIRING_MARKER = ChatColor.BLACK + "Repairing";
+  private static final SessionType<PendingRepair> REPAIRING = new SessionType<>("repair", 30 * 20L,
+      RepairingListener::onRepairEnded);
 
-  private MythicDrops mythicDrops;
-  private Map<String, ItemStack> repairing;
+  private MythicDropsPlugin mythicDrops;
 
-  public RepairingListener(MythicDrops mythicDrops) {
+  public RepairingListener(MythicDropsPlugin mythicDrops) {
     this.mythicDrops = mythicDrops;
-    repairing = new HashMap<>();
   }
 
   @EventHandler(priority = EventPriority.MONITOR)
@@ -75,14 +78,15 @@ public final class RepairingListener implements Listener {
       return;
     }
     Player player = event.getPlayer();
-    if (repairing.containsKey(player.getName())) {
-      ItemStack oldInHand = repairing.get(player.getName());
+    PendingRepair pendingRepair = mythicDrops.getSessionManager().get(player.getUniqueId(), REPAIRING);
+    if (pendingRepair != null) {
+      ItemStack oldInHand = pendingRepair.itemStack;
       ItemStack currentInHand = player.getEquipment().getItemInMainHand();
       if (oldInHand.getType() != currentInHand.getType()) {
         LOGGER.fine("oldInHand.getType() != currentInHand.getType(): player=" + player.getName());
         player.sendMessage(mythicDrops.getConfigSettings().getFormattedLanguageString("command" +
             ".repair-cannot-use"));
-        repairing.remove(player.getName());
+        removeMapItem(player);
         return;
       }
       if (oldInHand.getDurability() == 0 || currentInHand.getDurability() == 0) {
@@ -101,7 +105,8 @@ public final class RepairingListener implements Listener {
         removeMapItem(player);
         return;
       }
-      RepairItem mythicRepairItem = getRepairItem(currentInHand);
+      // the item is similar to the one looked up on the first click, so its repair item still applies
+      RepairItem mythicRepairItem = pendingRepair.repairItem;
       if (mythicRepairItem == null) {
         LOGGER.fine("mythicRepairItem == null: player=" + player.getName());
         player.sendMessage(mythicDrops.getConfigSettings().getFormattedLanguageString("command" +
@@ -119,8 +124,9 @@ public final class RepairingListener implements Listener {
         removeMapItem(player);
         return;
       }
-      RepairCost mythicRepairCost = getRepairCost(mythicRepairCostList, player.getInventory());
-      if (mythicRepairCost == null) {
+      InventoryHistogram histogram = InventoryHistogram.of(player.getInventory());
+      RepairCost mythicRepairCost = histogram.findAffordable(mythicRepairCostList);
+      if (mythicRepairCost == null && !histogram.containsAny(mythicRepairCostList)) {
         LOGGER.fine("mythicRepairCost == null: player=" + player.getName());
         player.sendMessage(mythicDrops.getConfigSettings().getFormattedLanguageString("command" +
             ".repair-cannot-use"));
@@ -128,8 +134,7 @@ public final class RepairingListener implements Listener {
         removeMapItem(player);
         return;
       }
-      if (!player.getInventory().containsAtLeast(mythicRepairCost.toItemStack(1),
-          mythicRepairCost.getAmount())) {
+      if (mythicRepairCost == null) {
         player.sendMessage(mythicDrops.getConfigSettings().getFormattedLanguageString("command" +
                 ".repair-do-not-have",
             new String[][]{
@@ -152,12 +157,12 @@ public final class RepairingListener implements Listener {
         return;
       }
       experienceManager.changeExp(-mythicRepairCost.getExperienceCost());
-      player.getEquipment().setItemInMainHand(repairItemStack(currentInHand, player.getInventory()));
+      player.getEquipment().setItemInMainHand(repairItemStack(currentInHand, mythicRepairCost, histogram));
       removeMapItem(player);
       event.setCancelled(true);
       player.sendMessage(
           mythicDrops.getConfigSettings().getFormattedLanguageString("command.repair-success"));
-      player.updateInventory();
+      mythicDrops.getInventoryUpdates().markDirty(player);
       if (mythicDrops.getRepairingSettings().isPlaySounds()) {
         player.playSound(event.getBlock().getLocation(), Sound.BLOCK_ANVIL_USE, 1.0F, 1.0F);
       }
@@ -169,136 +174,125 @@ public final class RepairingListener implements Listener {
       if (entityEquipment.getItemInMainHand().getDurability() == 0) {
         return;
       }
-      if (getRepairItem(entityEquipment.getItemInMainHand()) == null) {
+      RepairItem repairItem = RepairItemIndex.getInstance().find(entityEquipment.getItemInMainHand());
+      if (repairItem == null) {
         return;
       }
+      // a session that ended while the player was offline may have left its marker behind
+      removeRepairingMarker(player);
       if (entityEquipment.getItemInMainHand().hasItemMeta()) {
         ItemMeta itemMeta = entityEquipment.getItemInMainHand().getItemMeta();
         if (itemMeta.hasLore()) {
           List<String> lore = new ArrayList<>(itemMeta.getLore());
-          lore.add(ChatColor.BLACK + "Repairing");
+          lore.add(REPAIRING_MARKER);
           itemMeta.setLore(lore);
         } else {
-          itemMeta.setLore(Collections.singletonList(ChatColor.BLACK + "Repairing"));
+          itemMeta.setLore(Collections.singletonList(REPAIRING_MARKER));
         }
         entityEquipment.getItemInMainHand().setItemMeta(itemMeta);
       } else {
         ItemMeta itemMeta = Bukkit.getItemFactory().getItemMeta(entityEquipment.getItemInMainHand().getType());
-        itemMeta.setLore(Collections.singletonList(ChatColor.BLACK + "Repairing"));
+        itemMeta.setLore(Collections.singletonList(REPAIRING_MARKER));
         entityEquipment.getItemInMainHand().setItemMeta(itemMeta);
       }
-      repairing.put(player.getName(), entityEquipment.getItemInMainHand());
+      mythicDrops.getSessionManager().put(player.getUniqueId(), REPAIRING,
+          new PendingRepair(entityEquipment.getItemInMainHand(), repairItem));
       player.sendMessage(mythicDrops.getConfigSettings().getFormattedLanguageString("command" +
           ".repair-instructions"));
     }
   }
 
-  private void removeMapItem(Player player) {
-    EntityEquipment entityEquipment = player.getEquipment();
-    repairing.remove(player.getName());
-    if (entityEquipment.getItemInMainHand().hasItemMeta()) {
-      ItemMeta itemMeta = entityEquipment.getItemInMainHand().getItemMeta();
-      if (itemMeta.hasLore()) {
-        List<String> lore = removeAllString(itemMeta.getLore(), ChatColor.BLACK + "Repairing");
-        itemMeta.setLore(lore);
+  @EventHandler(priority = EventPriority.HIGH)
+  public void onPlayerDeath(PlayerDeathEvent event) {
+    // the drops are copies, so the session ending afterwards cannot reach them
+    if (!mythicDrops.getSessionManager().has(event.getEntity().getUniqueId(), REPAIRING)) {
+      return;
+    }
+    ListIterator<ItemStack> drops = event.getDrops().listIterator();
+    while (drops.hasNext()) {
+      ItemStack stripped = withoutRepairingMarker(drops.next());
+      if (stripped != null) {
+        drops.set(stripped);
       }
-      entityEquipment.getItemInMainHand().setItemMeta(itemMeta);
     }
   }
 
-  private List<String> removeAllString(List<String> list, String toRemove) {
-    List<String> newList = new ArrayList<>(list);
-    newList.removeIf(s -> s.equals(toRemove));
-    return newList;
+  private void removeMapItem(Player player) {
+    mythicDrops.getSessionManager().remove(player.getUniqueId(), REPAIRING);
+    removeRepairingMarker(player);
   }
 
-  private RepairItem getRepairItem(ItemStack itemStack) {
-    String displayName = null;
-    List<String> lore = new ArrayList<>();
-    Material material = itemStack.getType();
-    if (itemStack.hasItemMeta()) {
-      if (itemStack.getItemMeta().hasDisplayName()) {
-        displayName = itemStack.getItemMeta().getDisplayName();
-      }
-      if (itemStack.getItemMeta().hasLore()) {
-        lore = itemStack.getItemMeta().getLore();
-      }
+  private static void onRepairEnded(UUID playerId, PendingRepair pendingRepair) {
+    Player player = Bukkit.getPlayer(playerId);
+    if (player != null) {
+      removeRepairingMarker(player);
     }
-    for (RepairItem repItem : MythicRepairItemMap.getInstance().values()) {
-      if (repItem.getMaterial() != material) {
-        continue;
-      }
-      if (repItem.getItemName() != null && (displayName == null || !ChatColor
-          .translateAlternateColorCodes('&', repItem.getName()).equals(displayName))) {
-        continue;
-      }
-      if (repItem.getItemLore() != null && !repItem.getItemLore().isEmpty()) {
-        if (lore == null) {
-          continue;
-        }
-        List<String> coloredLore = new ArrayList<>();
-        for (String s : repItem.getItemLore()) {
-          coloredLore.add(ChatColor.translateAlternateColorCodes('&', s));
-        }
-        if (!coloredLore.equals(lore)) {
-          continue;
-        }
+  }
+
+  // the marked item may have been moved out of the main hand since the first click
+  private static void removeRepairingMarker(Player player) {
+    PlayerInventory inventory = player.getInventory();
+    ItemStack[] contents = inventory.getContents();
+    for (int i = 0; i < contents.length; i++) {
+      ItemStack stripped = withoutRepairingMarker(contents[i]);
+      if (stripped != null) {
+        inventory.setItem(i, stripped);
       }
-      return repItem;
     }
-    return null;
   }
 
-  private RepairCost getRepairCost(List<RepairCost> mythicRepairCostsList, Inventory inventory) {
-    RepairCost repCost = null;
-    for (RepairCost mythicRepairCost : mythicRepairCostsList) {
-      ItemStack itemStack = mythicRepairCost.toItemStack(1);
-      if (inventory.containsAtLeast(itemStack, 1)) {
-        if (repCost == null) {
-          repCost = mythicRepairCost;
-          continue;
-        }
-        if (repCost.getPriority() > mythicRepairCost.getPriority()) {
-          repCost = mythicRepairCost;
-        }
-      }
+  private static ItemStack withoutRepairingMarker(ItemStack itemStack) {
+    if (itemStack == null || !itemStack.hasItemMeta()) {
+      return null;
+    }
+    ItemMeta itemMeta = itemStack.getItemMeta();
+    if (!itemMeta.hasLore() || !itemMeta.getLore().contains(REPAIRING_MARKER)) {
+      return null;
     }
-    return repCost;
+    itemMeta.setLore(removeAllString(itemMeta.getLore(), REPAIRING_MARKER));
+    ItemStack stripped = itemStack.clone();
+    stripped.setItemMeta(itemMeta);
+    return stripped;
   }
 
-  private ItemStack repairItemStack(ItemStack itemStack, Inventory inventory) {
+  private static List<String> removeAllString(List<String> list, String toRemove) {
+    List<String> newList = new ArrayList<>(list);
+    newList.removeIf(s -> s.equals(toRemove));
+    return newList;
+  }
+
+  private ItemStack repairItemStack(ItemStack itemStack, RepairCost mythicRepairCost, InventoryHistogram histogram) {
     if (itemStack == null) {
       return null;
     }
     ItemStack repaired = itemStack.clone();
-    RepairItem mythicRepairItem = getRepairItem(itemStack);
-    if (mythicRepairItem == null) {
-      return repaired;
-    }
-    List<RepairCost> mythicRepairCostList = mythicRepairItem.getRepairCosts();
-    if (mythicRepairCostList == null) {
-      return repaired;
-    }
-    RepairCost mythicRepairCost = getRepairCost(mythicRepairCostList, inventory);
-    if (mythicRepairCost == null) {
-      return repaired;
-    }
-    if (!inventory.containsAtLeast(mythicRepairCost.toItemStack(1), mythicRepairCost.getAmount())) {
+
+    if (!histogram.remove(mythicRepairCost)) {
       return repaired;
     }
 
-    inventory.removeItem(mythicRepairCost.toItemStack(mythicRepairCost.getAmount()));
-
     short currentDurability = repaired.getDurability();
     short newDurability = (short) (currentDurability - repaired.getType().getMaxDurability() * mythicRepairCost
         .getRepairPercentagePerCost());
     repaired.setDurability((short) Math.max(newDurability, 0));
-    for (HumanEntity humanEntity : inventory.getViewers()) {
+    for (HumanEntity humanEntity : histogram.getInventory().getViewers()) {
       if (humanEntity instanceof Player) {
-        ((Player) humanEntity).updateInventory();
+        mythicDrops.getInventoryUpdates().markDirty((Player) humanEntity);
       }
     }
     return repaired;
   }
 
+  private static final class PendingRepair {
+
+    private final ItemStack itemStack;
+    private final RepairItem repairItem;
+
+    private PendingRepair(ItemStack itemStack, RepairItem repairItem) {
+      this.itemStack = itemStack;
+      this.repairItem = repairItem;
+    }
+
+  }
+
 }
@@ -0,0 +1,280 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.sessions;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Holds the pending interaction of every player by UUID and {@link SessionType}. Sessions expire on a hashed timing
+ * wheel that a single task turns once a second, and are dropped when their player quits or dies. Only used from the
+ * main thread.
+ */
+public final class SessionManager implements Listener {
+
+  private static final Logger LOGGER = MythicLoggerFactory.getLogger(SessionManager.class);
+  static final long WHEEL_PERIOD = 20L;
+  private static final int WHEEL_SIZE = 64;
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+  private final Plugin plugin;
+  private final Map<UUID, Map<SessionType<?>, Session>> sessions = new HashMap<>();
+  private final Session[] wheel = new Session[WHEEL_SIZE];
+  private long wheelTick;
+  private int size;
+  private BukkitTask task;
+
+  public SessionManager(Plugin plugin) {
+    this.plugin = plugin;
+  }
+
+  public void start() {
+    stop();
+    task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, WHEEL_PERIOD, WHEEL_PERIOD);
+  }
+
+  public void stop() {
+    if (task != null) {
+      task.cancel();
+      task = null;
+    }
+    clear();
+  }
+
+  /**
+   * Starts a session, replacing any session of the same type the player already has.
+   *
+   * @param playerId player
+   * @param type type of the session
+   * @param value state of the session
+   * @param <T> type of the state
+   */
+  public <T> void put(UUID playerId, SessionType<T> type, T value) {
+    Map<SessionType<?>, Session> playerSessions = sessions.get(playerId);
+    if (playerSessions == null) {
+      playerSessions = new HashMap<>();
+      sessions.put(playerId, playerSessions);
+    }
+    Session old = playerSessions.get(type);
+    if (old != null) {
+      unlink(old);
+      size--;
+    }
+    Session session = new Session(playerId, type, value);
+    playerSessions.put(type, session);
+    schedule(session);
+    size++;
+  }
+
+  /**
+   * Gets the state of a session.
+   *
+   * @param playerId player
+   * @param type type of the session
+   * @param <T> type of the state
+   * @return state, or null if the player has no such session
+   */
+  public <T> T get(UUID playerId, SessionType<T> type) {
+    Map<SessionType<?>, Session> playerSessions = sessions.get(playerId);
+    if (playerSessions == null) {
+      return null;
+    }
+    Session session = playerSessions.get(type);
+    return session != null ? type.cast(session.value) : null;
+  }
+
+  public boolean has(UUID playerId, SessionType<?> type) {
+    Map<SessionType<?>, Session> playerSessions = sessions.get(playerId);
+    return playerSessions != null && playerSessions.containsKey(type);
+  }
+
+  /**
+   * Ends a session.
+   *
+   * @param playerId player
+   * @param type type of the session
+   * @param <T> type of the state
+   * @return state of the ended session, or null if the player had no such session
+   */
+  public <T> T remove(UUID playerId, SessionType<T> type) {
+    Map<SessionType<?>, Session> playerSessions = sessions.get(playerId);
+    if (playerSessions == null) {
+      return null;
+    }
+    Session session = playerSessions.remove(type);
+    if (session == null) {
+      return null;
+    }
+    if (playerSessions.isEmpty()) {
+      sessions.remove(playerId);
+    }
+    unlink(session);
+    size--;
+    return type.cast(session.value);
+  }
+
+  /**
+   * Ends every session of a player, letting each {@link SessionType} clean up after it.
+   *
+   * @param playerId player
+   */
+  public void removeAll(UUID playerId) {
+    Map<SessionType<?>, Session> playerSessions = sessions.remove(playerId);
+    if (playerSessions == null) {
+      return;
+    }
+    for (Session session : playerSessions.values()) {
+      unlink(session);
+      size--;
+    }
+    for (Session session : playerSessions.values()) {
+      end(session);
+    }
+  }
+
+  /**
+   * Ends every session, letting each {@link SessionType} clean up after it.
+   */
+  public void clear() {
+    List<Session> ended = new ArrayList<>(size);
+    for (Map<SessionType<?>, Session> playerSessions : sessions.values()) {
+      ended.addAll(playerSessions.values());
+    }
+    sessions.clear();
+    for (int i = 0; i < WHEEL_SIZE; i++) {
+      wheel[i] = null;
+    }
+    size = 0;
+    for (Session session : ended) {
+      end(session);
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onPlayerQuit(PlayerQuitEvent event) {
+    removeAll(event.getPlayer().getUniqueId());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onPlayerDeath(PlayerDeathEvent event) {
+    removeAll(event.getEntity().getUniqueId());
+  }
+
+  /**
+   * Turns the wheel by one slot and expires the sessions in it whose deadline has passed. Sessions that are due in a
+   * later turn of the wheel stay where they are.
+   */
+  void tick() {
+    wheelTick++;
+    Session session = wheel[(int) (wheelTick & WHEEL_MASK)];
+    List<Session> expired = null;
+    while (session != null) {
+      Session next = session.next;
+      if (session.deadline <= wheelTick) {
+        remove(session.playerId, session.type);
+        if (expired == null) {
+          expired = new ArrayList<>();
+        }
+        expired.add(session);
+      }
+      session = next;
+    }
+    if (expired == null) {
+      return;
+    }
+    // callbacks run once the slot has been walked, so they may start or end other sessions freely
+    for (Session ended : expired) {
+      end(ended);
+    }
+    LOGGER.fine("Expired " + expired.size() + " session(s)");
+  }
+
+  private void end(Session session) {
+    try {
+      session.type.end(session.playerId, session.value);
+    } catch (RuntimeException e) {
+      LOGGER.log(Level.WARNING, "Unable to end " + session.type + " for " + session.playerId, e);
+    }
+  }
+
+  private void schedule(Session session) {
+    long turns = Math.max(1L, (session.type.getTimeoutTicks() + WHEEL_PERIOD - 1) / WHEEL_PERIOD);
+    session.deadline = wheelTick + turns;
+    int slot = (int) (session.deadline & WHEEL_MASK);
+    session.slot = slot;
+    session.next = wheel[slot];
+    if (wheel[slot] != null) {
+      wheel[slot].previous = session;
+    }
+    wheel[slot] = session;
+  }
+
+  private void unlink(Session session) {
+    if (session.previous != null) {
+      session.previous.next = session.next;
+    } else if (wheel[session.slot] == session) {
+      wheel[session.slot] = session.next;
+    }
+    if (session.next != null) {
+      session.next.previous = session.previous;
+    }
+    session.previous = null;
+    session.next = null;
+  }
+
+  private static final class Session {
+
+    private final UUID playerId;
+    private final SessionType<?> type;
+    private final Object value;
+    private long deadline;
+    private int slot;
+    private Session previous;
+    private Session next;
+
+    private Session(UUID playerId, SessionType<?> type, Object value) {
+      this.playerId = playerId;
+      this.type = type;
+      this.value = value;
+    }
+
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.sessions;
+
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * A kind of state a player can hold between two interactions, such as a socket gem waiting to be applied.
+ *
+ * @param <T> type of the state
+ */
+public final class SessionType<T> {
+
+  private final String name;
+  private final long timeoutTicks;
+  private final BiConsumer<UUID, T> onEnd;
+
+  /**
+   * Creates a session type.
+   *
+   * @param name name used when logging
+   * @param timeoutTicks how many server ticks a session lives before it expires
+   */
+  public SessionType(String name, long timeoutTicks) {
+    this(name, timeoutTicks, null);
+  }
+
+  /**
+   * Creates a session type that cleans up after sessions the {@link SessionManager} ends on its own: when they expire,
+   * when their player quits or dies, and when the manager is cleared. It is not called for sessions that are removed
+   * or replaced through the manager, since the caller already knows about those.
+   *
+   * @param name name used when logging
+   * @param timeoutTicks how many server ticks a session lives before it expires
+   * @param onEnd receives the player and state of every session ended this way, may be null
+   */
+  public SessionType(String name, long timeoutTicks, BiConsumer<UUID, T> onEnd) {
+    if (timeoutTicks <= 0) {
+      throw new IllegalArgumentException("timeoutTicks must be positive");
+    }
+    this.name = name;
+    this.timeoutTicks = timeoutTicks;
+    this.onEnd = onEnd;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getTimeoutTicks() {
+    return timeoutTicks;
+  }
+
+  // only ever handed values that were put in under this type
+  @SuppressWarnings("unchecked")
+  T cast(Object value) {
+    return (T) value;
+  }
+
+  void end(UUID playerId, Object value) {
+    if (onEnd != null) {
+      onEnd.accept(playerId, cast(value));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SessionType{" + name + "}";
+  }
+
+}
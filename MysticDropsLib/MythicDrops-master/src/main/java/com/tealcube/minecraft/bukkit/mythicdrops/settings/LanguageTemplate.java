@@ -0,0 +1,159 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.settings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A language string that has been colored and split around its {@code %name%} argument slots, so that rendering it is
+ * a single {@link StringBuilder} pass. Strings without slots render to a constant.
+ */
+public final class LanguageTemplate {
+
+  private final String colored;
+  private final String[] literals;
+  private final String[] slots;
+  private final int literalLength;
+
+  private LanguageTemplate(String colored, String[] literals, String[] slots) {
+    this.colored = colored;
+    this.literals = literals;
+    this.slots = slots;
+    int length = 0;
+    for (String literal : literals) {
+      length += literal.length();
+    }
+    this.literalLength = length;
+  }
+
+  /**
+   * Colors the given string and finds its argument slots.
+   *
+   * @param string raw language string
+   * @return compiled template
+   */
+  public static LanguageTemplate compile(String string) {
+    String colored = color(string);
+    List<String> literals = new ArrayList<>();
+    List<String> slots = new ArrayList<>();
+    int literalStart = 0;
+    int i = 0;
+    while (i < colored.length()) {
+      int end = slotEnd(colored, i);
+      if (end < 0) {
+        i++;
+        continue;
+      }
+      literals.add(colored.substring(literalStart, i));
+      slots.add(colored.substring(i, end));
+      literalStart = end;
+      i = end;
+    }
+    literals.add(colored.substring(literalStart));
+    return new LanguageTemplate(colored, literals.toArray(new String[literals.size()]),
+        slots.toArray(new String[slots.size()]));
+  }
+
+  /**
+   * Colors a string the way language strings are, turning {@code &} into section signs and {@code &&} into a literal
+   * {@code &}.
+   *
+   * @param string String to color
+   * @return colored String
+   */
+  public static String color(String string) {
+    return string.replace('&', '\u00A7').replace("\u00A7\u00A7", "&");
+  }
+
+  /**
+   * Renders the template without arguments.
+   *
+   * @return colored String
+   */
+  public String render() {
+    return colored;
+  }
+
+  /**
+   * Renders the template, putting each argument's value in place of the slot named by its key. Arguments whose key is
+   * not a {@code %name%} slot are replaced in the result afterwards.
+   *
+   * @param args pairs of slot and value
+   * @return rendered String
+   */
+  public String render(String[][] args) {
+    if (args == null || args.length == 0) {
+      return colored;
+    }
+    String s = colored;
+    if (slots.length > 0) {
+      StringBuilder sb = new StringBuilder(literalLength + 16 * slots.length);
+      for (int i = 0; i < slots.length; i++) {
+        sb.append(literals[i]);
+        String value = find(slots[i], args);
+        sb.append(value != null ? value : slots[i]);
+      }
+      sb.append(literals[slots.length]);
+      s = sb.toString();
+    }
+    for (String[] arg : args) {
+      if (!isSlot(arg[0])) {
+        s = s.replace(arg[0], arg[1]);
+      }
+    }
+    return s;
+  }
+
+  private static String find(String slot, String[][] args) {
+    for (String[] arg : args) {
+      if (slot.equals(arg[0])) {
+        return arg[1];
+      }
+    }
+    return null;
+  }
+
+  private static boolean isSlot(String key) {
+    return key != null && key.length() > 1 && slotEnd(key, 0) == key.length();
+  }
+
+  // returns the index just past a %name% slot starting at start, or -1 if there is none
+  private static int slotEnd(String s, int start) {
+    if (s.charAt(start) != '%') {
+      return -1;
+    }
+    int i = start + 1;
+    while (i < s.length()) {
+      char c = s.charAt(i);
+      if (c == '%') {
+        return i > start + 1 ? i + 1 : -1;
+      }
+      if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+        return -1;
+      }
+      i++;
+    }
+    return -1;
+  }
+
+}
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class MythicConfigSettings implements ConfigSettings {
 
@@ -36,6 +37,7 @@ public final class MythicConfigSettings implements ConfigSettings {
   private final Map<String, List<String>> materialTypesWithIds;
   private final List<String> tooltipFormat;
   private final Map<String, String> language;
+  private final Map<String, CompiledString> compiledLanguage;
   private boolean debugMode;
   private String itemDisplayNameFormat;
   private boolean reportingEnabled;
@@ -44,6 +46,17 @@ public final class MythicConfigSettings implements ConfigSettings {
   private boolean giveMobsNames;
   private boolean giveAllMobsNames;
   private boolean displayMobEquipment;
+  private boolean lazyMobEquipment;
+  private int lazyMobEquipmentRange;
+  private boolean dropPoolEnabled;
+  private int dropPoolDepth;
+  private int dropPoolWorkers;
+  private int jobTickBudget;
+  private boolean mergeDeathDrops;
+  private double populatingChestChance;
+  private int populatingMinimumItems;
+  private int populatingMaximumItems;
+  private int populatingTickBudget;
   private boolean mobsPickupEquipment;
   private boolean blankMobSpawnEnabled;
   private boolean skeletonsSpawnWithoutBows;
@@ -70,6 +83,7 @@ public final class MythicConfigSettings implements ConfigSettings {
     materialTypesWithIds = new HashMap<>();
     tooltipFormat = new ArrayList<>();
     language = new HashMap<>();
+    compiledLanguage = new ConcurrentHashMap<>();
     enabledWorlds = new ArrayList<>();
   }
 
@@ -77,6 +91,31 @@ public final class MythicConfigSettings implements ConfigSettings {
     return language;
   }
 
+  /**
+   * Compiles every entry of the language map into a {@link LanguageTemplate}. Entries that are added or changed later
+   * are compiled the first time they are used.
+   */
+  public void compileLanguage() {
+    compiledLanguage.clear();
+    for (Map.Entry<String, String> entry : language.entrySet()) {
+      compiledLanguage.put(entry.getKey(), new CompiledString(entry.getValue()));
+    }
+  }
+
+  private LanguageTemplate getLanguageTemplate(String key) {
+    String source = language.get(key);
+    if (source == null) {
+      return LanguageTemplate.compile(key);
+    }
+    // the language map is handed out mutable, so a cached template only counts while its source is still current
+    CompiledString compiled = compiledLanguage.get(key);
+    if (compiled == null || !compiled.source.equals(source)) {
+      compiled = new CompiledString(source);
+      compiledLanguage.put(key, compiled);
+    }
+    return compiled.template;
+  }
+
   @Override
   public List<String> getArmorTypes() {
     return armorTypes;
@@ -150,16 +189,12 @@ public final class MythicConfigSettings implements ConfigSettings {
 
   @Override
   public String getFormattedLanguageString(String key) {
-    return getLanguageString(key).replace('&', '\u00A7').replace("\u00A7\u00A7", "&");
+    return getLanguageTemplate(key).render();
   }
 
   @Override
   public String getFormattedLanguageString(String key, String[][] args) {
-    String s = getFormattedLanguageString(key);
-    for (String[] arg : args) {
-      s = s.replace(arg[0], arg[1]);
-    }
-    return s;
+    return getLanguageTemplate(key).render(args);
   }
 
   @Override
@@ -207,6 +242,105 @@ public final class MythicConfigSettings implements ConfigSettings {
     this.displayMobEquipment = displayMobEquipment;
   }
 
+  @Override
+  public boolean isLazyMobEquipment() {
+    return lazyMobEquipment;
+  }
+
+  public void setLazyMobEquipment(boolean lazyMobEquipment) {
+    this.lazyMobEquipment = lazyMobEquipment;
+  }
+
+  @Override
+  public int getLazyMobEquipmentRange() {
+    return lazyMobEquipmentRange;
+  }
+
+  public void setLazyMobEquipmentRange(int lazyMobEquipmentRange) {
+    this.lazyMobEquipmentRange = lazyMobEquipmentRange;
+  }
+
+  @Override
+  public boolean isDropPoolEnabled() {
+    return dropPoolEnabled;
+  }
+
+  public void setDropPoolEnabled(boolean dropPoolEnabled) {
+    this.dropPoolEnabled = dropPoolEnabled;
+  }
+
+  @Override
+  public int getDropPoolDepth() {
+    return dropPoolDepth;
+  }
+
+  public void setDropPoolDepth(int dropPoolDepth) {
+    this.dropPoolDepth = dropPoolDepth;
+  }
+
+  @Override
+  public int getDropPoolWorkers() {
+    return dropPoolWorkers;
+  }
+
+  public void setDropPoolWorkers(int dropPoolWorkers) {
+    this.dropPoolWorkers = dropPoolWorkers;
+  }
+
+  @Override
+  public int getJobTickBudget() {
+    return jobTickBudget;
+  }
+
+  public void setJobTickBudget(int jobTickBudget) {
+    this.jobTickBudget = jobTickBudget;
+  }
+
+  @Override
+  public boolean isMergeDeathDrops() {
+    return mergeDeathDrops;
+  }
+
+  public void setMergeDeathDrops(boolean mergeDeathDrops) {
+    this.mergeDeathDrops = mergeDeathDrops;
+  }
+
+  @Override
+  public double getPopulatingChestChance() {
+    return populatingChestChance;
+  }
+
+  public void setPopulatingChestChance(double populatingChestChance) {
+    this.populatingChestChance = populatingChestChance;
+  }
+
+  @Override
+  public int getPopulatingMinimumItems() {
+    return populatingMinimumItems;
+  }
+
+  public void setPopulatingMinimumItems(int populatingMinimumItems) {
+    this.populatingMinimumItems = populatingMinimumItems;
+  }
+
+  @Override
+  public int getPopulatingMaximumItems() {
+    return populatingMaximumItems;
+  }
+
+  public void setPopulatingMaximumItems(int populatingMaximumItems) {
+    this.populatingMaximumItems = populatingMaximumItems;
+  }
+
+  @Override
+  public int getPopulatingTickBudget() {
+    return populatingTickBudget;
+  }
+
+  public void setPopulatingTickBudget(int populatingTickBudget) {
+    this.populatingTickBudget = populatingTickBudget;
+  }
+
   @Override
   public boolean isMobsPickupEquipment() {
     return mobsPickupEquipment;
@@ -359,4 +493,14 @@ public final class MythicConfigSettings implements ConfigSettings {
     this.randomizeLeatherColors = randomizedLeatherColors;
   }
 
+  private static final class CompiledString {
+    private final String source;
+    private final LanguageTemplate template;
+
+    private CompiledString(String source) {
+      this.source = source;
+      this.template = LanguageTemplate.compile(source);
+    }
+  }
+
 }
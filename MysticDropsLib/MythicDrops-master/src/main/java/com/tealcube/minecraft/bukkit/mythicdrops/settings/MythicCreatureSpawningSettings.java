@@ -23,11 +23,13 @@ package com.tealcube.minecraft.bukkit.mythicdrops.settings;
 
 import com.tealcube.minecraft.bukkit.mythicdrops.api.settings.CreatureSpawningSettings;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.CreatureSpawnEvent;
 
 public final class MythicCreatureSpawningSettings implements CreatureSpawningSettings {
 
@@ -37,11 +39,18 @@ public final class MythicCreatureSpawningSettings implements CreatureSpawningSet
   private Map<EntityType, Set<Tier>> entityTierMap;
   private Map<EntityType, Double> entityChanceMap;
   private Map<String, Integer> preventSpawnAbove;
+  private boolean chunkLimiterEnabled;
+  private int chunkLimiterCapacity;
+  private double chunkLimiterRefillPerMinute;
+  private Map<CreatureSpawnEvent.SpawnReason, Integer> chunkLimiterCapacities;
+  private Map<CreatureSpawnEvent.SpawnReason, Double> chunkLimiterRefills;
 
   public MythicCreatureSpawningSettings() {
     entityTierMap = new HashMap<>();
     entityChanceMap = new HashMap<>();
     preventSpawnAbove = new HashMap<>();
+    chunkLimiterCapacities = new EnumMap<>(CreatureSpawnEvent.SpawnReason.class);
+    chunkLimiterRefills = new EnumMap<>(CreatureSpawnEvent.SpawnReason.class);
   }
 
   @Override
@@ -102,4 +111,39 @@ public final class MythicCreatureSpawningSettings implements CreatureSpawningSet
     this.preventReinforcements = preventReinforcements;
   }
 
+  @Override
+  public boolean isChunkLimiterEnabled() {
+    return chunkLimiterEnabled;
+  }
+
+  public void setChunkLimiterEnabled(boolean chunkLimiterEnabled) {
+    this.chunkLimiterEnabled = chunkLimiterEnabled;
+  }
+
+  @Override
+  public int getChunkLimiterCapacity(CreatureSpawnEvent.SpawnReason reason) {
+    return chunkLimiterCapacities.getOrDefault(reason, chunkLimiterCapacity);
+  }
+
+  public void setChunkLimiterCapacity(int chunkLimiterCapacity) {
+    this.chunkLimiterCapacity = chunkLimiterCapacity;
+  }
+
+  public void setChunkLimiterCapacity(CreatureSpawnEvent.SpawnReason reason, int capacity) {
+    this.chunkLimiterCapacities.put(reason, capacity);
+  }
+
+  @Override
+  public double getChunkLimiterRefillPerMinute(CreatureSpawnEvent.SpawnReason reason) {
+    return chunkLimiterRefills.getOrDefault(reason, chunkLimiterRefillPerMinute);
+  }
+
+  public void setChunkLimiterRefillPerMinute(double chunkLimiterRefillPerMinute) {
+    this.chunkLimiterRefillPerMinute = chunkLimiterRefillPerMinute;
+  }
+
+  public void setChunkLimiterRefillPerMinute(CreatureSpawnEvent.SpawnReason reason, double refillPerMinute) {
+    this.chunkLimiterRefills.put(reason, refillPerMinute);
+  }
+
 }
@@ -24,7 +24,7 @@ package com.tealcube.minecraft.bukkit.mythicdrops.socketting;
 import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.socketting.EffectTarget;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.socketting.SocketEffect;
-import org.apache.commons.lang3.RandomUtils;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
 import org.bukkit.Bukkit;
 import org.bukkit.Effect;
 import org.bukkit.entity.LivingEntity;
@@ -93,7 +93,7 @@ public final class SocketParticleEffect implements SocketEffect {
     for (int i = 0; i < duration; i++) {
       Bukkit.getScheduler()
           .scheduleSyncDelayedTask(MythicDropsPlugin.getInstance(), () -> target.getWorld()
-              .playEffect(target.getEyeLocation(), particleEffect, RandomUtils.nextInt(0, 4)), i * 10L);
+              .playEffect(target.getEyeLocation(), particleEffect, RandomSources.current().nextInt(0, 4)), i * 10L);
     }
   }
 
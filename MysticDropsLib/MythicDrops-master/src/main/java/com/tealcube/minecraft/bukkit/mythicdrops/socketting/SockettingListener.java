@@ -29,6 +29,7 @@ import com.tealcube.minecraft.bukkit.mythicdrops.api.socketting.SocketCommandRun
 import com.tealcube.minecraft.bukkit.mythicdrops.api.socketting.SocketEffect;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
 import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
+import com.tealcube.minecraft.bukkit.mythicdrops.sessions.SessionType;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.ItemUtil;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.SocketGemUtil;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.StringListUtil;
@@ -59,8 +60,8 @@ import org.bukkit.inventory.meta.ItemMeta;
 public final class SockettingListener implements Listener {
 
   private static final Logger LOGGER = MythicLoggerFactory.getLogger(SockettingListener.class);
+  private static final SessionType<HeldItem> HELD_SOCKET = new SessionType<>("socket", 30 * 20L);
 
-  private final Map<String, HeldItem> heldSocket = new HashMap<>();
   private MythicDropsPlugin mythicDrops;
 
   public SockettingListener(MythicDropsPlugin mythicDrops) {
@@ -92,19 +93,20 @@ public final class SockettingListener implements Listener {
     if (!mythicDrops.getConfigSettings().isAllowEquippingItemsViaRightClick() &&
         ItemUtil.isArmor(itemInMainHandType) && itemInMainHand.hasItemMeta()) {
       event.setUseItemInHand(Event.Result.DENY);
-      player.updateInventory();
+      mythicDrops.getInventoryUpdates().markDirty(player);
     }
-    if (heldSocket.containsKey(player.getName())) {
-      LOGGER.fine("heldSocket.containsKey(" + player.getName() + ")");
-      socketItem(event, player, itemInMainHand, itemInMainHandType);
-      heldSocket.remove(player.getName());
+    HeldItem heldSocket = mythicDrops.getSessionManager().get(player.getUniqueId(), HELD_SOCKET);
+    if (heldSocket != null) {
+      LOGGER.fine("heldSocket != null: player=" + player.getName());
+      socketItem(event, player, itemInMainHand, itemInMainHandType, heldSocket);
+      mythicDrops.getSessionManager().remove(player.getUniqueId(), HELD_SOCKET);
     } else {
-      LOGGER.fine("!heldSocket.containsKey(" + player.getName() + ")");
+      LOGGER.fine("heldSocket == null: player=" + player.getName());
       addHeldSocket(event, player, itemInMainHand);
     }
   }
 
-  private void addHeldSocket(PlayerInteractEvent event, final Player player, ItemStack itemInHand) {
+  private void addHeldSocket(PlayerInteractEvent event, Player player, ItemStack itemInHand) {
     if (!mythicDrops.getSockettingSettings().getSocketGemMaterials().contains(itemInHand.getType())) {
       LOGGER.fine("!socketGemMaterials.contains(itemInHand.getType())");
       return;
@@ -150,12 +152,11 @@ public final class SockettingListener implements Listener {
             new String[][]{})
     );
     HeldItem hg = new HeldItem(socketGem.getName(), itemInHand);
-    heldSocket.put(player.getName(), hg);
-    Bukkit.getScheduler().runTaskLaterAsynchronously(mythicDrops, () -> heldSocket.remove(player.getName()), 30 * 20L);
+    mythicDrops.getSessionManager().put(player.getUniqueId(), HELD_SOCKET, hg);
     event.setCancelled(true);
     event.setUseInteractedBlock(Event.Result.DENY);
     event.setUseItemInHand(Event.Result.DENY);
-    player.updateInventory();
+    mythicDrops.getInventoryUpdates().markDirty(player);
   }
 
   private String replaceArgs(String string, String[][] args) {
@@ -166,7 +167,8 @@ public final class SockettingListener implements Listener {
     return s;
   }
 
-  private void socketItem(PlayerInteractEvent event, Player player, ItemStack itemInHand, String itemType) {
+  private void socketItem(PlayerInteractEvent event, Player player, ItemStack itemInHand, String itemType,
+                          HeldItem heldSocket) {
     if (ItemUtil.isArmor(itemType) || ItemUtil.isTool(itemType)) {
       LOGGER.fine("ItemUtil.isArmor(itemType) || ItemUtil.isTool(itemType)");
       if (!itemInHand.hasItemMeta()) {
@@ -175,7 +177,6 @@ public final class SockettingListener implements Listener {
             mythicDrops.getConfigSettings().getFormattedLanguageString(
                 "command.socket-cannot-use", new String[][]{}));
         cancelDenyRemove(event, player);
-        player.updateInventory();
         return;
       }
       ItemMeta im = itemInHand.getItemMeta();
@@ -185,7 +186,6 @@ public final class SockettingListener implements Listener {
             mythicDrops.getConfigSettings().getFormattedLanguageString(
                 "command.socket-cannot-use", new String[][]{}));
         cancelDenyRemove(event, player);
-        player.updateInventory();
         return;
       }
       List<String> lore = new ArrayList<>(im.getLore());
@@ -199,11 +199,9 @@ public final class SockettingListener implements Listener {
             mythicDrops.getConfigSettings().getFormattedLanguageString(
                 "command.socket-cannot-use", new String[][]{}));
         cancelDenyRemove(event, player);
-        player.updateInventory();
         return;
       }
-      HeldItem heldSocket1 = heldSocket.get(player.getName());
-      String socketGemType = ChatColor.stripColor(heldSocket1.getName());
+      String socketGemType = ChatColor.stripColor(heldSocket.getName());
       SocketGem socketGem = SocketGemUtil.getSocketGemFromName(socketGemType);
       if (socketGem == null || !socketGemTypeMatchesItemStack(socketGem, itemInHand)) {
         LOGGER.fine("socketGem == null || !socketGemTypeMatchesItemStack()");
@@ -211,28 +209,25 @@ public final class SockettingListener implements Listener {
             mythicDrops.getConfigSettings().getFormattedLanguageString(
                 "command.socket-cannot-use", new String[][]{}));
         cancelDenyRemove(event, player);
-        player.updateInventory();
         return;
       }
 
-      if (!player.getInventory().contains(heldSocket1.getItemStack())) {
-        LOGGER.fine("socketItem() - !player.getInventory().contains(heldSocket1.getItemStack())");
+      if (!player.getInventory().contains(heldSocket.getItemStack())) {
+        LOGGER.fine("socketItem() - !player.getInventory().contains(heldSocket.getItemStack())");
         player.sendMessage(
             mythicDrops.getConfigSettings().getFormattedLanguageString("command.socket-do-not-have",
                 new String[][]{})
         );
         cancelDenyRemove(event, player);
-        player.updateInventory();
         return;
       }
 
-      if (itemInHand.getAmount() > heldSocket1.getItemStack().getAmount()) {
-        LOGGER.fine("itemInHand.getAmount() > heldSocket1.getItemStack().getAmount()");
+      if (itemInHand.getAmount() > heldSocket.getItemStack().getAmount()) {
+        LOGGER.fine("itemInHand.getAmount() > heldSocket.getItemStack().getAmount()");
         player.sendMessage(
             mythicDrops.getConfigSettings().getFormattedLanguageString(
                 "command.socket-do-not-have", new String[][]{}));
         cancelDenyRemove(event, player);
-        player.updateInventory();
         return;
       }
 
@@ -254,18 +249,16 @@ public final class SockettingListener implements Listener {
       im = loreItemStack(im, socketGem);
       im = enchantmentItemStack(im, socketGem);
 
-      int indexOfItem = player.getInventory().first(heldSocket1.getItemStack());
+      int indexOfItem = player.getInventory().first(heldSocket.getItemStack());
       ItemStack inInventory = player.getInventory().getItem(indexOfItem);
       inInventory.setAmount(inInventory.getAmount() - itemInHand.getAmount());
       player.getInventory().setItem(indexOfItem, inInventory);
-      player.updateInventory();
       itemInHand.setItemMeta(im);
       player.getEquipment().setItemInMainHand(itemInHand);
       player.sendMessage(
           mythicDrops.getConfigSettings().getFormattedLanguageString(
               "command.socket-success", new String[][]{}));
       cancelDenyRemove(event, player);
-      player.updateInventory();
     } else {
       LOGGER.fine(
           String.format("!ItemUtil.isArmor(\"%s\") && !ItemUtil.isTool(\"%s\")", itemType, itemType));
@@ -273,13 +266,12 @@ public final class SockettingListener implements Listener {
           mythicDrops.getConfigSettings().getFormattedLanguageString(
               "command.socket-cannot-use", new String[][]{}));
       cancelDenyRemove(event, player);
-      player.updateInventory();
     }
   }
 
   private void cancelDenyRemove(PlayerInteractEvent event, Player player) {
     cancelResults(event);
-    heldSocket.remove(player.getName());
+    mythicDrops.getSessionManager().remove(player.getUniqueId(), HELD_SOCKET);
   }
 
   private void cancelResults(PlayerInteractEvent event) {
@@ -287,7 +279,7 @@ public final class SockettingListener implements Listener {
     event.setCancelled(true);
     event.setUseInteractedBlock(Event.Result.DENY);
     event.setUseItemInHand(Event.Result.DENY);
-    event.getPlayer().updateInventory();
+    mythicDrops.getInventoryUpdates().markDirty(event.getPlayer());
   }
 
   private boolean socketGemTypeMatchesItemStack(SocketGem socketGem, ItemStack itemStack) {
@@ -0,0 +1,173 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.spawning;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.settings.CreatureSpawningSettings;
+import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
+
+/**
+ * Limits how often mobs in one chunk get MythicDrops equipment, with a token bucket per world, chunk and spawn reason.
+ * Once a bucket is empty, mobs spawning there simply get no item until it refills. Only used from the main thread.
+ */
+public final class ChunkSpawnLimiter {
+
+  private static final Logger LOGGER = MythicLoggerFactory.getLogger(ChunkSpawnLimiter.class);
+  private static final long SWEEP_PERIOD = 60000L;
+  private static final double MILLIS_PER_MINUTE = 60000D;
+  private static final int COORDINATE_BITS = 22;
+  private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+  private static final int REASON_BITS = 6;
+  private static final SpawnReason[] REASONS = SpawnReason.values();
+
+  private final Map<UUID, TokenBucketTable> tables = new HashMap<>();
+  private long lastSweep;
+
+  /**
+   * Takes a token for a mob spawning at the location for the reason.
+   *
+   * @param settings settings holding the budgets
+   * @param location where the mob is spawning
+   * @param reason why the mob is spawning
+   * @return if the mob may get an item
+   */
+  public boolean tryAcquire(CreatureSpawningSettings settings, Location location, SpawnReason reason) {
+    long now = System.currentTimeMillis();
+    if (now - lastSweep >= SWEEP_PERIOD) {
+      sweep(now);
+    }
+    TokenBucketTable table = tables.get(location.getWorld().getUID());
+    if (table == null) {
+      table = new TokenBucketTable(64);
+      tables.put(location.getWorld().getUID(), table);
+    }
+    double refillPerMilli = settings.getChunkLimiterRefillPerMinute(reason) / MILLIS_PER_MINUTE;
+    return table.tryAcquire(pack(location.getBlockX() >> 4, location.getBlockZ() >> 4, reason),
+        settings.getChunkLimiterCapacity(reason), refillPerMilli, now);
+  }
+
+  /**
+   * Lists every chunk and spawn reason whose budget is currently spent.
+   *
+   * @return throttled chunks
+   */
+  public List<Throttled> getThrottled() {
+    long now = System.currentTimeMillis();
+    List<Throttled> throttled = new ArrayList<>();
+    for (Map.Entry<UUID, TokenBucketTable> entry : tables.entrySet()) {
+      World world = Bukkit.getWorld(entry.getKey());
+      String worldName = world != null ? world.getName() : entry.getKey().toString();
+      entry.getValue().forEachThrottled(now, (key, denied) -> throttled.add(
+          new Throttled(worldName, unpackX(key), unpackZ(key), unpackReason(key), denied)));
+    }
+    return throttled;
+  }
+
+  public void clear() {
+    tables.clear();
+  }
+
+  private void sweep(long now) {
+    lastSweep = now;
+    int evicted = 0;
+    for (TokenBucketTable table : tables.values()) {
+      evicted += table.evictFull(now);
+    }
+    if (evicted > 0) {
+      LOGGER.fine("Evicted " + evicted + " refilled chunk budget(s)");
+    }
+  }
+
+  static long pack(int chunkX, int chunkZ, SpawnReason reason) {
+    return ((chunkX & COORDINATE_MASK) << (COORDINATE_BITS + REASON_BITS))
+        | ((chunkZ & COORDINATE_MASK) << REASON_BITS)
+        | reason.ordinal();
+  }
+
+  static int unpackX(long key) {
+    return signExtend(key >>> (COORDINATE_BITS + REASON_BITS));
+  }
+
+  static int unpackZ(long key) {
+    return signExtend(key >>> REASON_BITS);
+  }
+
+  static SpawnReason unpackReason(long key) {
+    return REASONS[(int) (key & ((1L << REASON_BITS) - 1))];
+  }
+
+  private static int signExtend(long value) {
+    int shift = 32 - COORDINATE_BITS;
+    return ((int) (value & COORDINATE_MASK)) << shift >> shift;
+  }
+
+  /**
+   * A chunk and spawn reason whose budget is spent.
+   */
+  public static final class Throttled {
+
+    private final String worldName;
+    private final int chunkX;
+    private final int chunkZ;
+    private final SpawnReason reason;
+    private final int denied;
+
+    private Throttled(String worldName, int chunkX, int chunkZ, SpawnReason reason, int denied) {
+      this.worldName = worldName;
+      this.chunkX = chunkX;
+      this.chunkZ = chunkZ;
+      this.reason = reason;
+      this.denied = denied;
+    }
+
+    public String getWorldName() {
+      return worldName;
+    }
+
+    public int getChunkX() {
+      return chunkX;
+    }
+
+    public int getChunkZ() {
+      return chunkZ;
+    }
+
+    public SpawnReason getReason() {
+      return reason;
+    }
+
+    public int getDenied() {
+      return denied;
+    }
+
+  }
+
+}
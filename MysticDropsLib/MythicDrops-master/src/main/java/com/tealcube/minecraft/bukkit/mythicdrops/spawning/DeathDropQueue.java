@@ -0,0 +1,195 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.spawning;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
+import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiPredicate;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Collects death drops over a tick and spawns them together on the next one. Identical stackable drops landing in the
+ * same two-block cell are merged into full stacks first, so a grinder killing dozens of mobs at once spawns a handful
+ * of item entities instead of one per drop.
+ */
+public final class DeathDropQueue {
+
+  private static final Logger LOGGER = MythicLoggerFactory.getLogger(DeathDropQueue.class);
+  private static final int CELL_SHIFT = 1;
+
+  private final MythicDropsPlugin plugin;
+  private final Map<Cell, Pile> piles = new LinkedHashMap<>();
+  private BukkitTask task;
+
+  public DeathDropQueue(MythicDropsPlugin plugin) {
+    this.plugin = plugin;
+  }
+
+  /**
+   * Queues an item to be dropped at the given location on the next tick.
+   *
+   * @param location where to drop the item
+   * @param itemStack item to drop; owned by the queue from now on
+   */
+  public void add(Location location, ItemStack itemStack) {
+    if (location == null || location.getWorld() == null || itemStack == null
+        || itemStack.getType() == Material.AIR || itemStack.getAmount() <= 0) {
+      return;
+    }
+    Cell cell = new Cell(location.getWorld().getUID(), location.getBlockX() >> CELL_SHIFT,
+        location.getBlockY() >> CELL_SHIFT, location.getBlockZ() >> CELL_SHIFT);
+    Pile pile = piles.get(cell);
+    if (pile == null) {
+      pile = new Pile(location.clone(), ItemStack::isSimilar);
+      piles.put(cell, pile);
+    }
+    pile.add(itemStack);
+    if (task == null) {
+      task = Bukkit.getScheduler().runTask(plugin, this::flush);
+    }
+  }
+
+  /**
+   * Spawns every queued drop now.
+   */
+  public void flush() {
+    task = null;
+    if (piles.isEmpty()) {
+      return;
+    }
+    int queued = 0;
+    int spawned = 0;
+    for (Pile pile : piles.values()) {
+      World world = pile.location.getWorld();
+      queued += pile.queued;
+      for (ItemStack itemStack : pile.stacks) {
+        world.dropItemNaturally(pile.location, itemStack);
+        spawned++;
+      }
+    }
+    piles.clear();
+    if (spawned < queued) {
+      LOGGER.fine("Merged " + queued + " death drops into " + spawned + " item(s)");
+    }
+  }
+
+  public void stop() {
+    if (task != null) {
+      task.cancel();
+      task = null;
+    }
+    flush();
+  }
+
+  static final class Pile {
+
+    private final Location location;
+    private final BiPredicate<ItemStack, ItemStack> similar;
+    private final List<ItemStack> stacks = new ArrayList<>();
+    private int queued;
+
+    Pile(Location location, BiPredicate<ItemStack, ItemStack> similar) {
+      this.location = location;
+      this.similar = similar;
+    }
+
+    void add(ItemStack itemStack) {
+      queued++;
+      int maxStackSize = itemStack.getMaxStackSize();
+      if (maxStackSize > 1) {
+        for (ItemStack existing : stacks) {
+          int space = maxStackSize - existing.getAmount();
+          if (space <= 0 || !similar.test(existing, itemStack)) {
+            continue;
+          }
+          int moved = Math.min(space, itemStack.getAmount());
+          existing.setAmount(existing.getAmount() + moved);
+          itemStack.setAmount(itemStack.getAmount() - moved);
+          if (itemStack.getAmount() <= 0) {
+            return;
+          }
+        }
+      }
+      stacks.add(itemStack);
+    }
+
+    List<ItemStack> getStacks() {
+      return stacks;
+    }
+
+    int getQueued() {
+      return queued;
+    }
+
+  }
+
+  private static final class Cell {
+
+    private final UUID world;
+    private final int x;
+    private final int y;
+    private final int z;
+
+    private Cell(UUID world, int x, int y, int z) {
+      this.world = world;
+      this.x = x;
+      this.y = y;
+      this.z = z;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = world.hashCode();
+      result = 31 * result + x;
+      result = 31 * result + y;
+      result = 31 * result + z;
+      return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Cell)) {
+        return false;
+      }
+
+      Cell that = (Cell) o;
+
+      return x == that.x && y == that.y && z == that.z && world.equals(that.world);
+    }
+
+  }
+
+}
@@ -29,13 +29,15 @@ import com.tealcube.minecraft.bukkit.mythicdrops.api.names.NameType;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
 import com.tealcube.minecraft.bukkit.mythicdrops.events.EntityNameEvent;
 import com.tealcube.minecraft.bukkit.mythicdrops.events.EntitySpawningEvent;
-import com.tealcube.minecraft.bukkit.mythicdrops.identification.IdentityTome;
-import com.tealcube.minecraft.bukkit.mythicdrops.identification.UnidentifiedItem;
 import com.tealcube.minecraft.bukkit.mythicdrops.items.CustomItemMap;
+import com.tealcube.minecraft.bukkit.mythicdrops.items.DropSeed;
+import com.tealcube.minecraft.bukkit.mythicdrops.items.DropSpec;
+import com.tealcube.minecraft.bukkit.mythicdrops.items.ItemPrototypes;
+import com.tealcube.minecraft.bukkit.mythicdrops.items.MythicDropBuilder;
 import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
 import com.tealcube.minecraft.bukkit.mythicdrops.names.NameMap;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
 import com.tealcube.minecraft.bukkit.mythicdrops.socketting.SocketGem;
-import com.tealcube.minecraft.bukkit.mythicdrops.socketting.SocketItem;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.CustomItemUtil;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.EntityUtil;
 import com.tealcube.minecraft.bukkit.mythicdrops.utils.ItemStackUtil;
@@ -48,11 +50,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 import mkremins.fanciful.FancyMessage;
-import org.apache.commons.lang3.RandomUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Monster;
@@ -84,8 +84,7 @@ public final class ItemSpawningListener implements Listener {
     if (!(event.getEntity() instanceof Monster) || event.isCancelled()) {
       return;
     }
-    if (!mythicDrops.getConfigSettings().getEnabledWorlds().contains(event.getEntity().getWorld()
-        .getName())) {
+    if (!mythicDrops.getWorldSpawnPolicies().get(event.getEntity().getWorld()).isEnabled()) {
       LOGGER.info("cancelling item spawn because of multiworld support");
       return;
     }
@@ -131,29 +130,15 @@ public final class ItemSpawningListener implements Listener {
     if (!(event.getEntity() instanceof Monster) || event.isCancelled()) {
       return;
     }
-    if (!mythicDrops.getConfigSettings().getEnabledWorlds().contains(event.getEntity().getWorld().getName())) {
+    WorldSpawnPolicy policy = mythicDrops.getWorldSpawnPolicies().get(event.getEntity().getWorld());
+    if (!policy.isEnabled()) {
       LOGGER.info("cancelling item spawn because of multiworld support");
       return;
     }
-    if (event.getSpawnReason() == CreatureSpawnEvent.SpawnReason.REINFORCEMENTS
-        && mythicDrops.getCreatureSpawningSettings().isPreventReinforcements()) {
+    if (!policy.isAllowed(event.getSpawnReason())) {
       return;
     }
-    if (event.getSpawnReason() == CreatureSpawnEvent.SpawnReason.SPAWNER
-        && mythicDrops.getCreatureSpawningSettings().isPreventSpawner()) {
-      return;
-    }
-    if (event.getSpawnReason() == CreatureSpawnEvent.SpawnReason.SPAWNER_EGG
-        && mythicDrops.getCreatureSpawningSettings().isPreventSpawnEgg()) {
-      return;
-    }
-    if (event.getSpawnReason() == CreatureSpawnEvent.SpawnReason.CUSTOM &&
-        mythicDrops.getCreatureSpawningSettings().isPreventSpawner()) {
-      return;
-    }
-    if (mythicDrops.getCreatureSpawningSettings()
-        .getSpawnHeightLimit(event.getEntity().getWorld().getName()) <= event
-        .getEntity().getLocation().getY()) {
+    if (policy.getHeightLimit() <= event.getEntity().getLocation().getY()) {
       return;
     }
     if (!mythicDrops.getConfigSettings().isDisplayMobEquipment()) {
@@ -161,11 +146,10 @@ public final class ItemSpawningListener implements Listener {
       return;
     }
 
-    // Start off with the random item chance. If the mob doesn't pass that, it gets no items.
-    double chanceToGetDrop = mythicDrops.getConfigSettings().getItemChance() * mythicDrops
-        .getCreatureSpawningSettings().getEntityTypeChanceToSpawn(event.getEntity().getType());
-    if (RandomUtils.nextDouble(0D, 1D) >= chanceToGetDrop) {
-      LOGGER.info("double is <= chanceToGetDrop: " + chanceToGetDrop);
+    // Roll what the mob gets. If the outcome is nothing, it gets no items.
+    LootTable.Outcome outcome = policy.getLootTable(event.getEntity().getType()).roll(RandomSources.current());
+    if (outcome == LootTable.Outcome.NONE) {
+      LOGGER.info("outcome is NONE for type: " + event.getEntity().getType());
       return;
     }
 
@@ -176,54 +160,98 @@ public final class ItemSpawningListener implements Listener {
       return;
     }
 
-    // Create the item for the mob.
-    ItemStack itemStack = MythicDropsPlugin.getNewDropBuilder().withItemGenerationReason(
-        ItemGenerationReason.MONSTER_SPAWN).useDurability(false).withTier(tier).build();
-
-    if (itemStack == null) {
+    // Farms can spawn hundreds of mobs in one chunk, so item generation there is rationed.
+    if (mythicDrops.getCreatureSpawningSettings().isChunkLimiterEnabled() && !mythicDrops.getChunkSpawnLimiter()
+        .tryAcquire(mythicDrops.getCreatureSpawningSettings(), event.getLocation(), event.getSpawnReason())) {
+      LOGGER.fine("chunk budget spent for " + event.getSpawnReason());
       return;
     }
 
-    // Begin to check for socket gem, identity tome, and unidentified.
-    double customItemChance = mythicDrops.getConfigSettings().getCustomItemChance();
-    double socketGemChance = mythicDrops.getConfigSettings().getSocketGemChance();
-    double unidentifiedItemChance = mythicDrops.getConfigSettings().getUnidentifiedItemChance();
-    double identityTomeChance = mythicDrops.getConfigSettings().getIdentityTomeChance();
-    boolean sockettingEnabled = mythicDrops.getConfigSettings().isSockettingEnabled();
-    boolean identifyingEnabled = mythicDrops.getConfigSettings().isIdentifyingEnabled();
-
-    if (RandomUtils.nextDouble(0D, 1D) <= customItemChance) {
-      CustomItem customItem = CustomItemMap.getInstance().getRandomWithChance();
-      if (customItem != null) {
-        itemStack = customItem.toItemStack();
+    // Eager mode hands out a pre-rolled tier item from the drop pool when one is ready. A pooled item was rolled on
+    // its own, so no seed is rolled for it. The pool is never used while a seeded random source is in use.
+    boolean lazy = mythicDrops.getConfigSettings().isLazyMobEquipment();
+    ItemStack itemStack = outcome == LootTable.Outcome.TIER_ITEM && !lazy ? takePooled(tier, false) : null;
+    DropSeed dropSeed = null;
+    if (itemStack == null) {
+      // Roll the material and seed for the mob's item. A tier that has no material gives the mob nothing at all,
+      // even if the outcome would have replaced the item.
+      dropSeed = DropSeed.roll(tier);
+      if (dropSeed == null) {
+        return;
       }
-    } else if (sockettingEnabled && RandomUtils.nextDouble(0D, 1D) <= socketGemChance) {
-      SocketGem socketGem = SocketGemUtil.getRandomSocketGemWithChance();
-      Material material = SocketGemUtil.getRandomSocketGemMaterial();
-      if (socketGem != null && material != null) {
-        itemStack = new SocketItem(material, socketGem);
+      itemStack = createSpecialItem(outcome, dropSeed.getMaterial());
+
+      // The tier item is only built when it is what the mob ends up with. Eager mode builds it now, lazy mode once a
+      // player gets close or the mob dies; both build it from this seed.
+      if (itemStack == null && !lazy) {
+        itemStack = dropSeed.materialize(ItemGenerationReason.MONSTER_SPAWN, false);
+        if (itemStack == null) {
+          return;
+        }
       }
-    } else if (identifyingEnabled && RandomUtils.nextDouble(0D, 1D) <= unidentifiedItemChance) {
-      Material material = itemStack.getType();
-      itemStack = new UnidentifiedItem(material);
-    } else if (identifyingEnabled && RandomUtils.nextDouble(0D, 1D) <= identityTomeChance) {
-      itemStack = new IdentityTome();
     }
 
     EntitySpawningEvent ese = new EntitySpawningEvent(event.getEntity());
     Bukkit.getPluginManager().callEvent(ese);
 
-    EntityUtil.equipEntity(event.getEntity(), itemStack);
+    equip(event.getEntity(), itemStack, dropSeed);
 
-    while (RandomUtils.nextDouble(0D, 1D) <= mythicDrops.getConfigSettings().getChainItemChance()) {
-      itemStack = MythicDropsPlugin.getNewDropBuilder().withItemGenerationReason(ItemGenerationReason.MONSTER_SPAWN)
-          .useDurability(false).withTier(tier).build();
-      EntityUtil.equipEntity(event.getEntity(), itemStack);
+    while (RandomSources.current().nextDouble() <= mythicDrops.getConfigSettings().getChainItemChance()) {
+      ItemStack chainedItem = lazy ? null : takePooled(tier, false);
+      if (chainedItem != null) {
+        equip(event.getEntity(), chainedItem, null);
+        continue;
+      }
+      DropSeed chainedSeed = DropSeed.roll(tier);
+      if (chainedSeed == null) {
+        continue;
+      }
+      equip(event.getEntity(), lazy ? null : chainedSeed.materialize(ItemGenerationReason.MONSTER_SPAWN, false),
+          chainedSeed);
     }
 
     nameMobs(event.getEntity());
   }
 
+  // Creates the item for every outcome other than the tier item itself, or null if there is nothing to replace the tier
+  // item with.
+  private ItemStack createSpecialItem(LootTable.Outcome outcome, Material itemMaterial) {
+    switch (outcome) {
+      case CUSTOM_ITEM:
+        CustomItem customItem = CustomItemMap.getInstance().getRandomWithChance();
+        return customItem != null ? customItem.toItemStack() : null;
+      case SOCKET_GEM:
+        SocketGem socketGem = SocketGemUtil.getRandomSocketGemWithChance();
+        Material material = SocketGemUtil.getRandomSocketGemMaterial();
+        return socketGem != null && material != null ? ItemPrototypes.getInstance().socketItem(socketGem, material)
+            : null;
+      case UNIDENTIFIED_ITEM:
+        return itemMaterial != null ? ItemPrototypes.getInstance().unidentifiedItem(itemMaterial) : null;
+      case IDENTITY_TOME:
+        return ItemPrototypes.getInstance().identityTome();
+      default:
+        return null;
+    }
+  }
+
+  private void equip(LivingEntity livingEntity, ItemStack itemStack, DropSeed dropSeed) {
+    if (itemStack != null) {
+      EntityUtil.equipEntity(livingEntity, itemStack);
+    } else if (dropSeed != null && mythicDrops.getConfigSettings().isLazyMobEquipment()) {
+      mythicDrops.getLazyEquipment().equip(livingEntity, dropSeed);
+    }
+  }
+
+  private ItemStack takePooled(Tier tier, boolean useDurability) {
+    DropSpec spec = mythicDrops.getDropPool().take(tier, ItemGenerationReason.MONSTER_SPAWN, useDurability);
+    if (spec == null) {
+      return null;
+    }
+    MythicDropBuilder builder = new MythicDropBuilder(mythicDrops);
+    builder.withTier(tier);
+    return builder.build(spec);
+  }
+
   private Tier getTierForEntity(Entity entity) {
     Collection<Tier> allowableTiers = mythicDrops.getCreatureSpawningSettings()
         .getEntityTypeTiers(entity.getType());
@@ -255,8 +283,8 @@ public final class ItemSpawningListener implements Listener {
         || event.getEntity().getLastDamageCause().isCancelled()) {
       return;
     }
-    if (!mythicDrops.getConfigSettings().getEnabledWorlds().contains(event.getEntity().getWorld()
-        .getName())) {
+    WorldSpawnPolicy policy = mythicDrops.getWorldSpawnPolicies().get(event.getEntity().getWorld());
+    if (!policy.isEnabled()) {
       return;
     }
 
@@ -265,17 +293,17 @@ public final class ItemSpawningListener implements Listener {
     }
 
     if (mythicDrops.getConfigSettings().isDisplayMobEquipment()) {
+      mythicDrops.getLazyEquipment().materialize(event.getEntity());
       handleEntityDyingWithGive(event);
     } else {
-      handleEntityDyingWithoutGive(event);
+      handleEntityDyingWithoutGive(event, policy);
     }
   }
 
-  private void handleEntityDyingWithoutGive(EntityDeathEvent event) {
-    // Start off with the random item chance. If the mob doesn't pass that, it gets no items.
-    double chanceToGetDrop = mythicDrops.getConfigSettings().getItemChance() * mythicDrops
-        .getCreatureSpawningSettings().getEntityTypeChanceToSpawn(event.getEntity().getType());
-    if (RandomUtils.nextDouble(0D, 1D) > chanceToGetDrop) {
+  private void handleEntityDyingWithoutGive(EntityDeathEvent event, WorldSpawnPolicy policy) {
+    // Roll what the mob drops. If the outcome is nothing, it drops no items.
+    LootTable.Outcome outcome = policy.getLootTable(event.getEntity().getType()).roll(RandomSources.current());
+    if (outcome == LootTable.Outcome.NONE) {
       return;
     }
 
@@ -285,19 +313,9 @@ public final class ItemSpawningListener implements Listener {
       return;
     }
 
-    // Create the item for the mob.
-    ItemStack itemStack = MythicDropsPlugin.getNewDropBuilder().withItemGenerationReason(
-        ItemGenerationReason.MONSTER_SPAWN).useDurability(true).withTier(tier).build();
-
-    // Begin to check for socket gem, identity tome, and unidentified.
-    double customItemChance = mythicDrops.getConfigSettings().getCustomItemChance();
-    double socketGemChance = mythicDrops.getConfigSettings().getSocketGemChance();
-    double unidentifiedItemChance = mythicDrops.getConfigSettings().getUnidentifiedItemChance();
-    double identityTomeChance = mythicDrops.getConfigSettings().getIdentityTomeChance();
-    boolean sockettingEnabled = mythicDrops.getConfigSettings().isSockettingEnabled();
-    boolean identifyingEnabled = mythicDrops.getConfigSettings().isIdentifyingEnabled();
-
-    if (RandomUtils.nextDouble(0D, 1D) <= customItemChance) {
+    // Custom items, socket gems and identity tomes replace the tier item, so it is only built when it is needed.
+    ItemStack itemStack = null;
+    if (outcome == LootTable.Outcome.CUSTOM_ITEM) {
       CustomItem ci = CustomItemMap.getInstance().getRandomWithChance();
       if (ci != null) {
         itemStack = ci.toItemStack();
@@ -305,19 +323,22 @@ public final class ItemSpawningListener implements Listener {
           broadcastMessage(event.getEntity().getKiller(), itemStack);
         }
       }
-    } else if (sockettingEnabled && RandomUtils.nextDouble(0D, 1D) <= socketGemChance) {
-      SocketGem socketGem = SocketGemUtil.getRandomSocketGemWithChance();
-      Material material = SocketGemUtil.getRandomSocketGemMaterial();
-      if (socketGem != null && material != null) {
-        itemStack = new SocketItem(material, socketGem);
+    } else if (outcome != LootTable.Outcome.UNIDENTIFIED_ITEM) {
+      itemStack = createSpecialItem(outcome, null);
+    }
+
+    if (itemStack == null) {
+      // Create the item for the mob, preferring a pre-rolled one from the drop pool.
+      itemStack = takePooled(tier, true);
+      if (itemStack == null) {
+        itemStack = MythicDropsPlugin.getNewDropBuilder().withItemGenerationReason(
+            ItemGenerationReason.MONSTER_SPAWN).useDurability(true).withTier(tier).build();
+      }
+      if (itemStack != null && outcome == LootTable.Outcome.UNIDENTIFIED_ITEM) {
+        itemStack = ItemPrototypes.getInstance().unidentifiedItem(itemStack.getType());
+      } else if (itemStack != null && outcome == LootTable.Outcome.TIER_ITEM && tier.isBroadcastOnFind()) {
+        broadcastMessage(event.getEntity().getKiller(), itemStack);
       }
-    } else if (identifyingEnabled && RandomUtils.nextDouble(0D, 1D) <= unidentifiedItemChance) {
-      Material material = itemStack.getType();
-      itemStack = new UnidentifiedItem(material);
-    } else if (identifyingEnabled && RandomUtils.nextDouble(0D, 1D) <= identityTomeChance) {
-      itemStack = new IdentityTome();
-    } else if (tier.isBroadcastOnFind()) {
-      broadcastMessage(event.getEntity().getKiller(), itemStack);
     }
 
     event.getEntity().getEquipment().setBootsDropChance(0.0F);
@@ -326,13 +347,12 @@ public final class ItemSpawningListener implements Listener {
     event.getEntity().getEquipment().setHelmetDropChance(0.0F);
     event.getEntity().getEquipment().setItemInMainHandDropChance(0.0F);
 
-    World w = event.getEntity().getWorld();
-    Location l = event.getEntity().getLocation();
-    w.dropItemNaturally(l, itemStack);
+    dropItem(event.getEntity().getLocation(), itemStack);
   }
 
   private void handleEntityDyingWithGive(EntityDeathEvent event) {
     List<ItemStack> newDrops = new ArrayList<>();
+    ItemPrototypes prototypes = ItemPrototypes.getInstance();
 
     ItemStack[] array = new ItemStack[6];
     System.arraycopy(event.getEntity().getEquipment().getArmorContents(), 0, array, 0, 4);
@@ -360,21 +380,19 @@ public final class ItemSpawningListener implements Listener {
       }
       SocketGem socketGem = SocketGemUtil.getSocketGemFromItemStack(is);
       if (socketGem != null) {
-        newDrops.add(new SocketItem(is.getType(), socketGem));
+        newDrops.add(prototypes.socketItem(socketGem, is.getType()));
         continue;
       }
-      IdentityTome identityTome = new IdentityTome();
-      if (is.isSimilar(identityTome)) {
-        newDrops.add(identityTome);
+      if (prototypes.isIdentityTome(is)) {
+        newDrops.add(prototypes.identityTome());
         continue;
       }
-      UnidentifiedItem unidentifiedItem = new UnidentifiedItem(is.getType());
-      if (is.isSimilar(unidentifiedItem)) {
-        newDrops.add(unidentifiedItem);
+      if (prototypes.isUnidentifiedItem(is)) {
+        newDrops.add(prototypes.unidentifiedItem(is.getType()));
         continue;
       }
       Tier t = TierUtil.getTierFromItemStack(is);
-      if (t != null && RandomUtils.nextDouble(0D, 1D) < t.getDropChance()) {
+      if (t != null && RandomSources.current().nextDouble() < t.getDropChance()) {
         ItemStack nis = is.getData().toItemStack(1);
         nis.setItemMeta(is.getItemMeta());
         nis.setDurability(ItemStackUtil.getDurabilityForMaterial(is.getType(),
@@ -389,13 +407,23 @@ public final class ItemSpawningListener implements Listener {
       }
     }
 
+    Location l = event.getEntity().getLocation();
     for (ItemStack itemStack : newDrops) {
       if (itemStack.getType() == Material.AIR) {
         continue;
       }
-      World w = event.getEntity().getWorld();
-      Location l = event.getEntity().getLocation();
-      w.dropItemNaturally(l, itemStack);
+      dropItem(l, itemStack);
+    }
+  }
+
+  private void dropItem(Location location, ItemStack itemStack) {
+    if (itemStack == null) {
+      return;
+    }
+    if (mythicDrops.getConfigSettings().isMergeDeathDrops()) {
+      mythicDrops.getDeathDropQueue().add(location, itemStack);
+    } else {
+      location.getWorld().dropItemNaturally(location, itemStack);
     }
   }
 
@@ -0,0 +1,296 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.spawning;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.items.ItemGenerationReason;
+import com.tealcube.minecraft.bukkit.mythicdrops.events.EntityEquipEvent;
+import com.tealcube.minecraft.bukkit.mythicdrops.items.DropSeed;
+import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
+import com.tealcube.minecraft.bukkit.mythicdrops.utils.EntityUtil;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Tracks mobs wearing placeholder equipment and swaps in the real items once a player comes within range or the mob
+ * dies. Each placeholder carries its {@link DropSeed} in a hidden lore line, so it survives chunk unloads and restarts;
+ * mobs are tracked again when their chunk loads. Only touched from the main thread.
+ */
+public final class LazyEquipment implements Listener {
+
+  private static final Logger LOGGER = MythicLoggerFactory.getLogger(LazyEquipment.class);
+  private static final EquipmentSlot[] SLOTS = {EquipmentSlot.HAND, EquipmentSlot.OFF_HAND, EquipmentSlot.FEET,
+      EquipmentSlot.LEGS, EquipmentSlot.CHEST, EquipmentSlot.HEAD};
+  private static final long CHECK_PERIOD = 20L;
+  private static final String PLACEHOLDER_PREFIX = hide("MythicDrops:lazy:");
+
+  private final MythicDropsPlugin plugin;
+  private final Set<LivingEntity> pending = Collections.newSetFromMap(new WeakHashMap<>());
+  private BukkitTask task;
+
+  public LazyEquipment(MythicDropsPlugin plugin) {
+    this.plugin = plugin;
+  }
+
+  /**
+   * Starts checking for nearby players, picking up every mob in the loaded chunks that still wears a placeholder.
+   */
+  public void start() {
+    stop();
+    for (World world : Bukkit.getWorlds()) {
+      for (Chunk chunk : world.getLoadedChunks()) {
+        track(chunk);
+      }
+    }
+    task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, CHECK_PERIOD, CHECK_PERIOD);
+  }
+
+  public void stop() {
+    if (task != null) {
+      task.cancel();
+      task = null;
+    }
+  }
+
+  public void clear() {
+    pending.clear();
+  }
+
+  public int size() {
+    return pending.size();
+  }
+
+  /**
+   * Equips the entity with a placeholder of the seed's material that carries the seed, so the real item can be built
+   * later. No {@link EntityEquipEvent} is called for the placeholder; it is called for the real item instead.
+   *
+   * @param livingEntity entity to equip
+   * @param dropSeed seed to build from later
+   * @return whether the placeholder was equipped
+   */
+  public boolean equip(LivingEntity livingEntity, DropSeed dropSeed) {
+    ItemStack placeholder = new ItemStack(dropSeed.getMaterial());
+    ItemMeta itemMeta = Bukkit.getItemFactory().getItemMeta(dropSeed.getMaterial());
+    if (itemMeta == null) {
+      return false;
+    }
+    itemMeta.setLore(Collections.singletonList(PLACEHOLDER_PREFIX + hide(dropSeed.serialize())));
+    placeholder.setItemMeta(itemMeta);
+    if (!EntityUtil.equipEntityWithoutEvent(livingEntity, placeholder, 0.0)) {
+      return false;
+    }
+    pending.add(livingEntity);
+    return true;
+  }
+
+  /**
+   * Builds and equips every placeholder the entity wears, calling an {@link EntityEquipEvent} for each real item. A
+   * placeholder whose item cannot be built, or whose event is cancelled, is removed so the mob never keeps it.
+   *
+   * @param livingEntity entity to materialize
+   */
+  public void materialize(LivingEntity livingEntity) {
+    pending.remove(livingEntity);
+    EntityEquipment equipment = livingEntity.getEquipment();
+    if (equipment == null) {
+      return;
+    }
+    for (EquipmentSlot slot : SLOTS) {
+      DropSeed dropSeed = readPlaceholder(getItem(equipment, slot));
+      if (dropSeed == null) {
+        continue;
+      }
+      ItemStack itemStack = dropSeed.materialize(ItemGenerationReason.MONSTER_SPAWN, false);
+      if (itemStack == null) {
+        LOGGER.fine("Unable to materialize " + dropSeed.serialize() + " for " + livingEntity.getType());
+        setItem(equipment, slot, null);
+        continue;
+      }
+      EntityEquipEvent entityEquipEvent = new EntityEquipEvent(itemStack, livingEntity);
+      Bukkit.getPluginManager().callEvent(entityEquipEvent);
+      setItem(equipment, slot, entityEquipEvent.isCancelled() ? null : entityEquipEvent.getItemStack());
+    }
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onChunkLoad(ChunkLoadEvent event) {
+    if (!event.isNewChunk()) {
+      track(event.getChunk());
+    }
+  }
+
+  private void track(Chunk chunk) {
+    for (Entity entity : chunk.getEntities()) {
+      if (!(entity instanceof LivingEntity) || entity instanceof Player) {
+        continue;
+      }
+      if (isWearingPlaceholder((LivingEntity) entity)) {
+        pending.add((LivingEntity) entity);
+      }
+    }
+  }
+
+  private void tick() {
+    if (pending.isEmpty()) {
+      return;
+    }
+    double range = plugin.getConfigSettings().getLazyMobEquipmentRange();
+    double rangeSquared = range * range;
+    List<LivingEntity> ready = new ArrayList<>();
+    for (Iterator<LivingEntity> iterator = pending.iterator(); iterator.hasNext(); ) {
+      LivingEntity livingEntity = iterator.next();
+      // unloaded mobs keep their placeholders and are tracked again when their chunk loads
+      if (!livingEntity.isValid()) {
+        iterator.remove();
+        continue;
+      }
+      if (isPlayerNear(livingEntity.getLocation(), rangeSquared)) {
+        ready.add(livingEntity);
+      }
+    }
+    for (LivingEntity livingEntity : ready) {
+      materialize(livingEntity);
+    }
+    if (!ready.isEmpty()) {
+      LOGGER.fine("Materialized equipment for " + ready.size() + " mob(s)");
+    }
+  }
+
+  private static boolean isPlayerNear(Location location, double rangeSquared) {
+    for (Player player : location.getWorld().getPlayers()) {
+      if (player.getLocation().distanceSquared(location) <= rangeSquared) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isWearingPlaceholder(LivingEntity livingEntity) {
+    EntityEquipment equipment = livingEntity.getEquipment();
+    if (equipment == null) {
+      return false;
+    }
+    for (EquipmentSlot slot : SLOTS) {
+      if (getPlaceholderTag(getItem(equipment, slot)) != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static DropSeed readPlaceholder(ItemStack itemStack) {
+    String tag = getPlaceholderTag(itemStack);
+    return tag != null ? DropSeed.deserialize(reveal(tag.substring(PLACEHOLDER_PREFIX.length()))) : null;
+  }
+
+  private static String getPlaceholderTag(ItemStack itemStack) {
+    if (itemStack == null || !itemStack.hasItemMeta()) {
+      return null;
+    }
+    ItemMeta itemMeta = itemStack.getItemMeta();
+    if (!itemMeta.hasLore() || itemMeta.getLore().size() != 1) {
+      return null;
+    }
+    String line = itemMeta.getLore().get(0);
+    return line.startsWith(PLACEHOLDER_PREFIX) ? line : null;
+  }
+
+  // every character behind a colour code, so the line renders as nothing if a client ever shows it
+  static String hide(String string) {
+    StringBuilder sb = new StringBuilder(string.length() * 2);
+    for (int i = 0; i < string.length(); i++) {
+      sb.append(ChatColor.COLOR_CHAR).append(string.charAt(i));
+    }
+    return sb.toString();
+  }
+
+  static String reveal(String string) {
+    StringBuilder sb = new StringBuilder(string.length() / 2);
+    for (int i = 1; i < string.length(); i += 2) {
+      sb.append(string.charAt(i));
+    }
+    return sb.toString();
+  }
+
+  private static ItemStack getItem(EntityEquipment equipment, EquipmentSlot slot) {
+    switch (slot) {
+      case HAND:
+        return equipment.getItemInMainHand();
+      case OFF_HAND:
+        return equipment.getItemInOffHand();
+      case FEET:
+        return equipment.getBoots();
+      case LEGS:
+        return equipment.getLeggings();
+      case CHEST:
+        return equipment.getChestplate();
+      default:
+        return equipment.getHelmet();
+    }
+  }
+
+  private static void setItem(EntityEquipment equipment, EquipmentSlot slot, ItemStack itemStack) {
+    switch (slot) {
+      case HAND:
+        equipment.setItemInMainHand(itemStack);
+        break;
+      case OFF_HAND:
+        equipment.setItemInOffHand(itemStack);
+        break;
+      case FEET:
+        equipment.setBoots(itemStack);
+        break;
+      case LEGS:
+        equipment.setLeggings(itemStack);
+        break;
+      case CHEST:
+        equipment.setChestplate(itemStack);
+        break;
+      default:
+        equipment.setHelmet(itemStack);
+        break;
+    }
+  }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.spawning;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.random.RandomSource;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * What a single mob drops or spawns with, worked out ahead of time from the item, custom item, socket gem,
+ * unidentified item and identity tome chances. Rolling a table takes one random draw and a binary search instead of
+ * the chain of rolls those chances used to be checked with, and gives each outcome exactly the same probability as
+ * that chain: the custom item chance is checked first, the socket gem chance only if that failed, and so on.
+ */
+public final class LootTable {
+
+  /**
+   * Table that never drops anything.
+   */
+  public static final LootTable EMPTY = compile(0D, 0D, 0D, 0D, 0D);
+
+  private final Outcome[] outcomes;
+  private final double[] bounds;
+
+  private LootTable(Outcome[] outcomes, double[] bounds) {
+    this.outcomes = outcomes;
+    this.bounds = bounds;
+  }
+
+  /**
+   * Compiles a table from the chances as they are checked one after the other. Chances outside of 0 to 1 are clamped,
+   * and a disabled feature should be given a chance of 0.
+   *
+   * @param itemChance             chance of getting anything at all
+   * @param customItemChance       chance that the drop is a custom item
+   * @param socketGemChance        chance that a drop that is not a custom item is a socket gem
+   * @param unidentifiedItemChance chance that a drop that is neither of the above is unidentified
+   * @param identityTomeChance     chance that a drop that is none of the above is an identity tome
+   * @return compiled table
+   */
+  public static LootTable compile(double itemChance, double customItemChance, double socketGemChance,
+                                  double unidentifiedItemChance, double identityTomeChance) {
+    double[] weights = new double[Outcome.values().length];
+    double remaining = clamp(itemChance);
+    weights[Outcome.NONE.ordinal()] = 1D - remaining;
+    weights[Outcome.CUSTOM_ITEM.ordinal()] = remaining * clamp(customItemChance);
+    remaining -= weights[Outcome.CUSTOM_ITEM.ordinal()];
+    weights[Outcome.SOCKET_GEM.ordinal()] = remaining * clamp(socketGemChance);
+    remaining -= weights[Outcome.SOCKET_GEM.ordinal()];
+    weights[Outcome.UNIDENTIFIED_ITEM.ordinal()] = remaining * clamp(unidentifiedItemChance);
+    remaining -= weights[Outcome.UNIDENTIFIED_ITEM.ordinal()];
+    weights[Outcome.IDENTITY_TOME.ordinal()] = remaining * clamp(identityTomeChance);
+    remaining -= weights[Outcome.IDENTITY_TOME.ordinal()];
+    weights[Outcome.TIER_ITEM.ordinal()] = remaining;
+
+    // outcomes that cannot happen are left out so that rounding can never land a draw on them
+    List<Outcome> outcomes = new ArrayList<>();
+    List<Double> bounds = new ArrayList<>();
+    double total = 0D;
+    for (Outcome outcome : Outcome.values()) {
+      double weight = weights[outcome.ordinal()];
+      if (weight <= 0D) {
+        continue;
+      }
+      total += weight;
+      outcomes.add(outcome);
+      bounds.add(total);
+    }
+    double[] boundArray = new double[bounds.size()];
+    for (int i = 0; i < boundArray.length; i++) {
+      boundArray[i] = bounds.get(i);
+    }
+    // the last bound has to catch every draw below 1, whatever the rounding above came to
+    boundArray[boundArray.length - 1] = Double.POSITIVE_INFINITY;
+    return new LootTable(outcomes.toArray(new Outcome[outcomes.size()]), boundArray);
+  }
+
+  private static double clamp(double chance) {
+    return Math.min(Math.max(chance, 0D), 1D);
+  }
+
+  /**
+   * Rolls an outcome with a single draw from the given source.
+   *
+   * @param randomSource source to draw from
+   * @return outcome
+   */
+  public Outcome roll(RandomSource randomSource) {
+    Validate.notNull(randomSource, "RandomSource cannot be null");
+    return lookup(randomSource.nextDouble());
+  }
+
+  /**
+   * Gets the outcome for a draw between 0 (inclusive) and 1 (exclusive).
+   *
+   * @param draw draw
+   * @return outcome
+   */
+  public Outcome lookup(double draw) {
+    int low = 0;
+    int high = bounds.length - 1;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (draw < bounds[middle]) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return outcomes[low];
+  }
+
+  /**
+   * Gets the probability of the given outcome.
+   *
+   * @param outcome outcome
+   * @return probability between 0 and 1
+   */
+  public double getChance(Outcome outcome) {
+    for (int i = 0; i < outcomes.length; i++) {
+      if (outcomes[i] == outcome) {
+        double lower = i == 0 ? 0D : bounds[i - 1];
+        double upper = i == outcomes.length - 1 ? 1D : bounds[i];
+        return upper - lower;
+      }
+    }
+    return 0D;
+  }
+
+  /**
+   * Everything a mob can end up with.
+   */
+  public enum Outcome {
+    NONE,
+    TIER_ITEM,
+    CUSTOM_ITEM,
+    SOCKET_GEM,
+    UNIDENTIFIED_ITEM,
+    IDENTITY_TOME
+  }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.spawning;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.settings.ConfigSettings;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.settings.CreatureSpawningSettings;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.Validate;
+import org.bukkit.entity.EntityType;
+
+/**
+ * An extension of {@link ConcurrentHashMap} holding the compiled {@link LootTable} for each {@link EntityType}.
+ */
+public final class LootTableMap extends ConcurrentHashMap<EntityType, LootTable> {
+
+  private static final LootTableMap _INSTANCE = new LootTableMap();
+
+  private LootTableMap() {
+    // do nothing
+  }
+
+  /**
+   * Gets the instance of LootTableMap running on the server.
+   *
+   * @return instance running on the server
+   */
+  public static LootTableMap getInstance() {
+    return _INSTANCE;
+  }
+
+  /**
+   * Throws away any existing tables and compiles one for every entity type from the given settings.
+   *
+   * @param configSettings           settings holding the item, custom item, socket gem and identifying chances
+   * @param creatureSpawningSettings settings holding the chance for each entity type
+   */
+  public void compile(ConfigSettings configSettings, CreatureSpawningSettings creatureSpawningSettings) {
+    Validate.notNull(configSettings, "ConfigSettings cannot be null");
+    Validate.notNull(creatureSpawningSettings, "CreatureSpawningSettings cannot be null");
+    clear();
+    double socketGemChance = configSettings.isSockettingEnabled() ? configSettings.getSocketGemChance() : 0D;
+    double unidentifiedItemChance = configSettings.isIdentifyingEnabled()
+        ? configSettings.getUnidentifiedItemChance() : 0D;
+    double identityTomeChance = configSettings.isIdentifyingEnabled() ? configSettings.getIdentityTomeChance() : 0D;
+    for (EntityType entityType : EntityType.values()) {
+      double itemChance = configSettings.getItemChance()
+          * creatureSpawningSettings.getEntityTypeChanceToSpawn(entityType);
+      put(entityType, LootTable.compile(itemChance, configSettings.getCustomItemChance(), socketGemChance,
+          unidentifiedItemChance, identityTomeChance));
+    }
+  }
+
+  /**
+   * Gets the table for the given entity type, or {@link LootTable#EMPTY} if none has been compiled.
+   *
+   * @param entityType EntityType
+   * @return compiled table
+   */
+  public LootTable getTable(EntityType entityType) {
+    Validate.notNull(entityType, "EntityType cannot be null");
+    return getOrDefault(entityType, LootTable.EMPTY);
+  }
+
+}
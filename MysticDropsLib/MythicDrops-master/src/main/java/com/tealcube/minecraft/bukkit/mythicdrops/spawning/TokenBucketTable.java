@@ -0,0 +1,233 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.spawning;
+
+/**
+ * Token buckets keyed by primitive longs in an open-addressing table. A bucket that has refilled completely is the same
+ * as no bucket at all, so {@link #evictFull(long)} drops those to keep the table small. Not thread-safe.
+ */
+public final class TokenBucketTable {
+
+  private static final float LOAD_FACTOR = 0.5F;
+
+  private long[] keys;
+  private boolean[] used;
+  private double[] tokens;
+  private double[] capacities;
+  private double[] rates;
+  private long[] updated;
+  private int[] denied;
+  private int size;
+  private long lastEvicted;
+
+  public TokenBucketTable(int expectedSize) {
+    allocate(tableSizeFor(expectedSize));
+  }
+
+  /**
+   * Takes one token from the key's bucket, creating a full bucket first if there is none. A capacity below one denies
+   * every request, but the bucket is still created so the denials show up in {@link #forEachThrottled(long, Visitor)}.
+   *
+   * @param key bucket key
+   * @param capacity most tokens the bucket holds
+   * @param refillPerMilli tokens added back per millisecond
+   * @param now current time in milliseconds
+   * @return if a token was available
+   */
+  public boolean tryAcquire(long key, double capacity, double refillPerMilli, long now) {
+    int slot = find(key);
+    if (slot < 0) {
+      slot = insert(key);
+      tokens[slot] = capacity;
+      updated[slot] = now;
+    }
+    capacities[slot] = capacity;
+    rates[slot] = refillPerMilli;
+    refill(slot, now);
+    if (tokens[slot] >= 1) {
+      tokens[slot] -= 1;
+      return true;
+    }
+    denied[slot]++;
+    return false;
+  }
+
+  /**
+   * Removes every bucket that has refilled completely by now. Buckets that can never hold a token are removed once
+   * they have not been asked for one since the previous call.
+   *
+   * @param now current time in milliseconds
+   * @return number of buckets removed
+   */
+  public int evictFull(long now) {
+    int before = size;
+    long[] oldKeys = keys;
+    boolean[] oldUsed = used;
+    double[] oldTokens = tokens;
+    double[] oldCapacities = capacities;
+    double[] oldRates = rates;
+    long[] oldUpdated = updated;
+    int[] oldDenied = denied;
+    long since = lastEvicted;
+    lastEvicted = now;
+    int live = 0;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldUsed[i] && !isEvictable(oldTokens[i], oldCapacities[i], oldRates[i], oldUpdated[i], now, since)) {
+        live++;
+      }
+    }
+    allocate(tableSizeFor(live));
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (!oldUsed[i] || isEvictable(oldTokens[i], oldCapacities[i], oldRates[i], oldUpdated[i], now, since)) {
+        continue;
+      }
+      int slot = insert(oldKeys[i]);
+      tokens[slot] = oldTokens[i];
+      capacities[slot] = oldCapacities[i];
+      rates[slot] = oldRates[i];
+      updated[slot] = oldUpdated[i];
+      denied[slot] = oldDenied[i];
+    }
+    return before - size;
+  }
+
+  /**
+   * Visits every bucket that has no token left right now.
+   *
+   * @param now current time in milliseconds
+   * @param visitor receives the key and how many requests the bucket has denied
+   */
+  public void forEachThrottled(long now, Visitor visitor) {
+    for (int i = 0; i < keys.length; i++) {
+      if (!used[i]) {
+        continue;
+      }
+      refill(i, now);
+      if (tokens[i] < 1) {
+        visitor.visit(keys[i], denied[i]);
+      }
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void clear() {
+    allocate(keys.length);
+  }
+
+  private void refill(int slot, long now) {
+    long elapsed = now - updated[slot];
+    if (elapsed > 0) {
+      tokens[slot] = Math.min(capacities[slot], tokens[slot] + elapsed * rates[slot]);
+      updated[slot] = now;
+    }
+  }
+
+  private static boolean isEvictable(double tokens, double capacity, double rate, long updated, long now,
+                                     long since) {
+    if (capacity < 1) {
+      return updated < since;
+    }
+    return tokens + Math.max(now - updated, 0) * rate >= capacity;
+  }
+
+  private int find(long key) {
+    int mask = keys.length - 1;
+    for (int slot = mix(key) & mask; used[slot]; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  private int insert(long key) {
+    if (size + 1 > keys.length * LOAD_FACTOR) {
+      grow();
+    }
+    int mask = keys.length - 1;
+    int slot = mix(key) & mask;
+    while (used[slot]) {
+      slot = (slot + 1) & mask;
+    }
+    used[slot] = true;
+    keys[slot] = key;
+    size++;
+    return slot;
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    boolean[] oldUsed = used;
+    double[] oldTokens = tokens;
+    double[] oldCapacities = capacities;
+    double[] oldRates = rates;
+    long[] oldUpdated = updated;
+    int[] oldDenied = denied;
+    allocate(oldKeys.length * 2);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (!oldUsed[i]) {
+        continue;
+      }
+      int slot = insert(oldKeys[i]);
+      tokens[slot] = oldTokens[i];
+      capacities[slot] = oldCapacities[i];
+      rates[slot] = oldRates[i];
+      updated[slot] = oldUpdated[i];
+      denied[slot] = oldDenied[i];
+    }
+  }
+
+  private void allocate(int length) {
+    keys = new long[length];
+    used = new boolean[length];
+    tokens = new double[length];
+    capacities = new double[length];
+    rates = new double[length];
+    updated = new long[length];
+    denied = new int[length];
+    size = 0;
+  }
+
+  private static int tableSizeFor(int expectedSize) {
+    int needed = (int) Math.ceil(Math.max(expectedSize, 8) / LOAD_FACTOR);
+    return Integer.highestOneBit(needed - 1) << 1;
+  }
+
+  // spreads the packed coordinates so neighbouring chunks do not collide into long probe runs
+  private static int mix(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  /**
+   * Receives throttled buckets from {@link #forEachThrottled(long, Visitor)}.
+   */
+  public interface Visitor {
+
+    void visit(long key, int denied);
+
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.spawning;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * Holds the {@link WorldSpawnPolicy} of every loaded world by its UID. Policies are compiled again whenever the
+ * settings are reloaded and whenever a world loads. Only used from the main thread.
+ */
+public final class WorldSpawnPolicies implements Listener {
+
+  private final MythicDropsPlugin plugin;
+  private final Map<UUID, WorldSpawnPolicy> policies = new HashMap<>();
+
+  public WorldSpawnPolicies(MythicDropsPlugin plugin) {
+    this.plugin = plugin;
+  }
+
+  /**
+   * Throws away every policy and compiles one for each loaded world.
+   */
+  public void compile() {
+    policies.clear();
+    for (World world : Bukkit.getWorlds()) {
+      compile(world);
+    }
+  }
+
+  /**
+   * Gets the policy for the given world, compiling it if the world has not been seen yet.
+   *
+   * @param world World
+   * @return policy
+   */
+  public WorldSpawnPolicy get(World world) {
+    WorldSpawnPolicy policy = policies.get(world.getUID());
+    return policy != null ? policy : compile(world);
+  }
+
+  @EventHandler
+  public void onWorldLoad(WorldLoadEvent event) {
+    compile(event.getWorld());
+  }
+
+  @EventHandler
+  public void onWorldUnload(WorldUnloadEvent event) {
+    policies.remove(event.getWorld().getUID());
+  }
+
+  private WorldSpawnPolicy compile(World world) {
+    WorldSpawnPolicy policy = WorldSpawnPolicy.compile(world.getName(), plugin.getConfigSettings(),
+        plugin.getCreatureSpawningSettings(), LootTableMap.getInstance());
+    policies.put(world.getUID(), policy);
+    return policy;
+  }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.spawning;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.settings.ConfigSettings;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.settings.CreatureSpawningSettings;
+import org.apache.commons.lang3.Validate;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
+
+/**
+ * Everything the spawning listener needs to know about one world, worked out when the world loads or the settings are
+ * reloaded so that handling a spawn never has to search the enabled worlds or look anything up by name.
+ */
+public final class WorldSpawnPolicy {
+
+  /**
+   * Policy for worlds that MythicDrops is not enabled in.
+   */
+  public static final WorldSpawnPolicy DISABLED = new WorldSpawnPolicy(false, 0, 0L, new LootTable[0]);
+
+  private final boolean enabled;
+  private final int heightLimit;
+  private final long allowedReasons;
+  private final LootTable[] lootTables;
+
+  private WorldSpawnPolicy(boolean enabled, int heightLimit, long allowedReasons, LootTable[] lootTables) {
+    this.enabled = enabled;
+    this.heightLimit = heightLimit;
+    this.allowedReasons = allowedReasons;
+    this.lootTables = lootTables;
+  }
+
+  /**
+   * Compiles the policy for the world with the given name.
+   *
+   * @param worldName                name of the world
+   * @param configSettings           settings holding the enabled worlds
+   * @param creatureSpawningSettings settings holding the height limits and prevented spawn reasons
+   * @param lootTableMap             compiled loot tables
+   * @return compiled policy
+   */
+  public static WorldSpawnPolicy compile(String worldName, ConfigSettings configSettings,
+                                         CreatureSpawningSettings creatureSpawningSettings,
+                                         LootTableMap lootTableMap) {
+    Validate.notNull(worldName, "World name cannot be null");
+    if (!configSettings.getEnabledWorlds().contains(worldName)) {
+      return DISABLED;
+    }
+    long allowedReasons = 0L;
+    for (SpawnReason reason : SpawnReason.values()) {
+      if (isAllowed(reason, creatureSpawningSettings)) {
+        allowedReasons |= 1L << reason.ordinal();
+      }
+    }
+    EntityType[] entityTypes = EntityType.values();
+    LootTable[] lootTables = new LootTable[entityTypes.length];
+    for (EntityType entityType : entityTypes) {
+      lootTables[entityType.ordinal()] = lootTableMap.getTable(entityType);
+    }
+    return new WorldSpawnPolicy(true, creatureSpawningSettings.getSpawnHeightLimit(worldName), allowedReasons,
+        lootTables);
+  }
+
+  private static boolean isAllowed(SpawnReason reason, CreatureSpawningSettings creatureSpawningSettings) {
+    switch (reason) {
+      case REINFORCEMENTS:
+        return !creatureSpawningSettings.isPreventReinforcements();
+      case SPAWNER:
+      case CUSTOM:
+        return !creatureSpawningSettings.isPreventSpawner();
+      case SPAWNER_EGG:
+        return !creatureSpawningSettings.isPreventSpawnEgg();
+      default:
+        return true;
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int getHeightLimit() {
+    return heightLimit;
+  }
+
+  /**
+   * Gets if mobs spawning for the given reason may be given items.
+   *
+   * @param reason reason
+   * @return if mobs may be given items
+   */
+  public boolean isAllowed(SpawnReason reason) {
+    return (allowedReasons & (1L << reason.ordinal())) != 0;
+  }
+
+  /**
+   * Gets the loot table for the given entity type, or {@link LootTable#EMPTY} if the world is disabled.
+   *
+   * @param entityType EntityType
+   * @return loot table
+   */
+  public LootTable getLootTable(EntityType entityType) {
+    int ordinal = entityType.ordinal();
+    return ordinal < lootTables.length ? lootTables[ordinal] : LootTable.EMPTY;
+  }
+
+}
@@ -21,7 +21,7 @@
  */
 package com.tealcube.minecraft.bukkit.mythicdrops.templating;
 
-import org.apache.commons.lang3.RandomUtils;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
 
 public final class RandSignTemplate extends Template {
 
@@ -31,7 +31,7 @@ public final class RandSignTemplate extends Template {
 
   @Override
   public String apply(String s) {
-    return RandomUtils.nextBoolean() ? "+" : "-";
+    return RandomSources.current().nextBoolean() ? "+" : "-";
   }
 
 }
@@ -22,6 +22,7 @@
 package com.tealcube.minecraft.bukkit.mythicdrops.templating;
 
 import com.google.common.base.Splitter;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
 import java.util.List;
 import java.util.regex.Pattern;
 import org.apache.commons.lang3.StringUtils;
@@ -45,7 +46,7 @@ public final class RandTemplate extends Template {
     int second = NumberUtils.toInt(split.get(1));
     int min = Math.min(first, second);
     int max = Math.max(first, second);
-    int random = (int) Math.round((Math.random() * (max - min) + min));
+    int random = (int) Math.round((RandomSources.current().nextDouble() * (max - min) + min));
     return String.valueOf(random);
   }
 
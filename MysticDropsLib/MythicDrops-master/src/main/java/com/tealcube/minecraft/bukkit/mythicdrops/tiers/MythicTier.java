@@ -23,6 +23,7 @@ package com.tealcube.minecraft.bukkit.mythicdrops.tiers;
 
 import com.tealcube.minecraft.bukkit.mythicdrops.api.enchantments.MythicEnchantment;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
+import com.tealcube.minecraft.bukkit.mythicdrops.utils.StringListUtil;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -39,6 +40,8 @@ public final class MythicTier implements Tier {
   private ChatColor identificationColor;
   private List<String> baseLore;
   private List<String> bonusLore;
+  private String[][] baseLoreLines;
+  private String[][] bonusLoreLines;
   private int minimumBonusLore;
   private int maximumBonusLore;
   private Set<MythicEnchantment> baseEnchantments;
@@ -70,6 +73,8 @@ public final class MythicTier implements Tier {
     this.name = name;
     baseLore = new ArrayList<>();
     bonusLore = new ArrayList<>();
+    baseLoreLines = new String[0][];
+    bonusLoreLines = new String[0][];
     baseEnchantments = new HashSet<>();
     bonusEnchantments = new HashSet<>();
     allowedItemGroups = new ArrayList<>();
@@ -117,6 +122,12 @@ public final class MythicTier implements Tier {
 
   void setBaseLore(List<String> baseLore) {
     this.baseLore = baseLore;
+    this.baseLoreLines = StringListUtil.splitAndColor(baseLore);
+  }
+
+  @Override
+  public String[][] getBaseLoreLines() {
+    return baseLoreLines;
   }
 
   @Override
@@ -126,6 +137,12 @@ public final class MythicTier implements Tier {
 
   void setBonusLore(List<String> bonusLore) {
     this.bonusLore = bonusLore;
+    this.bonusLoreLines = StringListUtil.splitAndColor(bonusLore);
+  }
+
+  @Override
+  public String[][] getBonusLoreLines() {
+    return bonusLoreLines;
   }
 
   @Override
@@ -21,13 +21,12 @@
  */
 package com.tealcube.minecraft.bukkit.mythicdrops.tiers;
 
-import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import org.apache.commons.lang3.RandomUtils;
 
 public final class TierMap extends ConcurrentHashMap<String, Tier> {
 
@@ -63,12 +62,12 @@ public final class TierMap extends ConcurrentHashMap<String, Tier> {
 
     double totalWeight = 0;
     List<Tier> v = new ArrayList<>(values());
-    Collections.shuffle(v);
+    Collections.shuffle(v, RandomSources.current().asRandom());
     for (Tier t : v) {
       totalWeight += t.getSpawnChance();
     }
 
-    double chosenWeight = MythicDropsPlugin.getInstance().getRandom().nextDouble() * totalWeight;
+    double chosenWeight = RandomSources.current().nextDouble() * totalWeight;
 
     double currentWeight = 0;
 
@@ -90,7 +89,7 @@ public final class TierMap extends ConcurrentHashMap<String, Tier> {
    */
   public Tier getRandom() {
     Tier[] valueArray = values().toArray(new Tier[values().size()]);
-    return valueArray[RandomUtils.nextInt(0, values().size())];
+    return valueArray[RandomSources.current().nextInt(0, values().size())];
   }
 
   @Deprecated
@@ -101,12 +100,12 @@ public final class TierMap extends ConcurrentHashMap<String, Tier> {
   public Tier getRandomWithIdentifyChance() {
     double totalWeight = 0;
     List<Tier> v = new ArrayList<>(values());
-    Collections.shuffle(v);
+    Collections.shuffle(v, RandomSources.current().asRandom());
     for (Tier t : v) {
       totalWeight += t.getIdentifyChance();
     }
 
-    double chosenWeight = MythicDropsPlugin.getInstance().getRandom().nextDouble() * totalWeight;
+    double chosenWeight = RandomSources.current().nextDouble() * totalWeight;
 
     double currentWeight = 0;
 
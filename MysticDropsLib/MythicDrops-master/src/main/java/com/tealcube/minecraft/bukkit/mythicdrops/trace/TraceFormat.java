@@ -0,0 +1,53 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.trace;
+
+/**
+ * Constants describing the binary layout of a MythicDrops trace file.
+ *
+ * <p>A trace starts with {@link #MAGIC}, {@link #VERSION}, the RNG seed and the wall clock time the recording started.
+ * Each record afterwards is a type byte followed by the tick it was recorded on and a type specific payload. Entity
+ * types, spawn reasons, damage causes, actions and materials are written as enum ordinals, so a trace should only be
+ * replayed on the server version that recorded it.</p>
+ */
+final class TraceFormat {
+
+  static final int MAGIC = 0x4D445452;
+  static final short VERSION = 1;
+
+  static final byte WORLD = 0;
+  static final byte SPAWN = 1;
+  static final byte DEATH = 2;
+  static final byte DAMAGE = 3;
+  static final byte INTERACT = 4;
+
+  /**
+   * Boots, leggings, chestplate, helmet, main hand and off hand.
+   */
+  static final int EQUIPMENT_SLOTS = 6;
+  static final short NONE = -1;
+
+  private TraceFormat() {
+    // do nothing
+  }
+
+}
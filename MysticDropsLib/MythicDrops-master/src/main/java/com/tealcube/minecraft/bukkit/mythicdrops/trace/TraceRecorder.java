@@ -0,0 +1,254 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.trace;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
+import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Records the events MythicDrops reacts to into a trace file that {@link TraceReplayer} can feed back through the
+ * listeners. The recorder is only registered while a recording is running.
+ */
+public final class TraceRecorder implements Listener {
+
+  private static final Logger LOGGER = MythicLoggerFactory.getLogger(TraceRecorder.class);
+
+  private final MythicDropsPlugin plugin;
+  private final Map<UUID, Short> worldIds = new HashMap<>();
+  private TraceWriter writer;
+  private BukkitTask tickTask;
+  private File file;
+  private int tick;
+
+  public TraceRecorder(MythicDropsPlugin plugin) {
+    this.plugin = plugin;
+  }
+
+  public static File getTraceFolder(MythicDropsPlugin plugin) {
+    return new File(plugin.getDataFolder(), "traces");
+  }
+
+  /**
+   * Resolves a trace file name given by a command sender, refusing anything that points outside the traces folder.
+   *
+   * @param plugin   plugin whose traces folder to look in
+   * @param fileName name of the trace file
+   * @return trace file
+   * @throws IOException if the name escapes the traces folder
+   */
+  public static File resolveTraceFile(MythicDropsPlugin plugin, String fileName) throws IOException {
+    return resolveTraceFile(getTraceFolder(plugin), fileName);
+  }
+
+  static File resolveTraceFile(File folder, String fileName) throws IOException {
+    File canonicalFolder = folder.getCanonicalFile();
+    File file = new File(canonicalFolder, fileName).getCanonicalFile();
+    if (!canonicalFolder.equals(file.getParentFile())) {
+      throw new IOException(fileName + " is not a trace in " + folder.getName());
+    }
+    return file;
+  }
+
+  // a recording started within the same second as an earlier one gets a numbered name instead of reusing its file
+  static File newTraceFile(File folder, String stamp) {
+    File traceFile = new File(folder, "trace-" + stamp + ".mdtrace");
+    for (int i = 1; traceFile.exists(); i++) {
+      traceFile = new File(folder, "trace-" + stamp + "-" + i + ".mdtrace");
+    }
+    return traceFile;
+  }
+
+  public boolean isRecording() {
+    return writer != null;
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  /**
+   * Starts a new recording and switches to a seeded random source so the trace can be replayed with the same rolls.
+   *
+   * @return file being recorded to
+   * @throws IOException if the trace file cannot be created
+   */
+  public File start() throws IOException {
+    if (isRecording()) {
+      return file;
+    }
+    File folder = getTraceFolder(plugin);
+    if (!folder.exists() && !folder.mkdirs()) {
+      throw new IOException("Unable to create " + folder.getPath());
+    }
+    long seed = System.nanoTime();
+    file = newTraceFile(folder, new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()));
+    writer = new TraceWriter(file, seed);
+    RandomSources.seed(seed);
+    worldIds.clear();
+    tick = 0;
+    tickTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> tick++, 1L, 1L);
+    Bukkit.getPluginManager().registerEvents(this, plugin);
+    LOGGER.info("Started recording trace to " + file.getName() + " with seed " + seed);
+    return file;
+  }
+
+  /**
+   * Stops the current recording, if any.
+   *
+   * @return number of records written
+   */
+  public int stop() {
+    if (!isRecording()) {
+      return 0;
+    }
+    HandlerList.unregisterAll(this);
+    tickTask.cancel();
+    int records = writer.getRecords();
+    try {
+      writer.close();
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Unable to close trace " + file.getName(), e);
+    }
+    writer = null;
+    tickTask = null;
+    RandomSources.reset();
+    LOGGER.info("Stopped recording trace to " + file.getName() + " after " + tick + " ticks and " + records
+        + " records");
+    return records;
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onCreatureSpawn(CreatureSpawnEvent event) {
+    LivingEntity entity = event.getEntity();
+    try {
+      writer.writeSpawn(tick, entity.getEntityId(), entity.getType(), worldId(entity.getWorld()),
+          entity.getLocation(), event.getSpawnReason().ordinal(), equipment(entity));
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onEntityDeath(EntityDeathEvent event) {
+    LivingEntity entity = event.getEntity();
+    EntityDamageEvent lastDamage = entity.getLastDamageCause();
+    int cause = lastDamage == null || lastDamage.isCancelled() ? TraceFormat.NONE : lastDamage.getCause().ordinal();
+    try {
+      writer.writeDeath(tick, entity.getEntityId(), entity.getType(), worldId(entity.getWorld()),
+          entity.getLocation(), cause, entity.getKiller() != null, equipment(entity));
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onEntityDamageByEntity(EntityDamageByEntityEvent event) {
+    Entity damager = event.getDamager();
+    Entity damaged = event.getEntity();
+    try {
+      writer.writeDamage(tick, damager.getEntityId(), damager.getType(), damaged.getEntityId(), damaged.getType(),
+          worldId(damaged.getWorld()), event.getCause().ordinal(), event.getDamage());
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onPlayerInteract(PlayerInteractEvent event) {
+    Player player = event.getPlayer();
+    try {
+      writer.writeInteract(tick, player.getEntityId(), worldId(player.getWorld()), event.getAction().ordinal(),
+          id(player.getEquipment().getItemInMainHand()));
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  private short worldId(World world) throws IOException {
+    Short id = worldIds.get(world.getUID());
+    if (id != null) {
+      return id;
+    }
+    short newId = (short) worldIds.size();
+    worldIds.put(world.getUID(), newId);
+    writer.writeWorld(tick, newId, world.getName(), world.getSpawnLocation());
+    return newId;
+  }
+
+  private void fail(IOException e) {
+    LOGGER.log(Level.WARNING, "Unable to write to trace " + file.getName() + ", stopping recording", e);
+    stop();
+  }
+
+  private static short[] equipment(LivingEntity entity) {
+    short[] ids = new short[TraceFormat.EQUIPMENT_SLOTS];
+    Arrays.fill(ids, TraceFormat.NONE);
+    EntityEquipment equipment = entity.getEquipment();
+    if (equipment == null) {
+      return ids;
+    }
+    ItemStack[] armor = equipment.getArmorContents();
+    for (int i = 0; i < 4 && i < armor.length; i++) {
+      ids[i] = id(armor[i]);
+    }
+    ids[4] = id(equipment.getItemInMainHand());
+    ids[5] = id(equipment.getItemInOffHand());
+    return ids;
+  }
+
+  private static short id(ItemStack itemStack) {
+    if (itemStack == null || itemStack.getType() == Material.AIR) {
+      return TraceFormat.NONE;
+    }
+    return (short) itemStack.getType().ordinal();
+  }
+
+}
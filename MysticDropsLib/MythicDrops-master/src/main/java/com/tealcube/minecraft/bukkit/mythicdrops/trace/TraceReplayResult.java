@@ -0,0 +1,95 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.trace;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary of a {@link TraceReplayer} run. Tick timings are sorted in ascending order.
+ */
+public final class TraceReplayResult {
+
+  private final int records;
+  private final int failures;
+  private final int drops;
+  private final long[] tickNanos;
+
+  TraceReplayResult(int records, int failures, int drops, long[] tickNanos) {
+    this.records = records;
+    this.failures = failures;
+    this.drops = drops;
+    this.tickNanos = tickNanos;
+  }
+
+  public int getRecords() {
+    return records;
+  }
+
+  public int getFailures() {
+    return failures;
+  }
+
+  public int getDrops() {
+    return drops;
+  }
+
+  public int getTicks() {
+    return tickNanos.length;
+  }
+
+  public long getTotalNanos() {
+    long total = 0;
+    for (long nanos : tickNanos) {
+      total += nanos;
+    }
+    return total;
+  }
+
+  public long getMeanTickNanos() {
+    return tickNanos.length == 0 ? 0 : getTotalNanos() / tickNanos.length;
+  }
+
+  public long getPercentileTickNanos(double percentile) {
+    if (tickNanos.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile * tickNanos.length) - 1;
+    return tickNanos[Math.max(0, Math.min(index, tickNanos.length - 1))];
+  }
+
+  public long getMaxTickNanos() {
+    return tickNanos.length == 0 ? 0 : tickNanos[tickNanos.length - 1];
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d records over %d ticks, %d failed, %d drops, total %dms, mean %dus, p50 %dus, "
+            + "p99 %dus, max %dus", records, getTicks(), failures, drops,
+        TimeUnit.NANOSECONDS.toMillis(getTotalNanos()), micros(getMeanTickNanos()),
+        micros(getPercentileTickNanos(0.5)), micros(getPercentileTickNanos(0.99)), micros(getMaxTickNanos()));
+  }
+
+  private static long micros(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+
+}
@@ -0,0 +1,267 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.trace;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
+import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.RegisteredListener;
+
+/**
+ * Feeds a trace written by {@link TraceRecorder} back through the listeners MythicDrops has registered, using
+ * {@link TraceStandIns} instead of live entities, and measures how long each recorded tick took to process.
+ *
+ * <p>Only MythicDrops listeners receive the replayed events, but events MythicDrops fires itself are still seen by other
+ * plugins, so replays are meant for test servers.</p>
+ */
+public final class TraceReplayer {
+
+  private static final Logger LOGGER = MythicLoggerFactory.getLogger(TraceReplayer.class);
+
+  private final MythicDropsPlugin plugin;
+  private final EntityType[] entityTypes = EntityType.values();
+  private final CreatureSpawnEvent.SpawnReason[] spawnReasons = CreatureSpawnEvent.SpawnReason.values();
+  private final EntityDamageEvent.DamageCause[] damageCauses = EntityDamageEvent.DamageCause.values();
+  private final Action[] actions = Action.values();
+  private final Material[] materials = Material.values();
+  private final Map<Short, World> worlds = new HashMap<>();
+  private final Map<Integer, LivingEntity> entities = new HashMap<>();
+  private int failures;
+
+  public TraceReplayer(MythicDropsPlugin plugin) {
+    this.plugin = plugin;
+  }
+
+  public TraceReplayResult replay(File file) throws IOException {
+    worlds.clear();
+    entities.clear();
+    failures = 0;
+    List<Long> tickNanos = new ArrayList<>();
+    int records = 0;
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      if (in.readInt() != TraceFormat.MAGIC) {
+        throw new IOException(file.getName() + " is not a MythicDrops trace");
+      }
+      short version = in.readShort();
+      if (version != TraceFormat.VERSION) {
+        throw new IOException(file.getName() + " has unsupported trace version " + version);
+      }
+      RandomSources.seed(in.readLong());
+      in.readLong();
+
+      int currentTick = -1;
+      long currentNanos = 0;
+      int type;
+      while ((type = in.read()) != -1) {
+        int tick = in.readInt();
+        if (tick != currentTick) {
+          if (currentTick >= 0) {
+            tickNanos.add(currentNanos);
+          }
+          currentTick = tick;
+          currentNanos = 0;
+        }
+        Event event = readEvent((byte) type, in);
+        if (event == null) {
+          continue;
+        }
+        records++;
+        long start = System.nanoTime();
+        dispatch(event);
+        currentNanos += System.nanoTime() - start;
+      }
+      if (currentTick >= 0) {
+        tickNanos.add(currentNanos);
+      }
+    } catch (EOFException e) {
+      LOGGER.info("Trace " + file.getName() + " ends with a partial record, ignoring it");
+    } finally {
+      RandomSources.reset();
+    }
+
+    int drops = 0;
+    for (World world : worlds.values()) {
+      drops += TraceStandIns.getDrops(world);
+    }
+    long[] nanos = new long[tickNanos.size()];
+    for (int i = 0; i < nanos.length; i++) {
+      nanos[i] = tickNanos.get(i);
+    }
+    Arrays.sort(nanos);
+    TraceReplayResult result = new TraceReplayResult(records, failures, drops, nanos);
+    LOGGER.info("Replayed " + file.getName() + ": " + result);
+    return result;
+  }
+
+  private Event readEvent(byte type, DataInputStream in) throws IOException {
+    switch (type) {
+      case TraceFormat.WORLD:
+        short worldId = in.readShort();
+        String name = in.readUTF();
+        worlds.put(worldId, TraceStandIns.world(name, in.readFloat(), in.readFloat(), in.readFloat()));
+        return null;
+      case TraceFormat.SPAWN:
+        return readSpawn(in);
+      case TraceFormat.DEATH:
+        return readDeath(in);
+      case TraceFormat.DAMAGE:
+        return readDamage(in);
+      case TraceFormat.INTERACT:
+        return readInteract(in);
+      default:
+        throw new IOException("Unknown trace record type " + type);
+    }
+  }
+
+  private Event readSpawn(DataInputStream in) throws IOException {
+    int entityId = in.readInt();
+    EntityType entityType = lookup(entityTypes, in.readShort());
+    Location location = readLocation(in);
+    CreatureSpawnEvent.SpawnReason reason = lookup(spawnReasons, in.readByte());
+    // recorded after MythicDrops equipped the mob, the replay generates its own
+    readEquipment(in);
+    LivingEntity entity = TraceStandIns.entity(entityType, entityId, location);
+    entities.put(entityId, entity);
+    return new CreatureSpawnEvent(entity, reason);
+  }
+
+  private Event readDeath(DataInputStream in) throws IOException {
+    int entityId = in.readInt();
+    EntityType entityType = lookup(entityTypes, in.readShort());
+    Location location = readLocation(in);
+    EntityDamageEvent.DamageCause cause = lookup(damageCauses, in.readByte());
+    boolean killedByPlayer = in.readBoolean();
+    short[] equipment = readEquipment(in);
+    LivingEntity entity = entities.remove(entityId);
+    if (entity == null) {
+      // spawned before the recording started, so only the equipment materials are known
+      entity = TraceStandIns.entity(entityType, entityId, location);
+      TraceStandIns.setEquipment(entity, equipment);
+    } else {
+      TraceStandIns.setLocation(entity, location);
+    }
+    if (cause != null) {
+      TraceStandIns.setLastDamageCause(entity, new EntityDamageEvent(entity, cause, 1D));
+    }
+    if (killedByPlayer) {
+      TraceStandIns.setKiller(entity, TraceStandIns.player(-1, location));
+    }
+    return new EntityDeathEvent(entity, new ArrayList<ItemStack>(), 0);
+  }
+
+  private Event readDamage(DataInputStream in) throws IOException {
+    int damagerId = in.readInt();
+    EntityType damagerType = lookup(entityTypes, in.readShort());
+    int damagedId = in.readInt();
+    EntityType damagedType = lookup(entityTypes, in.readShort());
+    World world = worlds.get(in.readShort());
+    EntityDamageEvent.DamageCause cause = lookup(damageCauses, in.readByte());
+    double damage = in.readDouble();
+    Location location = world == null ? null : world.getSpawnLocation();
+    return new EntityDamageByEntityEvent(known(damagerType, damagerId, location),
+        known(damagedType, damagedId, location), cause, damage);
+  }
+
+  private Event readInteract(DataInputStream in) throws IOException {
+    int playerId = in.readInt();
+    World world = worlds.get(in.readShort());
+    Action action = lookup(actions, in.readByte());
+    Material item = lookup(materials, in.readShort());
+    LivingEntity entity = known(EntityType.PLAYER, playerId, world == null ? null : world.getSpawnLocation());
+    if (!(entity instanceof Player)) {
+      return null;
+    }
+    ItemStack itemStack = item == null ? null : new ItemStack(item);
+    entity.getEquipment().setItemInMainHand(itemStack);
+    return new PlayerInteractEvent((Player) entity, action, itemStack, null, BlockFace.SELF);
+  }
+
+  private LivingEntity known(EntityType type, int entityId, Location location) {
+    LivingEntity entity = entities.get(entityId);
+    if (entity == null) {
+      entity = type == EntityType.PLAYER ? TraceStandIns.player(entityId, location)
+          : TraceStandIns.entity(type, entityId, location);
+      entities.put(entityId, entity);
+    }
+    return entity;
+  }
+
+  private void dispatch(Event event) {
+    for (RegisteredListener registeredListener : event.getHandlers().getRegisteredListeners()) {
+      if (registeredListener.getPlugin() != plugin || registeredListener.getListener() instanceof TraceRecorder) {
+        continue;
+      }
+      try {
+        registeredListener.callEvent(event);
+      } catch (Exception e) {
+        failures++;
+        LOGGER.log(Level.FINE, "Replaying " + event.getEventName() + " failed", e);
+      }
+    }
+  }
+
+  private Location readLocation(DataInputStream in) throws IOException {
+    World world = worlds.get(in.readShort());
+    return new Location(world, in.readFloat(), in.readFloat(), in.readFloat());
+  }
+
+  private static short[] readEquipment(DataInputStream in) throws IOException {
+    short[] equipment = new short[TraceFormat.EQUIPMENT_SLOTS];
+    for (int i = 0; i < equipment.length; i++) {
+      equipment[i] = in.readShort();
+    }
+    return equipment;
+  }
+
+  private static <T> T lookup(T[] values, int ordinal) {
+    return ordinal < 0 || ordinal >= values.length ? null : values[ordinal];
+  }
+
+}
@@ -0,0 +1,304 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.trace;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.UUID;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Minimal stand-ins for the server objects the listeners touch while a trace is replayed. Anything that is not
+ * modelled returns {@code null}, zero or {@code false}.
+ */
+final class TraceStandIns {
+
+  private TraceStandIns() {
+    // do nothing
+  }
+
+  static World world(String name, double x, double y, double z) {
+    WorldHandler handler = new WorldHandler(name);
+    World world = proxy(World.class, handler);
+    handler.spawn = new Location(world, x, y, z);
+    return world;
+  }
+
+  static int getDrops(World world) {
+    return ((WorldHandler) Proxy.getInvocationHandler(world)).drops;
+  }
+
+  static LivingEntity entity(EntityType type, int entityId, Location location) {
+    Class<?> entityClass = type == null ? null : type.getEntityClass();
+    if (entityClass == null || !entityClass.isInterface() || !LivingEntity.class.isAssignableFrom(entityClass)) {
+      entityClass = LivingEntity.class;
+    }
+    return (LivingEntity) proxy(entityClass, new EntityHandler(type, entityId, location));
+  }
+
+  static Player player(int entityId, Location location) {
+    return proxy(Player.class, new EntityHandler(EntityType.PLAYER, entityId, location));
+  }
+
+  static void setKiller(LivingEntity entity, Player killer) {
+    ((EntityHandler) Proxy.getInvocationHandler(entity)).killer = killer;
+  }
+
+  static void setLastDamageCause(LivingEntity entity, EntityDamageEvent event) {
+    ((EntityHandler) Proxy.getInvocationHandler(entity)).lastDamageCause = event;
+  }
+
+  static void setLocation(LivingEntity entity, Location location) {
+    ((EntityHandler) Proxy.getInvocationHandler(entity)).location = location;
+  }
+
+  static void setEquipment(LivingEntity entity, short[] ids) {
+    Material[] materials = Material.values();
+    ItemStack[] slots = ((EntityHandler) Proxy.getInvocationHandler(entity)).equipment.slots;
+    for (int i = 0; i < slots.length; i++) {
+      slots[i] = ids[i] < 0 || ids[i] >= materials.length ? null : new ItemStack(materials[ids[i]]);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(Class<?> type, InvocationHandler handler) {
+    return (T) Proxy.newProxyInstance(TraceStandIns.class.getClassLoader(), new Class<?>[]{type}, handler);
+  }
+
+  private static Object defaultValue(Method method) {
+    Class<?> returnType = method.getReturnType();
+    if (!returnType.isPrimitive() || returnType == void.class) {
+      return null;
+    }
+    if (returnType == boolean.class) {
+      return false;
+    }
+    if (returnType == char.class) {
+      return '\0';
+    }
+    if (returnType == byte.class) {
+      return (byte) 0;
+    }
+    if (returnType == short.class) {
+      return (short) 0;
+    }
+    if (returnType == int.class) {
+      return 0;
+    }
+    if (returnType == long.class) {
+      return 0L;
+    }
+    if (returnType == float.class) {
+      return 0F;
+    }
+    return 0D;
+  }
+
+  private abstract static class StandInHandler implements InvocationHandler {
+
+    @Override
+    public final Object invoke(Object proxy, Method method, Object[] args) {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return getClass().getSimpleName();
+        default:
+          Object result = handle(proxy, method.getName(), args);
+          return result == null ? defaultValue(method) : result;
+      }
+    }
+
+    abstract Object handle(Object proxy, String name, Object[] args);
+
+  }
+
+  private static final class WorldHandler extends StandInHandler {
+
+    private final String name;
+    private final UUID uid;
+    private Location spawn;
+    private int drops;
+
+    private WorldHandler(String name) {
+      this.name = name;
+      this.uid = UUID.nameUUIDFromBytes(name.getBytes());
+    }
+
+    @Override
+    Object handle(Object proxy, String method, Object[] args) {
+      switch (method) {
+        case "getName":
+          return name;
+        case "getUID":
+          return uid;
+        case "getSpawnLocation":
+          return spawn.clone();
+        case "getPlayers":
+        case "getEntities":
+        case "getLivingEntities":
+          return new ArrayList<>();
+        case "dropItem":
+        case "dropItemNaturally":
+          drops++;
+          return null;
+        default:
+          return null;
+      }
+    }
+
+  }
+
+  private static final class EntityHandler extends StandInHandler {
+
+    private final EntityType type;
+    private final int entityId;
+    private final UUID uniqueId;
+    private final EquipmentHandler equipment = new EquipmentHandler();
+    private final EntityEquipment equipmentProxy = proxy(EntityEquipment.class, equipment);
+    private Location location;
+    private Player killer;
+    private EntityDamageEvent lastDamageCause;
+    private String customName;
+
+    private EntityHandler(EntityType type, int entityId, Location location) {
+      this.type = type;
+      this.entityId = entityId;
+      this.uniqueId = new UUID(0L, entityId);
+      this.location = location;
+    }
+
+    @Override
+    Object handle(Object proxy, String method, Object[] args) {
+      switch (method) {
+        case "getType":
+          return type;
+        case "getEntityId":
+          return entityId;
+        case "getUniqueId":
+          return uniqueId;
+        case "getName":
+        case "getDisplayName":
+          return customName != null ? customName : type + "-" + entityId;
+        case "getCustomName":
+          return customName;
+        case "setCustomName":
+          customName = (String) args[0];
+          return null;
+        case "getWorld":
+          return location.getWorld();
+        case "getLocation":
+          return location.clone();
+        case "getEquipment":
+          return equipmentProxy;
+        case "getKiller":
+          return killer;
+        case "getLastDamageCause":
+          return lastDamageCause;
+        case "setLastDamageCause":
+          lastDamageCause = (EntityDamageEvent) args[0];
+          return null;
+        case "isValid":
+          return true;
+        default:
+          return null;
+      }
+    }
+
+  }
+
+  private static final class EquipmentHandler extends StandInHandler {
+
+    private final ItemStack[] slots = new ItemStack[TraceFormat.EQUIPMENT_SLOTS];
+
+    @Override
+    Object handle(Object proxy, String method, Object[] args) {
+      switch (method) {
+        case "getBoots":
+          return get(0);
+        case "getLeggings":
+          return get(1);
+        case "getChestplate":
+          return get(2);
+        case "getHelmet":
+          return get(3);
+        case "getItemInHand":
+        case "getItemInMainHand":
+          return get(4);
+        case "getItemInOffHand":
+          return get(5);
+        case "setBoots":
+          return set(0, args[0]);
+        case "setLeggings":
+          return set(1, args[0]);
+        case "setChestplate":
+          return set(2, args[0]);
+        case "setHelmet":
+          return set(3, args[0]);
+        case "setItemInHand":
+        case "setItemInMainHand":
+          return set(4, args[0]);
+        case "setItemInOffHand":
+          return set(5, args[0]);
+        case "getArmorContents":
+          return new ItemStack[]{get(0), get(1), get(2), get(3)};
+        case "setArmorContents":
+          ItemStack[] armor = (ItemStack[]) args[0];
+          for (int i = 0; i < 4; i++) {
+            slots[i] = armor != null && i < armor.length ? armor[i] : null;
+          }
+          return null;
+        case "clear":
+          for (int i = 0; i < slots.length; i++) {
+            slots[i] = null;
+          }
+          return null;
+        default:
+          return null;
+      }
+    }
+
+    private ItemStack get(int slot) {
+      // the server hands out air rather than null for empty slots
+      return slots[slot] == null ? new ItemStack(Material.AIR) : slots[slot];
+    }
+
+    private Object set(int slot, Object itemStack) {
+      slots[slot] = (ItemStack) itemStack;
+      return null;
+    }
+
+  }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of MythicDrops, licensed under the MIT License.
+ *
+ * Copyright (C) 2013 Richard Harrah
+ *
+ * Permission is hereby granted, free of charge,
+ * to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.tealcube.minecraft.bukkit.mythicdrops.trace;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+
+/**
+ * Writer for the format described in {@link TraceFormat}. Every writer starts a new trace: an existing file is
+ * truncated, never appended to.
+ */
+final class TraceWriter implements Closeable {
+
+  private final DataOutputStream out;
+  private int records;
+
+  TraceWriter(File file, long seed) throws IOException {
+    out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    out.writeInt(TraceFormat.MAGIC);
+    out.writeShort(TraceFormat.VERSION);
+    out.writeLong(seed);
+    out.writeLong(System.currentTimeMillis());
+  }
+
+  void writeWorld(int tick, short worldId, String name, Location spawn) throws IOException {
+    out.writeByte(TraceFormat.WORLD);
+    out.writeInt(tick);
+    out.writeShort(worldId);
+    out.writeUTF(name);
+    writeLocation(spawn);
+    records++;
+  }
+
+  void writeSpawn(int tick, int entityId, EntityType type, short worldId, Location location, int reason,
+      short[] equipment) throws IOException {
+    out.writeByte(TraceFormat.SPAWN);
+    out.writeInt(tick);
+    out.writeInt(entityId);
+    out.writeShort(id(type));
+    out.writeShort(worldId);
+    writeLocation(location);
+    out.writeByte(reason);
+    writeEquipment(equipment);
+    records++;
+  }
+
+  void writeDeath(int tick, int entityId, EntityType type, short worldId, Location location, int cause,
+      boolean killedByPlayer, short[] equipment) throws IOException {
+    out.writeByte(TraceFormat.DEATH);
+    out.writeInt(tick);
+    out.writeInt(entityId);
+    out.writeShort(id(type));
+    out.writeShort(worldId);
+    writeLocation(location);
+    out.writeByte(cause);
+    out.writeBoolean(killedByPlayer);
+    writeEquipment(equipment);
+    records++;
+  }
+
+  void writeDamage(int tick, int damagerId, EntityType damagerType, int damagedId, EntityType damagedType,
+      short worldId, int cause, double damage) throws IOException {
+    out.writeByte(TraceFormat.DAMAGE);
+    out.writeInt(tick);
+    out.writeInt(damagerId);
+    out.writeShort(id(damagerType));
+    out.writeInt(damagedId);
+    out.writeShort(id(damagedType));
+    out.writeShort(worldId);
+    out.writeByte(cause);
+    out.writeDouble(damage);
+    records++;
+  }
+
+  void writeInteract(int tick, int playerId, short worldId, int action, short item) throws IOException {
+    out.writeByte(TraceFormat.INTERACT);
+    out.writeInt(tick);
+    out.writeInt(playerId);
+    out.writeShort(worldId);
+    out.writeByte(action);
+    out.writeShort(item);
+    records++;
+  }
+
+  int getRecords() {
+    return records;
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  private void writeLocation(Location location) throws IOException {
+    out.writeFloat((float) location.getX());
+    out.writeFloat((float) location.getY());
+    out.writeFloat((float) location.getZ());
+  }
+
+  private void writeEquipment(short[] equipment) throws IOException {
+    for (int i = 0; i < TraceFormat.EQUIPMENT_SLOTS; i++) {
+      out.writeShort(equipment[i]);
+    }
+  }
+
+  private static short id(EntityType type) {
+    return type == null ? TraceFormat.NONE : (short) type.ordinal();
+  }
+
+}
@@ -22,8 +22,8 @@
 package com.tealcube.minecraft.bukkit.mythicdrops.utils;
 
 import com.google.common.collect.Sets;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
 import java.util.Set;
-import org.apache.commons.lang3.RandomUtils;
 import org.bukkit.ChatColor;
 
 public final class ChatColorUtil {
@@ -68,7 +68,7 @@ public final class ChatColorUtil {
 
   public static ChatColor getRandomChatColorFromSet(Set<ChatColor> chatColors) {
     ChatColor[] chatColors1 = chatColors.toArray(new ChatColor[chatColors.size()]);
-    return chatColors1[RandomUtils.nextInt(0, chatColors1.length)];
+    return chatColors1[RandomSources.current().nextInt(0, chatColors1.length)];
   }
 
   public static ChatColor getRandomChatColor() {
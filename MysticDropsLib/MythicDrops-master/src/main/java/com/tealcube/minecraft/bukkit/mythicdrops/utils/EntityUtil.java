@@ -66,8 +66,19 @@ public final class EntityUtil {
     if (entityEquipEvent.isCancelled()) {
       return false;
     }
-    ItemStack itemStack = entityEquipEvent.getItemStack();
-    if (itemStack == null) {
+    return equipEntityWithoutEvent(livingEntity, entityEquipEvent.getItemStack(), chance);
+  }
+
+  /**
+   * Equips an entity with a given item and chance for said item to drop, without calling an {@link EntityEquipEvent}.
+   *
+   * @param livingEntity LivingEntity to give item to
+   * @param itemStack ItemStack to give to LivingEntity
+   * @param chance chance for item to drop
+   * @return if successfully gave item to LivingEntity
+   */
+  public static boolean equipEntityWithoutEvent(LivingEntity livingEntity, ItemStack itemStack, double chance) {
+    if (livingEntity == null || itemStack == null) {
       return false;
     }
     if (itemStack.getType().name().toUpperCase().contains("BOOTS")) {
@@ -86,9 +86,19 @@ public final class ItemStackUtil {
   }
 
   public static Enchantment getHighestEnchantment(ItemMeta itemMeta) {
+    return getHighestEnchantment(itemMeta.getEnchants());
+  }
+
+  /**
+   * Gets the highest Enchantment in a map of Enchantments to levels. Returns null if the map is empty.
+   *
+   * @param enchantments Enchantments to check
+   * @return highest Enchantment
+   */
+  public static Enchantment getHighestEnchantment(Map<Enchantment, Integer> enchantments) {
     Enchantment enchantment = null;
     Integer level = 0;
-    for (Map.Entry<Enchantment, Integer> e : itemMeta.getEnchants().entrySet()) {
+    for (Map.Entry<Enchantment, Integer> e : enchantments.entrySet()) {
       if (e.getValue() > level) {
         enchantment = e.getKey();
         level = e.getValue();
@@ -24,6 +24,7 @@ package com.tealcube.minecraft.bukkit.mythicdrops.utils;
 import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.MythicDrops;
 import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
 import com.tealcube.minecraft.bukkit.mythicdrops.tiers.TierMap;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -31,7 +32,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.Validate;
 import org.bukkit.Material;
 import org.bukkit.material.MaterialData;
@@ -49,7 +49,7 @@ public final class ItemUtil {
       return Material.AIR;
     }
     Material[] array = collection.toArray(new Material[collection.size()]);
-    return array[RandomUtils.nextInt(0, array.length)];
+    return array[RandomSources.current().nextInt(0, array.length)];
   }
 
   public static MaterialData getRandomMaterialDataFromCollection(Collection<MaterialData> collection) {
@@ -57,7 +57,7 @@ public final class ItemUtil {
       return new MaterialData(Material.AIR);
     }
     MaterialData[] array = collection.toArray(new MaterialData[collection.size()]);
-    return array[RandomUtils.nextInt(0, array.length)];
+    return array[RandomSources.current().nextInt(0, array.length)];
   }
 
   /**
@@ -21,12 +21,10 @@
  */
 package com.tealcube.minecraft.bukkit.mythicdrops.utils;
 
-import java.util.Random;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
 
 public final class RandomRangeUtil {
 
-  private static final Random RANDOM = new Random();
-
   private RandomRangeUtil() {
   }
 
@@ -40,7 +38,7 @@ public final class RandomRangeUtil {
   public static long randomRangeLongExclusive(long value1, long value2) {
     long max = Math.max(value1, value2);
     long min = Math.min(value1, value2);
-    long value = min + Math.round(RANDOM.nextDouble() * (max - min));
+    long value = min + Math.round(RandomSources.current().nextDouble() * (max - min));
     return Math.min(Math.max(value, min), max - 1);
   }
 
@@ -54,7 +52,7 @@ public final class RandomRangeUtil {
   public static long randomRangeLongInclusive(long value1, long value2) {
     long max = Math.max(value1, value2);
     long min = Math.min(value1, value2);
-    long value = min + Math.round(RANDOM.nextDouble() * (max - min + 1));
+    long value = min + Math.round(RandomSources.current().nextDouble() * (max - min + 1));
     return Math.min(Math.max(value, min), max);
   }
 
@@ -68,14 +66,14 @@ public final class RandomRangeUtil {
   public static double randomRangeDouble(double value1, double value2) {
     double min = Math.min(value1, value2);
     double max = Math.max(value1, value2);
-    double value = min + RANDOM.nextDouble() * (max - min);
+    double value = min + RandomSources.current().nextDouble() * (max - min);
     return Math.min(Math.max(value, min), max);
   }
 
   public static int randomRange(int value1, int value2) {
     int max = Math.max(value1, value2);
     int min = Math.min(value1, value2);
-    int value = min + RANDOM.nextInt(max - min + 1);
+    int value = min + RandomSources.current().nextInt(max - min + 1);
     return Math.min(Math.max(value, min), max);
   }
 
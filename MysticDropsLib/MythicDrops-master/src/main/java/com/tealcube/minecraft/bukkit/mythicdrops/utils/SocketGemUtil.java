@@ -22,12 +22,12 @@
 package com.tealcube.minecraft.bukkit.mythicdrops.utils;
 
 import com.tealcube.minecraft.bukkit.mythicdrops.MythicDropsPlugin;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
 import com.tealcube.minecraft.bukkit.mythicdrops.socketting.SocketGem;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import org.apache.commons.lang3.RandomUtils;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
@@ -91,12 +91,12 @@ public final class SocketGemUtil {
       totalWeight += sg.getChance();
     }
 
-    double chosenWeight = MythicDropsPlugin.getInstance().getRandom().nextDouble() * totalWeight;
+    double chosenWeight = RandomSources.current().nextDouble() * totalWeight;
 
     double currentWeight = 0;
 
     List<SocketGem> l = new ArrayList<>(socketGemMap.values());
-    Collections.shuffle(l);
+    Collections.shuffle(l, RandomSources.current().asRandom());
 
     for (SocketGem sg : socketGemMap.values()) {
       currentWeight += sg.getChance();
@@ -114,7 +114,7 @@ public final class SocketGemUtil {
     if (materialDatas == null || materialDatas.isEmpty()) {
       return null;
     }
-    return materialDatas.get(RandomUtils.nextInt(0, materialDatas.size()));
+    return materialDatas.get(RandomSources.current().nextInt(0, materialDatas.size()));
   }
 
 }
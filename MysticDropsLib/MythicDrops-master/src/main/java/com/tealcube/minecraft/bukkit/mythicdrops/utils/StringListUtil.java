@@ -38,6 +38,41 @@ public final class StringListUtil {
     // do nothing
   }
 
+  /**
+   * Splits each {@link String} in a {@link List} on {@code /n} and colors the resulting lines, the way lore is
+   * displayed on an item. Null entries become no lines.
+   *
+   * @param strings List of Strings
+   * @return lines for each String, in the same order
+   */
+  public static String[][] splitAndColor(List<String> strings) {
+    if (strings == null) {
+      return new String[0][];
+    }
+    String[][] lines = new String[strings.size()][];
+    for (int i = 0; i < lines.length; i++) {
+      lines[i] = splitAndColor(strings.get(i));
+    }
+    return lines;
+  }
+
+  /**
+   * Splits a {@link String} on {@code /n} and colors the resulting lines. A null String becomes no lines.
+   *
+   * @param string String to split
+   * @return colored lines
+   */
+  public static String[] splitAndColor(String string) {
+    if (string == null) {
+      return new String[0];
+    }
+    String[] split = string.split("/n");
+    for (int j = 0; j < split.length; j++) {
+      split[j] = StringUtil.colorString(split[j]);
+    }
+    return split;
+  }
+
   /**
    * Adds a {@link String} to a {@link List} at a specified index.
    *
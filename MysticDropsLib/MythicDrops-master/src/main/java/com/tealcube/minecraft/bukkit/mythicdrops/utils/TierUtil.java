@@ -23,6 +23,7 @@ package com.tealcube.minecraft.bukkit.mythicdrops.utils;
 
 import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
 import com.tealcube.minecraft.bukkit.mythicdrops.logging.MythicLoggerFactory;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
 import com.tealcube.minecraft.bukkit.mythicdrops.tiers.TierMap;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -30,18 +31,15 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
-import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.Validate;
 import org.bukkit.ChatColor;
 import org.bukkit.inventory.ItemStack;
 
 public final class TierUtil {
 
-  private static final Random RANDOM = new Random();
   private static final Logger LOGGER = MythicLoggerFactory.getLogger(TierUtil.class);
 
   private TierUtil() {
@@ -51,7 +49,7 @@ public final class TierUtil {
   public static Tier randomTier(Collection<Tier> collection) {
     Validate.notNull(collection, "Collection<Tier> cannot be null");
     Tier[] array = collection.toArray(new Tier[collection.size()]);
-    return array[RandomUtils.nextInt(0, array.length)];
+    return array[RandomSources.current().nextInt(0, array.length)];
   }
 
   @Deprecated
@@ -70,11 +68,11 @@ public final class TierUtil {
         .collect(Collectors.toList());
 
     // Randomize the contents of the tiers
-    Collections.shuffle(v, RANDOM);
+    Collections.shuffle(v, RandomSources.current().asRandom());
 
     // Add all of the applicable tiers weights together
     double totalWeight = v.stream().mapToDouble(Tier::getSpawnChance).sum();
-    double chosenWeight = RANDOM.nextDouble() * totalWeight;
+    double chosenWeight = RandomSources.current().nextDouble() * totalWeight;
 
     LOGGER.fine("totalWeight: " + totalWeight);
     LOGGER.fine("chosenWeight: " + chosenWeight);
@@ -108,11 +106,11 @@ public final class TierUtil {
         .collect(Collectors.toList());
 
     // Randomize the contents of the tiers
-    Collections.shuffle(v, RANDOM);
+    Collections.shuffle(v, RandomSources.current().asRandom());
 
     // Add all of the applicable tiers weights together
     double totalWeight = v.stream().mapToDouble(Tier::getIdentifyChance).sum();
-    double chosenWeight = RANDOM.nextDouble() * totalWeight;
+    double chosenWeight = RandomSources.current().nextDouble() * totalWeight;
 
     LOGGER.fine("totalWeight: " + totalWeight);
     LOGGER.fine("chosenWeight: " + chosenWeight);
@@ -226,11 +224,11 @@ public final class TierUtil {
         .collect(Collectors.toList());
 
     // Randomize the contents of the tiers
-    Collections.shuffle(v, RANDOM);
+    Collections.shuffle(v, RandomSources.current().asRandom());
 
     // Add all of the applicable tiers weights together
     double totalWeight = v.stream().mapToDouble(chanceMap::get).sum();
-    double chosenWeight = RANDOM.nextDouble() * totalWeight;
+    double chosenWeight = RandomSources.current().nextDouble() * totalWeight;
 
     LOGGER.fine("totalWeight: " + totalWeight);
     LOGGER.fine("chosenWeight: " + chosenWeight);
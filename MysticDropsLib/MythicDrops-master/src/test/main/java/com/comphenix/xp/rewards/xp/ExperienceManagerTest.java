@@ -0,0 +1,83 @@
+package com.comphenix.xp.rewards.xp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExperienceManagerTest {
+
+    // built the way the lookup tables used to be, one increment at a time, from the per-level amounts the client uses
+    private static long[] referenceTable(int maxLevel) {
+        long[] total = new long[maxLevel + 1];
+        for (int level = 1; level <= maxLevel; level++) {
+            int previous = level - 1;
+            int needed;
+            if (previous >= 30) {
+                needed = 112 + (previous - 30) * 9;
+            } else if (previous >= 15) {
+                needed = 37 + (previous - 15) * 5;
+            } else {
+                needed = 7 + previous * 2;
+            }
+            total[level] = total[previous] + needed;
+        }
+        return total;
+    }
+
+    @Test
+    public void testKnownValues() {
+        assertEquals(0, ExperienceManager.xpForLevel(0));
+        assertEquals(7, ExperienceManager.xpForLevel(1));
+        assertEquals(315, ExperienceManager.xpForLevel(15));
+        assertEquals(352, ExperienceManager.xpForLevel(16));
+        assertEquals(1395, ExperienceManager.xpForLevel(30));
+        assertEquals(1507, ExperienceManager.xpForLevel(31));
+        assertEquals(1628, ExperienceManager.xpForLevel(32));
+        assertEquals(112, ExperienceManager.xpNeededToLevelUp(30));
+    }
+
+    @Test
+    public void testXpForLevelMatchesReferenceTable() {
+        long[] reference = referenceTable(ExperienceManager.MAX_LEVEL);
+        for (int level = 0; level <= ExperienceManager.MAX_LEVEL; level++) {
+            assertEquals("level " + level, reference[level], ExperienceManager.xpForLevel(level));
+        }
+        for (int level = 0; level < ExperienceManager.MAX_LEVEL; level++) {
+            assertEquals("level " + level, reference[level + 1] - reference[level],
+                    ExperienceManager.xpNeededToLevelUp(level));
+        }
+        assertTrue(reference[ExperienceManager.MAX_LEVEL] <= Integer.MAX_VALUE);
+        assertTrue(reference[ExperienceManager.MAX_LEVEL] + ExperienceManager.xpNeededToLevelUp(
+                ExperienceManager.MAX_LEVEL) > Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testLevelForExpMatchesReferenceTable() {
+        long[] reference = referenceTable(2000);
+        int level = 0;
+        for (int exp = 0; exp < reference[2000]; exp++) {
+            while (reference[level + 1] <= exp) {
+                level++;
+            }
+            assertEquals("exp " + exp, level, ExperienceManager.levelForExp(exp));
+        }
+    }
+
+    @Test
+    public void testLevelForExpAtLevelBoundaries() {
+        long[] reference = referenceTable(ExperienceManager.MAX_LEVEL);
+        for (int level = 1; level <= ExperienceManager.MAX_LEVEL; level++) {
+            int exp = (int) reference[level];
+            assertEquals("exp " + exp, level, ExperienceManager.levelForExp(exp));
+            assertEquals("exp " + (exp - 1), level - 1, ExperienceManager.levelForExp(exp - 1));
+        }
+        assertEquals(ExperienceManager.MAX_LEVEL, ExperienceManager.levelForExp(Integer.MAX_VALUE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testXpForLevelBeyondIntRange() {
+        ExperienceManager.xpForLevel(ExperienceManager.MAX_LEVEL + 1);
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.items;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.settings.MythicConfigSettings;
+import java.util.Arrays;
+import org.bukkit.Material;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DisplayNamesTest {
+
+    @Test
+    public void doesGetMinecraftNameCapitalizeEachWord() throws Exception {
+        Assert.assertEquals("Diamond Sword", DisplayNames.getMinecraftName(Material.DIAMOND_SWORD));
+    }
+
+    @Test
+    public void doesLoadReadLanguageAndItemGroups() throws Exception {
+        MythicConfigSettings settings = new MythicConfigSettings();
+        settings.getLanguageMap().put("displayNames.DIAMOND_SWORD", "&bShiny blade");
+        settings.getLanguageMap().put("displayNames.sword", "sword");
+        settings.getLanguageMap().put("displayNames.Ordinary", "Ordinary");
+        settings.getItemTypesWithIds().put("sword", Arrays.asList("DIAMOND_SWORD", "IRON_SWORD"));
+        settings.getToolTypes().add("sword");
+
+        DisplayNames displayNames = DisplayNames.load(settings);
+
+        Assert.assertSame(displayNames, DisplayNames.getInstance());
+        Assert.assertEquals("\u00A7bShiny Blade", displayNames.getMythicName(Material.DIAMOND_SWORD));
+        Assert.assertEquals("Iron Sword", displayNames.getMythicName(Material.IRON_SWORD));
+        Assert.assertEquals("sword", displayNames.getItemType(Material.IRON_SWORD));
+        Assert.assertNull(displayNames.getItemType(Material.STONE));
+        Assert.assertEquals("Sword", displayNames.getItemTypeName("sword"));
+        Assert.assertEquals("Great Axe", displayNames.getItemTypeName("great axe"));
+        Assert.assertEquals("", displayNames.getItemTypeName(null));
+        Assert.assertEquals("Ordinary", displayNames.getEnchantmentName(null));
+    }
+
+}
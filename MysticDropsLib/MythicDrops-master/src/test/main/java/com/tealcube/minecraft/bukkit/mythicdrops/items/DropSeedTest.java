@@ -0,0 +1,85 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.items;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.enchantments.MythicEnchantment;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.RandomSources;
+import com.tealcube.minecraft.bukkit.mythicdrops.tiers.MythicTierBuilder;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DropSeedTest {
+
+    private static final String TIER_NAME = "seed:tier";
+
+    @After
+    public void removeTier() {
+        TierMap.getInstance().remove(TIER_NAME);
+    }
+
+    @Test
+    public void doesSerializedSeedReadBack() {
+        Tier tier = registerTier();
+        for (long seed : new long[]{0L, 42L, -1L, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            DropSeed dropSeed = new DropSeed(tier, Material.DIAMOND_SWORD, seed);
+            DropSeed read = DropSeed.deserialize(dropSeed.serialize());
+            Assert.assertNotNull(read);
+            Assert.assertSame(tier, read.getTier());
+            Assert.assertEquals(Material.DIAMOND_SWORD, read.getMaterial());
+            Assert.assertEquals(seed, read.getSeed());
+        }
+    }
+
+    @Test
+    public void doesDeserializeRejectUnknownOrMalformedSeeds() {
+        registerTier();
+        Assert.assertNull(DropSeed.deserialize(null));
+        Assert.assertNull(DropSeed.deserialize("2a:DIAMOND_SWORD"));
+        Assert.assertNull(DropSeed.deserialize("zz:DIAMOND_SWORD:" + TIER_NAME));
+        Assert.assertNull(DropSeed.deserialize("2a:NOT_A_MATERIAL:" + TIER_NAME));
+        Assert.assertNull(DropSeed.deserialize("2a:DIAMOND_SWORD:missing"));
+    }
+
+    // materialize() needs a running server for the item meta, so this checks the rolls it would draw instead
+    @Test
+    public void doesDeserializedSeedDrawSameRolls() {
+        Tier tier = registerTier();
+        DropSeed original = new DropSeed(tier, Material.DIAMOND_SWORD, 1234567L);
+        DropSeed read = DropSeed.deserialize(original.serialize());
+        Assert.assertNotNull(read);
+        Assert.assertEquals(roll(original), roll(read));
+        Assert.assertNotEquals(roll(original), roll(new DropSeed(tier, Material.DIAMOND_SWORD, 7654321L)));
+    }
+
+    // the first rolls the builder draws: enchantments from the compiled table, then whatever comes after
+    private static List<Object> roll(DropSeed dropSeed) {
+        EnchantmentTable table = EnchantmentTable.compile(dropSeed.getTier(), dropSeed.getMaterial());
+        return dropSeed.withRolls(() -> {
+            List<Object> rolls = new ArrayList<>();
+            rolls.add(table.rollBonusEnchantments());
+            rolls.add(table.rollBonusEnchantments());
+            rolls.add(RandomSources.current().nextLong());
+            return rolls;
+        });
+    }
+
+    private static Tier registerTier() {
+        Set<MythicEnchantment> enchantments = new HashSet<>();
+        for (Enchantment enchantment : new Enchantment[]{Enchantment.DAMAGE_ALL, Enchantment.DAMAGE_UNDEAD,
+                Enchantment.KNOCKBACK, Enchantment.FIRE_ASPECT, Enchantment.DURABILITY}) {
+            enchantments.add(new MythicEnchantment(enchantment, 1, 5));
+        }
+        Tier tier = new MythicTierBuilder(TIER_NAME).withBonusEnchantments(enchantments)
+                .withSafeBonusEnchantments(false).withHighBonusEnchantments(true).withMinimumBonusEnchantments(1)
+                .withMaximumBonusEnchantments(3).build();
+        TierMap.getInstance().put(TIER_NAME, tier);
+        return tier;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.items;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.items.ItemGenerationReason;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DropSpecTest {
+
+    @Test
+    public void doesSpecSurviveSerialization() throws Exception {
+        DropSpec spec = new DropSpec("legendary", Material.LEATHER_HELMET, ItemGenerationReason.MONSTER_SPAWN, true,
+                (short) 12, Collections.<Enchantment, Integer>emptyMap(), "\u00A76Hat of Testing",
+                Arrays.asList("\u00A77line one", "\u00A77line two"), 0x336699);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(spec);
+        }
+        Object copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = in.readObject();
+        }
+
+        Assert.assertEquals(spec, copy);
+        Assert.assertEquals(spec.hashCode(), copy.hashCode());
+    }
+
+    @Test
+    public void isSpecUnaffectedByLaterChangesToInputs() throws Exception {
+        List<String> lore = new ArrayList<>(Collections.singletonList("first"));
+        DropSpec spec = new DropSpec("common", Material.IRON_SWORD, null, false, (short) 0,
+                Collections.<Enchantment, Integer>emptyMap(), "Sword", lore, DropSpec.NO_COLOR);
+        lore.add("second");
+
+        Assert.assertEquals(Collections.singletonList("first"), spec.getLore());
+        Assert.assertEquals(ItemGenerationReason.DEFAULT, spec.getReason());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void isLoreUnmodifiable() throws Exception {
+        DropSpec spec = new DropSpec("common", Material.IRON_SWORD, ItemGenerationReason.DEFAULT, false, (short) 0,
+                Collections.<Enchantment, Integer>emptyMap(), "Sword", Collections.singletonList("line"),
+                DropSpec.NO_COLOR);
+        spec.getLore().add("another");
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.items;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LoreAssemblerTest {
+
+    @Test
+    public void doesAssembleExpandSectionsInPlace() throws Exception {
+        LoreAssembler assembler = LoreAssembler.forFormat(
+                Arrays.asList("%baselore%", "&6%tiername%", "%bonuslore%", "%socketlore%", "%relationlore%", "end"));
+        EnumMap<LoreAssembler.Section, List<String>> sections = new EnumMap<>(LoreAssembler.Section.class);
+        sections.put(LoreAssembler.Section.BASE_LORE, Arrays.asList("base one", "base two"));
+        sections.put(LoreAssembler.Section.BONUS_LORE, Collections.singletonList("\u00A77%tiername% bonus"));
+        sections.put(LoreAssembler.Section.SOCKET_LORE, Collections.<String>emptyList());
+        sections.put(LoreAssembler.Section.RELATION_LORE, Collections.singletonList("&&&arelated"));
+        String[][] args = {{"%tiername%", "Legendary"}};
+
+        List<String> lore = assembler.assemble(sections, args);
+
+        Assert.assertEquals(
+                Arrays.asList("base one", "base two", "\u00A76Legendary", "\u00A77Legendary bonus",
+                        "&\u00A7arelated", "end"), lore);
+    }
+
+    @Test
+    public void doesAssembleApplyTemplates() throws Exception {
+        LoreAssembler assembler = LoreAssembler.forFormat(Collections.singletonList("%rand 2-2%"));
+
+        List<String> lore = assembler.assemble(new EnumMap<LoreAssembler.Section, List<String>>(
+                LoreAssembler.Section.class), new String[0][]);
+
+        Assert.assertEquals(Collections.singletonList("2"), lore);
+    }
+
+    @Test
+    public void doesForFormatRecompileWhenFormatChanges() throws Exception {
+        LoreAssembler first = LoreAssembler.forFormat(Collections.singletonList("a"));
+        Assert.assertSame(first, LoreAssembler.forFormat(Collections.singletonList("a")));
+        Assert.assertNotSame(first, LoreAssembler.forFormat(Collections.singletonList("b")));
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.jobs;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.items.builders.DropBuilder;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bukkit.command.CommandSender;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GenerationJobTest {
+
+    private static final CommandSender SENDER = (CommandSender) Proxy.newProxyInstance(
+            GenerationJobTest.class.getClassLoader(), new Class<?>[]{CommandSender.class}, (proxy, method, args) -> null);
+
+    private static DropBuilder builderReturning(boolean produce) {
+        return (DropBuilder) Proxy.newProxyInstance(GenerationJobTest.class.getClassLoader(),
+                new Class<?>[]{DropBuilder.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("buildBatch")) {
+                        return new ItemStack[produce ? (Integer) args[0] : 0];
+                    }
+                    return proxy;
+                });
+    }
+
+    @Test
+    public void doesJobStopAtRequestedAmount() throws Exception {
+        AtomicInteger sunk = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger(-1);
+        GenerationJob job = new GenerationJob(SENDER, "test", 50, builderReturning(true),
+                itemStacks -> sunk.addAndGet(itemStacks.length), finished::set);
+
+        while (!job.step(System.nanoTime())) {
+            // one slice per step
+        }
+        job.finish();
+
+        Assert.assertEquals(50, sunk.get());
+        Assert.assertEquals(50, finished.get());
+        Assert.assertFalse(job.isGivenUp());
+    }
+
+    @Test
+    public void doesJobGiveUpWhenNothingBuilds() throws Exception {
+        AtomicInteger finished = new AtomicInteger(-1);
+        GenerationJob job = new GenerationJob(SENDER, "test", 5000, builderReturning(false),
+                itemStacks -> Assert.fail("nothing should be sunk"), finished::set);
+
+        int steps = 0;
+        while (!job.step(System.nanoTime())) {
+            steps++;
+            Assert.assertTrue("job kept retrying", steps < 1000);
+        }
+        job.finish();
+
+        Assert.assertTrue(job.isGivenUp());
+        Assert.assertEquals(0, finished.get());
+    }
+
+    @Test
+    public void doesCancelledJobStopGenerating() throws Exception {
+        GenerationJob job = new GenerationJob(SENDER, "test", 5000, builderReturning(true),
+                itemStacks -> { }, generated -> { });
+        job.step(System.nanoTime());
+        job.cancel();
+
+        Assert.assertTrue(job.step(Long.MAX_VALUE));
+        Assert.assertTrue(job.getGenerated() < 5000);
+    }
+
+}
@@ -156,4 +156,47 @@ public class NameMapTest {
         Assert.assertTrue(results[1] > 200);
         Assert.assertTrue(results[2] > 200);
     }
+
+    @Test
+    public void testGetRandomMatchesKeysExactlyAndSeesNewEntries() throws Exception {
+        NameMap nameMap = NameMap.getInstance();
+        nameMap.clear();
+
+        nameMap.put(NameType.TIER_PREFIX.getFormat() + "legendary", Arrays.asList("foo"));
+        Assert.assertEquals("foo", nameMap.getRandom(NameType.TIER_PREFIX, "legendary"));
+        Assert.assertEquals("", nameMap.getRandom(NameType.TIER_PREFIX, "LEGENDARY"));
+        Assert.assertEquals("", nameMap.getRandom(NameType.TIER_SUFFIX, "legendary"));
+
+        nameMap.put(NameType.TIER_SUFFIX.getFormat() + "legendary", Arrays.asList("bar"));
+        Assert.assertEquals("bar", nameMap.getRandom(NameType.TIER_SUFFIX, "legendary"));
+
+        nameMap.remove(NameType.TIER_PREFIX.getFormat() + "legendary");
+        Assert.assertEquals("", nameMap.getRandom(NameType.TIER_PREFIX, "legendary"));
+        Assert.assertTrue(nameMap.getNames(NameType.TIER_PREFIX, "legendary").isEmpty());
+    }
+
+    @Test
+    public void testCompactKeepsContents() throws Exception {
+        NameMap nameMap = NameMap.getInstance();
+        nameMap.clear();
+
+        nameMap.put(NameType.MATERIAL_PREFIX.getFormat() + "DIAMOND_SWORD",
+                Arrays.asList("foo", "bar", "foo"));
+        nameMap.put(NameType.MATERIAL_SUFFIX.getFormat() + "DIAMOND_SWORD",
+                Arrays.asList("bar", "foobar"));
+        nameMap.put(NameType.GENERAL_LORE.getFormat(), Arrays.<String>asList());
+        nameMap.put(NameType.TIER_LORE.getFormat() + "legendary", Arrays.asList("foo/nbar"));
+        nameMap.compact();
+
+        Assert.assertEquals(Arrays.asList("foo", "bar", "foo"),
+                nameMap.get(NameType.MATERIAL_PREFIX.getFormat() + "DIAMOND_SWORD"));
+        Assert.assertEquals(Arrays.asList("bar", "foobar"),
+                nameMap.get(NameType.MATERIAL_SUFFIX.getFormat() + "DIAMOND_SWORD"));
+        Assert.assertTrue(nameMap.get(NameType.GENERAL_LORE.getFormat()).isEmpty());
+        Assert.assertEquals("foobar", nameMap.getNames(NameType.MATERIAL_SUFFIX, "DIAMOND_SWORD").get(1));
+        Assert.assertEquals("", nameMap.getRandom(NameType.GENERAL_LORE, ""));
+        Assert.assertEquals(Arrays.asList("foo", "bar"),
+                Arrays.asList(nameMap.getRandomLines(NameType.TIER_LORE, "legendary")));
+        Assert.assertEquals(Arrays.asList(""), Arrays.asList(nameMap.getRandomLines(NameType.GENERAL_LORE, "")));
+    }
 }
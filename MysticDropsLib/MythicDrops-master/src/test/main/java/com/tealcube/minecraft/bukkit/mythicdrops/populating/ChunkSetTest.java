@@ -0,0 +1,79 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.populating;
+
+import java.io.File;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ChunkSetTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void doesMarkingOnlyAffectThatChunk() {
+        ChunkSet chunks = new ChunkSet();
+        chunks.add(-1, 31);
+        Assert.assertTrue(chunks.contains(-1, 31));
+        Assert.assertFalse(chunks.contains(-1, 32));
+        Assert.assertFalse(chunks.contains(31, -1));
+        Assert.assertFalse(chunks.contains(0, 31));
+        Assert.assertEquals(1, chunks.size());
+    }
+
+    @Test
+    public void doesSaveAndLoadKeepEveryChunk() throws Exception {
+        ChunkSet chunks = new ChunkSet();
+        for (int x = -40; x < 40; x += 3) {
+            for (int z = -40; z < 40; z += 7) {
+                chunks.add(x, z);
+            }
+        }
+        chunks.add(1875000, -1875000);
+        Assert.assertTrue(chunks.isDirty());
+
+        File file = new File(folder.getRoot(), "populated/world.dat");
+        chunks.save(file);
+        Assert.assertFalse(chunks.isDirty());
+
+        ChunkSet loaded = new ChunkSet();
+        loaded.load(file);
+        Assert.assertEquals(chunks.size(), loaded.size());
+        for (int x = -40; x < 40; x++) {
+            for (int z = -40; z < 40; z++) {
+                Assert.assertEquals(chunks.contains(x, z), loaded.contains(x, z));
+            }
+        }
+        Assert.assertTrue(loaded.contains(1875000, -1875000));
+    }
+
+    @Test
+    public void doesLoadOfMissingFileLeaveItEmpty() throws Exception {
+        ChunkSet chunks = new ChunkSet();
+        chunks.add(0, 0);
+        chunks.load(new File(folder.getRoot(), "missing.dat"));
+        Assert.assertEquals(0, chunks.size());
+        Assert.assertFalse(chunks.isDirty());
+    }
+
+    @Test
+    public void doesRemoveOnlyAffectThatChunk() throws Exception {
+        ChunkSet chunks = new ChunkSet();
+        chunks.add(3, 4);
+        chunks.add(3, 5);
+        chunks.add(100, 100);
+        chunks.remove(3, 4);
+        chunks.remove(7, 7);
+        chunks.remove(100, 100);
+        Assert.assertFalse(chunks.contains(3, 4));
+        Assert.assertTrue(chunks.contains(3, 5));
+        Assert.assertFalse(chunks.contains(100, 100));
+        Assert.assertEquals(1, chunks.size());
+
+        File file = new File(folder.getRoot(), "pending.dat");
+        chunks.save(file);
+        Assert.assertEquals(4 + 4 + 8 + 16 * 8, file.length());
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.random;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.enchantments.MythicEnchantment;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.random.RandomSource;
+import com.tealcube.minecraft.bukkit.mythicdrops.api.tiers.Tier;
+import com.tealcube.minecraft.bukkit.mythicdrops.items.EnchantmentTable;
+import com.tealcube.minecraft.bukkit.mythicdrops.tiers.MythicTierBuilder;
+import com.tealcube.minecraft.bukkit.mythicdrops.utils.TierUtil;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RandomSourceDistributionTest {
+
+    // chi-squared critical values for p = 0.000001, keeps the unseeded tests from flaking
+    private static final double CHI_SQUARED_2_DF = 27.63;
+    private static final double CHI_SQUARED_9_DF = 47.21;
+
+    private static final int DRAWS = 100000;
+
+    private static final Enchantment[] BONUS_ENCHANTMENTS = {
+        Enchantment.DAMAGE_ALL, Enchantment.DAMAGE_UNDEAD, Enchantment.DAMAGE_ARTHROPODS, Enchantment.KNOCKBACK,
+        Enchantment.FIRE_ASPECT, Enchantment.LOOT_BONUS_MOBS, Enchantment.DURABILITY, Enchantment.DIG_SPEED,
+        Enchantment.ARROW_DAMAGE, Enchantment.PROTECTION_ENVIRONMENTAL
+    };
+
+    @After
+    public void tearDown() throws Exception {
+        RandomSources.reset();
+    }
+
+    @Test
+    public void doesSeededSourceRepeatForSameSeed() throws Exception {
+        RandomSource first = new SeededRandomSource(42L);
+        RandomSource second = new SeededRandomSource(42L);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(first.nextLong(), second.nextLong());
+            Assert.assertEquals(first.nextInt(0, 17), second.nextInt(0, 17));
+            Assert.assertEquals(first.nextDouble(), second.nextDouble(), 0D);
+        }
+    }
+
+    @Test
+    public void doesWithSourceReplaySeedAndRestoreCurrent() throws Exception {
+        RandomSource shared = RandomSources.current();
+        long first = RandomSources.withSource(new SeededRandomSource(7L), () -> RandomSources.current().nextLong());
+        long second = RandomSources.withSource(new SeededRandomSource(7L), () -> RandomSources.current().nextLong());
+        Assert.assertEquals(first, second);
+        Assert.assertSame(shared, RandomSources.current());
+    }
+
+    @Test
+    public void doesNextIntReturnOriginForEmptyRange() throws Exception {
+        Assert.assertEquals(0, new ThreadLocalRandomSource().nextInt(0, 0));
+        Assert.assertEquals(5, new SeededRandomSource(1L).nextInt(5, 3));
+    }
+
+    @Test
+    public void isBonusEnchantmentPickUniformWithSeededSource() throws Exception {
+        RandomSources.seed(1234L);
+        assertBonusEnchantmentsUniform();
+    }
+
+    @Test
+    public void isBonusEnchantmentPickUniformWithThreadLocalSource() throws Exception {
+        assertBonusEnchantmentsUniform();
+    }
+
+    @Test
+    public void doesSeededSourceRepeatBonusEnchantments() throws Exception {
+        EnchantmentTable table = EnchantmentTable.compile(bonusTier(3), Material.DIAMOND_SWORD);
+        List<Map<Enchantment, Integer>> first = new ArrayList<>();
+        List<Map<Enchantment, Integer>> second = new ArrayList<>();
+        RandomSources.seed(31L);
+        for (int i = 0; i < 100; i++) {
+            first.add(table.rollBonusEnchantments());
+        }
+        RandomSources.seed(31L);
+        for (int i = 0; i < 100; i++) {
+            second.add(table.rollBonusEnchantments());
+        }
+        Assert.assertEquals(first, second);
+    }
+
+    @Test
+    public void doesRandomTierWithChanceFollowWeightsWithSeededSource() throws Exception {
+        RandomSources.seed(5678L);
+        assertTierWeights();
+    }
+
+    @Test
+    public void doesRandomTierWithChanceFollowWeightsWithThreadLocalSource() throws Exception {
+        assertTierWeights();
+    }
+
+    @Test
+    public void doesTierShuffleFollowSeededSource() throws Exception {
+        // with equal weights the pick is decided by the shuffle alone
+        List<Tier> tiers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tiers.add(new MythicTierBuilder("tier" + i).withSpawnChance(1D).build());
+        }
+        List<Tier> first = new ArrayList<>();
+        List<Tier> second = new ArrayList<>();
+        RandomSources.seed(99L);
+        for (int i = 0; i < 100; i++) {
+            first.add(TierUtil.randomTierWithChance(tiers));
+        }
+        RandomSources.seed(99L);
+        for (int i = 0; i < 100; i++) {
+            second.add(TierUtil.randomTierWithChance(tiers));
+        }
+        Assert.assertEquals(first, second);
+
+        RandomSources.seed(100L);
+        List<Tier> other = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            other.add(TierUtil.randomTierWithChance(tiers));
+        }
+        Assert.assertNotEquals(first, other);
+    }
+
+    @Test
+    public void doesSharedRandomFollowCurrentSource() throws Exception {
+        Random random = RandomSources.random();
+        random.setSeed(3L);
+        RandomSources.seed(11L);
+        RandomSource expected = new SeededRandomSource(11L);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(expected.nextLong(), random.nextLong());
+        }
+        long scoped = RandomSources.withSource(new SeededRandomSource(12L), random::nextLong);
+        Assert.assertEquals(new SeededRandomSource(12L).nextLong(), scoped);
+    }
+
+    private void assertBonusEnchantmentsUniform() {
+        Tier tier = bonusTier(1);
+        EnchantmentTable table = EnchantmentTable.compile(tier, Material.DIAMOND_SWORD);
+        Assert.assertEquals(BONUS_ENCHANTMENTS.length, table.getBonusEnchantmentCount());
+        Map<Enchantment, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < BONUS_ENCHANTMENTS.length; i++) {
+            indexes.put(BONUS_ENCHANTMENTS[i], i);
+        }
+        long[] observed = new long[BONUS_ENCHANTMENTS.length];
+        for (int i = 0; i < DRAWS; i++) {
+            Map<Enchantment, Integer> rolled = table.rollBonusEnchantments();
+            Assert.assertEquals(1, rolled.size());
+            observed[indexes.get(rolled.keySet().iterator().next())]++;
+        }
+        double[] expected = new double[BONUS_ENCHANTMENTS.length];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = DRAWS / (double) expected.length;
+        }
+        Assert.assertTrue(chiSquared(observed, expected) < CHI_SQUARED_9_DF);
+    }
+
+    private static Tier bonusTier(int bonusEnchantments) {
+        Set<MythicEnchantment> enchantments = new HashSet<>();
+        for (Enchantment enchantment : BONUS_ENCHANTMENTS) {
+            enchantments.add(new MythicEnchantment(enchantment, 1, 3));
+        }
+        // unsafe and high enchantments keep compile from asking the server about each enchantment
+        return new MythicTierBuilder("bonus").withBonusEnchantments(enchantments).withSafeBonusEnchantments(false)
+            .withHighBonusEnchantments(true).withMinimumBonusEnchantments(bonusEnchantments)
+            .withMaximumBonusEnchantments(bonusEnchantments).build();
+    }
+
+    private void assertTierWeights() {
+        Map<Tier, Double> chanceMap = new LinkedHashMap<>();
+        Tier common = new MythicTierBuilder("common").build();
+        Tier rare = new MythicTierBuilder("rare").build();
+        Tier legendary = new MythicTierBuilder("legendary").build();
+        chanceMap.put(common, 0.6);
+        chanceMap.put(rare, 0.3);
+        chanceMap.put(legendary, 0.1);
+
+        long[] observed = new long[3];
+        for (int i = 0; i < DRAWS; i++) {
+            Tier t = TierUtil.randomTierWithChance(chanceMap);
+            Assert.assertNotNull(t);
+            if (t == common) {
+                observed[0]++;
+            } else if (t == rare) {
+                observed[1]++;
+            } else if (t == legendary) {
+                observed[2]++;
+            } else {
+                Assert.fail("Unexpected value");
+            }
+        }
+        double[] expected = {DRAWS * 0.6, DRAWS * 0.3, DRAWS * 0.1};
+        Assert.assertTrue(chiSquared(observed, expected) < CHI_SQUARED_2_DF);
+    }
+
+    private static double chiSquared(long[] observed, double[] expected) {
+        double sum = 0;
+        for (int i = 0; i < observed.length; i++) {
+            double difference = observed[i] - expected[i];
+            sum += difference * difference / expected[i];
+        }
+        return sum;
+    }
+
+}
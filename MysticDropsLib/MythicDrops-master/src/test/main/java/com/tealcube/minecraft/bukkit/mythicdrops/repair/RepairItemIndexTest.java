@@ -0,0 +1,51 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.repair;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.repair.RepairItem;
+import java.util.Arrays;
+import java.util.Collections;
+import org.bukkit.Material;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RepairItemIndexTest {
+
+    private final RepairItem plain = new MythicRepairItem("plain", Material.IRON_SWORD, null,
+            Collections.<String>emptyList());
+    private final RepairItem named = new MythicRepairItem("named", Material.IRON_SWORD, "&6Excalibur",
+            Collections.<String>emptyList());
+    private final RepairItem described = new MythicRepairItem("described", Material.IRON_SWORD, null,
+            Collections.singletonList("&7Old"));
+    private final RepairItem both = new MythicRepairItem("both", Material.IRON_SWORD, "&6Excalibur",
+            Collections.singletonList("&7Old"));
+
+    @After
+    public void tearDown() {
+        RepairItemIndex.getInstance().compile(Collections.<RepairItem>emptyList());
+    }
+
+    @Test
+    public void doesMostSpecificRepairItemWin() {
+        RepairItemIndex index = RepairItemIndex.getInstance();
+        index.compile(Arrays.asList(plain, named, described, both));
+
+        Assert.assertSame(both, index.find(Material.IRON_SWORD, "\u00A76Excalibur",
+                Collections.singletonList("\u00A77Old")));
+        Assert.assertSame(named, index.find(Material.IRON_SWORD, "\u00A76Excalibur",
+                Collections.singletonList("\u00A77New")));
+        Assert.assertSame(described, index.find(Material.IRON_SWORD, "Sword", Collections.singletonList("\u00A77Old")));
+        Assert.assertSame(plain, index.find(Material.IRON_SWORD, null, null));
+        Assert.assertNull(index.find(Material.GOLD_SWORD, null, null));
+    }
+
+    @Test
+    public void doesNamedRepairItemRequireName() {
+        RepairItemIndex index = RepairItemIndex.getInstance();
+        index.compile(Collections.singletonList(named));
+
+        Assert.assertNull(index.find(Material.IRON_SWORD, null, null));
+        Assert.assertNull(index.find(Material.IRON_SWORD, "&6Excalibur", null));
+        Assert.assertSame(named, index.find(Material.IRON_SWORD, "\u00A76Excalibur", null));
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.sessions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SessionManagerTest {
+
+    private static final SessionType<String> SHORT = new SessionType<>("short", 30 * 20L);
+    private static final SessionType<Integer> LONG = new SessionType<>("long", 300 * 20L);
+
+    private static void tick(SessionManager manager, int seconds) {
+        for (int i = 0; i < seconds; i++) {
+            manager.tick();
+        }
+    }
+
+    @Test
+    public void doesSessionHoldTypedState() {
+        SessionManager manager = new SessionManager(null);
+        UUID player = UUID.randomUUID();
+        manager.put(player, SHORT, "gem");
+        manager.put(player, LONG, 3);
+        Assert.assertEquals("gem", manager.get(player, SHORT));
+        Assert.assertEquals(Integer.valueOf(3), manager.get(player, LONG));
+        Assert.assertNull(manager.get(UUID.randomUUID(), SHORT));
+        Assert.assertEquals("gem", manager.remove(player, SHORT));
+        Assert.assertFalse(manager.has(player, SHORT));
+        Assert.assertTrue(manager.has(player, LONG));
+        Assert.assertEquals(1, manager.size());
+    }
+
+    @Test
+    public void doesSessionExpireAfterTimeout() {
+        SessionManager manager = new SessionManager(null);
+        UUID player = UUID.randomUUID();
+        manager.put(player, SHORT, "gem");
+        tick(manager, 29);
+        Assert.assertTrue(manager.has(player, SHORT));
+        tick(manager, 1);
+        Assert.assertFalse(manager.has(player, SHORT));
+        Assert.assertEquals(0, manager.size());
+    }
+
+    @Test
+    public void doesSessionOutliveOneTurnOfTheWheel() {
+        SessionManager manager = new SessionManager(null);
+        UUID player = UUID.randomUUID();
+        manager.put(player, LONG, 1);
+        tick(manager, 299);
+        Assert.assertTrue(manager.has(player, LONG));
+        tick(manager, 1);
+        Assert.assertFalse(manager.has(player, LONG));
+    }
+
+    @Test
+    public void doesPutRestartTimeout() {
+        SessionManager manager = new SessionManager(null);
+        UUID player = UUID.randomUUID();
+        manager.put(player, SHORT, "first");
+        tick(manager, 20);
+        manager.put(player, SHORT, "second");
+        tick(manager, 20);
+        Assert.assertEquals("second", manager.get(player, SHORT));
+        Assert.assertEquals(1, manager.size());
+        tick(manager, 10);
+        Assert.assertFalse(manager.has(player, SHORT));
+    }
+
+    @Test
+    public void doesRemoveAllEndEverySessionOfPlayer() {
+        SessionManager manager = new SessionManager(null);
+        UUID player = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        manager.put(player, SHORT, "gem");
+        manager.put(player, LONG, 1);
+        manager.put(other, SHORT, "tome");
+        manager.removeAll(player);
+        Assert.assertFalse(manager.has(player, SHORT));
+        Assert.assertFalse(manager.has(player, LONG));
+        Assert.assertEquals(1, manager.size());
+        tick(manager, 30);
+        Assert.assertEquals(0, manager.size());
+    }
+
+    @Test
+    public void doesExpiryKeepOtherSessionsInSameSlot() {
+        SessionManager manager = new SessionManager(null);
+        UUID[] players = new UUID[100];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = UUID.randomUUID();
+            manager.put(players[i], SHORT, "gem");
+            if (i % 2 == 0) {
+                manager.remove(players[i], SHORT);
+            }
+        }
+        Assert.assertEquals(50, manager.size());
+        tick(manager, 30);
+        Assert.assertEquals(0, manager.size());
+    }
+
+    @Test
+    public void doesEndCallbackRunOnlyWhenManagerEndsSession() {
+        List<String> ended = new ArrayList<>();
+        SessionType<String> marked = new SessionType<>("marked", 30 * 20L, (playerId, value) -> ended.add(value));
+        SessionManager manager = new SessionManager(null);
+        UUID player = UUID.randomUUID();
+
+        manager.put(player, marked, "removed");
+        manager.remove(player, marked);
+        manager.put(player, marked, "replaced");
+        manager.put(player, marked, "expired");
+        Assert.assertTrue(ended.isEmpty());
+        tick(manager, 30);
+        Assert.assertEquals(1, ended.size());
+        Assert.assertEquals("expired", ended.get(0));
+
+        manager.put(player, marked, "quit");
+        manager.put(player, SHORT, "gem");
+        manager.removeAll(player);
+        Assert.assertEquals("quit", ended.get(1));
+
+        manager.put(player, marked, "cleared");
+        manager.clear();
+        Assert.assertEquals("cleared", ended.get(2));
+        Assert.assertEquals(3, ended.size());
+        Assert.assertEquals(0, manager.size());
+    }
+
+    @Test
+    public void doesEndCallbackMayStartNewSession() {
+        SessionManager manager = new SessionManager(null);
+        UUID player = UUID.randomUUID();
+        SessionType<Integer> retry = new SessionType<>("retry", 30 * 20L, null);
+        SessionType<Integer> chained = new SessionType<>("chained", 30 * 20L,
+                (playerId, value) -> manager.put(playerId, retry, value + 1));
+        manager.put(player, chained, 1);
+        tick(manager, 30);
+        Assert.assertFalse(manager.has(player, chained));
+        Assert.assertEquals(Integer.valueOf(2), manager.get(player, retry));
+    }
+
+}
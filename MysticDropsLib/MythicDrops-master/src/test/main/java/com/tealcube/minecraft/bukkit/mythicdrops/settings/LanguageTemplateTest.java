@@ -0,0 +1,36 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.settings;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LanguageTemplateTest {
+
+    @Test
+    public void doesRenderWithoutSlotsReturnColoredConstant() throws Exception {
+        LanguageTemplate template = LanguageTemplate.compile("&6[MythicDrops] &&7 &AReloaded.");
+        Assert.assertEquals("\u00A76[MythicDrops] &7 \u00A7AReloaded.", template.render());
+        Assert.assertSame(template.render(), template.render(new String[][]{{"%amount%", "1"}}));
+    }
+
+    @Test
+    public void doesRenderFillSlots() throws Exception {
+        LanguageTemplate template = LanguageTemplate.compile("&F%receiver%&A was given &F%amount%&A item(s).");
+        String actual = template.render(new String[][]{{"%receiver%", "Notch"}, {"%amount%", "3"}});
+        Assert.assertEquals("\u00A7FNotch\u00A7A was given \u00A7F3\u00A7A item(s).", actual);
+    }
+
+    @Test
+    public void doesRenderLeaveUnknownSlotsAndStrayPercentages() throws Exception {
+        LanguageTemplate template = LanguageTemplate.compile("100% of %amount% for %who%");
+        String actual = template.render(new String[][]{{"%amount%", "3"}});
+        Assert.assertEquals("100% of 3 for %who%", actual);
+    }
+
+    @Test
+    public void doesRenderReplaceNonSlotArguments() throws Exception {
+        LanguageTemplate template = LanguageTemplate.compile("Hello {name}, you have %amount%");
+        String actual = template.render(new String[][]{{"{name}", "Notch"}, {"%amount%", "3"}});
+        Assert.assertEquals("Hello Notch, you have 3", actual);
+    }
+
+}
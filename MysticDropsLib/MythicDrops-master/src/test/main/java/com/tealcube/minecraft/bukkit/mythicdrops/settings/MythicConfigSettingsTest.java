@@ -0,0 +1,23 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.settings;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MythicConfigSettingsTest {
+
+    @Test
+    public void doesFormattedLanguageStringFollowLaterWrites() throws Exception {
+        MythicConfigSettings settings = new MythicConfigSettings();
+        settings.getLanguageMap().put("command.reload", "&aReloaded");
+        settings.compileLanguage();
+        Assert.assertEquals("\u00A7aReloaded", settings.getFormattedLanguageString("command.reload"));
+
+        settings.getLanguageMap().put("command.reload", "&cReloaded %count%");
+        Assert.assertEquals("\u00A7cReloaded 3",
+                settings.getFormattedLanguageString("command.reload", new String[][]{{"%count%", "3"}}));
+
+        settings.getLanguageMap().remove("command.reload");
+        Assert.assertEquals("command.reload", settings.getFormattedLanguageString("command.reload"));
+    }
+
+}
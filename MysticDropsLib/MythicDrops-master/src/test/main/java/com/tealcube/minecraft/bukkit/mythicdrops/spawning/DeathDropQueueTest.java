@@ -0,0 +1,45 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.spawning;
+
+import java.util.List;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DeathDropQueueTest {
+
+    @Test
+    public void doesPileMergeStacksWithEqualKeys() {
+        DeathDropQueue.Pile pile = new DeathDropQueue.Pile(new Location(null, 0, 64, 0),
+                (a, b) -> a.getType() == b.getType());
+        pile.add(new ItemStack(Material.EMERALD, 40));
+        pile.add(new ItemStack(Material.DIAMOND, 5));
+        pile.add(new ItemStack(Material.EMERALD, 40));
+        pile.add(new ItemStack(Material.EMERALD, 10));
+        pile.add(new ItemStack(Material.DIAMOND_SWORD, 1));
+        pile.add(new ItemStack(Material.DIAMOND_SWORD, 1));
+
+        List<ItemStack> stacks = pile.getStacks();
+        Assert.assertEquals(6, pile.getQueued());
+        Assert.assertEquals(5, stacks.size());
+        Assert.assertEquals(Material.EMERALD, stacks.get(0).getType());
+        Assert.assertEquals(64, stacks.get(0).getAmount());
+        Assert.assertEquals(Material.DIAMOND, stacks.get(1).getType());
+        Assert.assertEquals(5, stacks.get(1).getAmount());
+        Assert.assertEquals(Material.EMERALD, stacks.get(2).getType());
+        Assert.assertEquals(26, stacks.get(2).getAmount());
+        Assert.assertEquals(Material.DIAMOND_SWORD, stacks.get(3).getType());
+        Assert.assertEquals(Material.DIAMOND_SWORD, stacks.get(4).getType());
+    }
+
+    @Test
+    public void doesPileKeepStacksWithDifferentKeysApart() {
+        DeathDropQueue.Pile pile = new DeathDropQueue.Pile(new Location(null, 0, 64, 0), (a, b) -> false);
+        pile.add(new ItemStack(Material.EMERALD, 1));
+        pile.add(new ItemStack(Material.EMERALD, 1));
+        Assert.assertEquals(2, pile.getStacks().size());
+        Assert.assertEquals(1, pile.getStacks().get(0).getAmount());
+    }
+
+}
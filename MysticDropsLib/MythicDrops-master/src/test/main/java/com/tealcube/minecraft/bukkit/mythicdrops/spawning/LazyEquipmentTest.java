@@ -0,0 +1,20 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.spawning;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LazyEquipmentTest {
+
+    @Test
+    public void doesHiddenTagRevealToOriginal() {
+        String tag = "2a:DIAMOND_SWORD:legendary tier";
+        String hidden = LazyEquipment.hide(tag);
+        Assert.assertEquals(tag.length() * 2, hidden.length());
+        for (int i = 0; i < hidden.length(); i += 2) {
+            Assert.assertEquals('\u00A7', hidden.charAt(i));
+        }
+        Assert.assertEquals(tag, LazyEquipment.reveal(hidden));
+        Assert.assertEquals("", LazyEquipment.reveal(LazyEquipment.hide("")));
+    }
+
+}
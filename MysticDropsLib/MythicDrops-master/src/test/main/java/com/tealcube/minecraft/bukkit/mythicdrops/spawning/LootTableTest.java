@@ -0,0 +1,88 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.spawning;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.api.random.RandomSource;
+import com.tealcube.minecraft.bukkit.mythicdrops.random.SeededRandomSource;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LootTableTest {
+
+    private static final double[] CHANCES = {0D, 0.001D, 0.25D, 0.5D, 0.9D, 1D};
+
+    @Test
+    public void doesTableMatchChainedRolls() {
+        for (double item : CHANCES) {
+            for (double custom : CHANCES) {
+                for (double gem : CHANCES) {
+                    for (double unidentified : CHANCES) {
+                        for (double tome : CHANCES) {
+                            LootTable table = LootTable.compile(item, custom, gem, unidentified, tome);
+                            double left = item * (1 - custom);
+                            Assert.assertEquals(1 - item, table.getChance(LootTable.Outcome.NONE), 1e-12);
+                            Assert.assertEquals(item * custom, table.getChance(LootTable.Outcome.CUSTOM_ITEM), 1e-12);
+                            Assert.assertEquals(left * gem, table.getChance(LootTable.Outcome.SOCKET_GEM), 1e-12);
+                            left *= 1 - gem;
+                            Assert.assertEquals(left * unidentified,
+                                    table.getChance(LootTable.Outcome.UNIDENTIFIED_ITEM), 1e-12);
+                            left *= 1 - unidentified;
+                            Assert.assertEquals(left * tome, table.getChance(LootTable.Outcome.IDENTITY_TOME), 1e-12);
+                            left *= 1 - tome;
+                            Assert.assertEquals(left, table.getChance(LootTable.Outcome.TIER_ITEM), 1e-12);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void doesRollMatchChainedRollFrequencies() {
+        RandomSource chained = new SeededRandomSource(11L);
+        RandomSource single = new SeededRandomSource(11L);
+        LootTable table = LootTable.compile(0.4D, 0.1D, 0.2D, 0.3D, 0.5D);
+        int[] chainedCounts = new int[LootTable.Outcome.values().length];
+        int[] singleCounts = new int[LootTable.Outcome.values().length];
+        for (int i = 0; i < 200000; i++) {
+            chainedCounts[chainedRoll(chained, 0.4D, 0.1D, 0.2D, 0.3D, 0.5D).ordinal()]++;
+            singleCounts[table.roll(single).ordinal()]++;
+        }
+        for (LootTable.Outcome outcome : LootTable.Outcome.values()) {
+            double expected = table.getChance(outcome) * 200000;
+            Assert.assertEquals(outcome.name(), expected, chainedCounts[outcome.ordinal()], 5 * Math.sqrt(expected) + 1);
+            Assert.assertEquals(outcome.name(), expected, singleCounts[outcome.ordinal()], 5 * Math.sqrt(expected) + 1);
+        }
+    }
+
+    @Test
+    public void doesLookupNeverLandOnImpossibleOutcome() {
+        LootTable table = LootTable.compile(1D, 0D, 0D, 0D, 1D);
+        Assert.assertEquals(LootTable.Outcome.IDENTITY_TOME, table.lookup(0D));
+        Assert.assertEquals(LootTable.Outcome.IDENTITY_TOME, table.lookup(Math.nextDown(1D)));
+        Assert.assertEquals(LootTable.Outcome.NONE, LootTable.EMPTY.lookup(Math.nextDown(1D)));
+    }
+
+    @Test
+    public void doesCompileClampChances() {
+        LootTable table = LootTable.compile(2D, -1D, 0D, 0D, 0D);
+        Assert.assertEquals(1D, table.getChance(LootTable.Outcome.TIER_ITEM), 0D);
+        Assert.assertEquals(0D, table.getChance(LootTable.Outcome.NONE), 0D);
+    }
+
+    private static LootTable.Outcome chainedRoll(RandomSource random, double item, double custom, double gem,
+                                                 double unidentified, double tome) {
+        if (random.nextDouble() >= item) {
+            return LootTable.Outcome.NONE;
+        }
+        if (random.nextDouble() <= custom) {
+            return LootTable.Outcome.CUSTOM_ITEM;
+        } else if (random.nextDouble() <= gem) {
+            return LootTable.Outcome.SOCKET_GEM;
+        } else if (random.nextDouble() <= unidentified) {
+            return LootTable.Outcome.UNIDENTIFIED_ITEM;
+        } else if (random.nextDouble() <= tome) {
+            return LootTable.Outcome.IDENTITY_TOME;
+        }
+        return LootTable.Outcome.TIER_ITEM;
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.spawning;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TokenBucketTableTest {
+
+    @Test
+    public void doesBucketDenyOnceCapacityIsSpent() {
+        TokenBucketTable table = new TokenBucketTable(4);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(table.tryAcquire(42L, 3, 0D, 0L));
+        }
+        Assert.assertFalse(table.tryAcquire(42L, 3, 0D, 0L));
+        Assert.assertTrue(table.tryAcquire(43L, 3, 0D, 0L));
+    }
+
+    @Test
+    public void doesBucketRefillOverTime() {
+        TokenBucketTable table = new TokenBucketTable(4);
+        Assert.assertTrue(table.tryAcquire(7L, 1, 0.001D, 0L));
+        Assert.assertFalse(table.tryAcquire(7L, 1, 0.001D, 500L));
+        Assert.assertTrue(table.tryAcquire(7L, 1, 0.001D, 1000L));
+    }
+
+    @Test
+    public void doesEvictFullRemoveOnlyRefilledBuckets() {
+        TokenBucketTable table = new TokenBucketTable(4);
+        for (long key = 0; key < 100; key++) {
+            table.tryAcquire(key, 2, key < 50 ? 1D : 0D, 0L);
+        }
+        Assert.assertEquals(100, table.size());
+        Assert.assertEquals(50, table.evictFull(10L));
+        Assert.assertEquals(50, table.size());
+        Assert.assertTrue(table.tryAcquire(99L, 2, 0D, 10L));
+        Assert.assertFalse(table.tryAcquire(99L, 2, 0D, 10L));
+    }
+
+    @Test
+    public void doesForEachThrottledReportDeniedCounts() {
+        TokenBucketTable table = new TokenBucketTable(4);
+        table.tryAcquire(1L, 1, 0D, 0L);
+        table.tryAcquire(1L, 1, 0D, 0L);
+        table.tryAcquire(1L, 1, 0D, 0L);
+        table.tryAcquire(2L, 5, 0D, 0L);
+        List<Long> keys = new ArrayList<>();
+        List<Integer> denied = new ArrayList<>();
+        table.forEachThrottled(0L, (key, count) -> {
+            keys.add(key);
+            denied.add(count);
+        });
+        Assert.assertEquals(1, keys.size());
+        Assert.assertEquals(Long.valueOf(1L), keys.get(0));
+        Assert.assertEquals(Integer.valueOf(2), denied.get(0));
+    }
+
+    @Test
+    public void doesZeroCapacityBucketReportDenials() {
+        TokenBucketTable table = new TokenBucketTable(4);
+        Assert.assertFalse(table.tryAcquire(3L, 0, 0D, 0L));
+        Assert.assertFalse(table.tryAcquire(3L, 0, 0D, 5L));
+        List<Long> keys = new ArrayList<>();
+        List<Integer> denied = new ArrayList<>();
+        table.forEachThrottled(5L, (key, count) -> {
+            keys.add(key);
+            denied.add(count);
+        });
+        Assert.assertEquals(1, keys.size());
+        Assert.assertEquals(Long.valueOf(3L), keys.get(0));
+        Assert.assertEquals(Integer.valueOf(2), denied.get(0));
+
+        Assert.assertEquals(0, table.evictFull(10L));
+        Assert.assertFalse(table.tryAcquire(3L, 0, 0D, 15L));
+        Assert.assertEquals(0, table.evictFull(20L));
+        Assert.assertEquals(1, table.evictFull(30L));
+        Assert.assertEquals(0, table.size());
+    }
+
+    @Test
+    public void doesChunkKeySurvivePacking() {
+        int[][] chunks = {{0, 0}, {-1, -1}, {1875000, -1875000}, {-123, 456}};
+        for (int[] chunk : chunks) {
+            for (SpawnReason reason : SpawnReason.values()) {
+                long key = ChunkSpawnLimiter.pack(chunk[0], chunk[1], reason);
+                Assert.assertEquals(chunk[0], ChunkSpawnLimiter.unpackX(key));
+                Assert.assertEquals(chunk[1], ChunkSpawnLimiter.unpackZ(key));
+                Assert.assertEquals(reason, ChunkSpawnLimiter.unpackReason(key));
+            }
+        }
+    }
+
+}
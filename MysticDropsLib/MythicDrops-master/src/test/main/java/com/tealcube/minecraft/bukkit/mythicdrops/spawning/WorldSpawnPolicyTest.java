@@ -0,0 +1,52 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.spawning;
+
+import com.tealcube.minecraft.bukkit.mythicdrops.settings.MythicConfigSettings;
+import com.tealcube.minecraft.bukkit.mythicdrops.settings.MythicCreatureSpawningSettings;
+import java.util.Collections;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WorldSpawnPolicyTest {
+
+    @Test
+    public void doesPolicyFollowSettings() {
+        MythicConfigSettings configSettings = new MythicConfigSettings();
+        configSettings.setEnabledWorlds(Collections.singletonList("world"));
+        configSettings.setItemChance(0.5D);
+        MythicCreatureSpawningSettings creatureSpawningSettings = new MythicCreatureSpawningSettings();
+        creatureSpawningSettings.setPreventSpawner(true);
+        creatureSpawningSettings.setEntityTypeChance(EntityType.ZOMBIE, 1D);
+        creatureSpawningSettings.setSpawnHeightLimit("world", 100);
+        LootTableMap lootTableMap = LootTableMap.getInstance();
+        lootTableMap.compile(configSettings, creatureSpawningSettings);
+
+        WorldSpawnPolicy policy = WorldSpawnPolicy.compile("world", configSettings, creatureSpawningSettings,
+                lootTableMap);
+
+        Assert.assertTrue(policy.isEnabled());
+        Assert.assertEquals(100, policy.getHeightLimit());
+        Assert.assertFalse(policy.isAllowed(SpawnReason.SPAWNER));
+        Assert.assertFalse(policy.isAllowed(SpawnReason.CUSTOM));
+        Assert.assertTrue(policy.isAllowed(SpawnReason.SPAWNER_EGG));
+        Assert.assertTrue(policy.isAllowed(SpawnReason.NATURAL));
+        Assert.assertEquals(0.5D, policy.getLootTable(EntityType.ZOMBIE).getChance(LootTable.Outcome.TIER_ITEM), 1e-12);
+        Assert.assertEquals(1D, policy.getLootTable(EntityType.SKELETON).getChance(LootTable.Outcome.NONE), 0D);
+    }
+
+    @Test
+    public void doesPolicyDisableUnlistedWorlds() {
+        MythicConfigSettings configSettings = new MythicConfigSettings();
+        configSettings.setEnabledWorlds(Collections.singletonList("world"));
+        MythicCreatureSpawningSettings creatureSpawningSettings = new MythicCreatureSpawningSettings();
+
+        WorldSpawnPolicy policy = WorldSpawnPolicy.compile("world_nether", configSettings, creatureSpawningSettings,
+                LootTableMap.getInstance());
+
+        Assert.assertFalse(policy.isEnabled());
+        Assert.assertSame(WorldSpawnPolicy.DISABLED, policy);
+        Assert.assertEquals(1D, policy.getLootTable(EntityType.ZOMBIE).getChance(LootTable.Outcome.NONE), 0D);
+    }
+
+}
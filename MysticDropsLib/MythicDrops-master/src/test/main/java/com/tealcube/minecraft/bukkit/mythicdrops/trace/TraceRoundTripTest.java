@@ -0,0 +1,111 @@
+package com.tealcube.minecraft.bukkit.mythicdrops.trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TraceRoundTripTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void doesReplayReadEveryWrittenRecord() throws Exception {
+        File file = new File(folder.getRoot(), "trace.mdtrace");
+        World world = TraceStandIns.world("world", 0, 64, 0);
+        Location location = new Location(world, 10, 64, -10);
+        short[] equipment = new short[TraceFormat.EQUIPMENT_SLOTS];
+        for (int i = 0; i < equipment.length; i++) {
+            equipment[i] = TraceFormat.NONE;
+        }
+        equipment[4] = (short) Material.IRON_SWORD.ordinal();
+        try (TraceWriter writer = new TraceWriter(file, 42L)) {
+            writer.writeWorld(0, (short) 0, "world", world.getSpawnLocation());
+            writer.writeSpawn(0, 1, EntityType.ZOMBIE, (short) 0, location,
+                CreatureSpawnEvent.SpawnReason.NATURAL.ordinal(), equipment);
+            writer.writeDamage(1, 2, EntityType.PLAYER, 1, EntityType.ZOMBIE, (short) 0,
+                EntityDamageEvent.DamageCause.ENTITY_ATTACK.ordinal(), 4D);
+            writer.writeInteract(1, 2, (short) 0, Action.RIGHT_CLICK_AIR.ordinal(),
+                (short) Material.DIAMOND.ordinal());
+            writer.writeDeath(2, 1, EntityType.ZOMBIE, (short) 0, location,
+                EntityDamageEvent.DamageCause.ENTITY_ATTACK.ordinal(), true, equipment);
+            Assert.assertEquals(5, writer.getRecords());
+        }
+
+        TraceReplayResult result = new TraceReplayer(null).replay(file);
+        // the world record only sets up the stand-in world and is not replayed as an event
+        Assert.assertEquals(4, result.getRecords());
+        Assert.assertEquals(3, result.getTicks());
+        Assert.assertEquals(0, result.getFailures());
+    }
+
+    @Test
+    public void doesWriterReplaceExistingTrace() throws Exception {
+        File file = new File(folder.getRoot(), "trace.mdtrace");
+        World world = TraceStandIns.world("world", 0, 64, 0);
+        try (TraceWriter writer = new TraceWriter(file, 42L)) {
+            writer.writeWorld(0, (short) 0, "world", world.getSpawnLocation());
+            writer.writeInteract(5, 2, (short) 0, Action.RIGHT_CLICK_AIR.ordinal(), TraceFormat.NONE);
+        }
+        try (TraceWriter writer = new TraceWriter(file, 43L)) {
+            writer.writeWorld(0, (short) 0, "world", world.getSpawnLocation());
+        }
+
+        TraceReplayResult result = new TraceReplayer(null).replay(file);
+        Assert.assertEquals(0, result.getRecords());
+        Assert.assertEquals(0, result.getFailures());
+    }
+
+    @Test
+    public void doesNewTraceFileSkipTakenNames() throws Exception {
+        File traces = folder.newFolder("traces");
+        Assert.assertEquals(new File(traces, "trace-20260101-000000.mdtrace"),
+            TraceRecorder.newTraceFile(traces, "20260101-000000"));
+        Assert.assertTrue(new File(traces, "trace-20260101-000000.mdtrace").createNewFile());
+        Assert.assertTrue(new File(traces, "trace-20260101-000000-1.mdtrace").createNewFile());
+        Assert.assertEquals(new File(traces, "trace-20260101-000000-2.mdtrace"),
+            TraceRecorder.newTraceFile(traces, "20260101-000000"));
+    }
+
+    @Test
+    public void doesReplayRejectOtherFiles() throws Exception {
+        File file = folder.newFile("not-a-trace.mdtrace");
+        Files.write(file.toPath(), "version: 1.0.0\n".getBytes(StandardCharsets.UTF_8));
+        try {
+            new TraceReplayer(null).replay(file);
+            Assert.fail("replayed a file without the trace header");
+        } catch (IOException expected) {
+            Assert.assertTrue(expected.getMessage().contains("not a MythicDrops trace"));
+        }
+    }
+
+    @Test
+    public void doesResolveKeepNamesInsideTraceFolder() throws Exception {
+        File traces = folder.newFolder("traces");
+        Assert.assertEquals(new File(traces, "trace-1.mdtrace").getCanonicalFile(),
+            TraceRecorder.resolveTraceFile(traces, "trace-1.mdtrace"));
+    }
+
+    @Test(expected = IOException.class)
+    public void doesResolveRejectParentDirectory() throws Exception {
+        TraceRecorder.resolveTraceFile(folder.newFolder("traces"), "../config.yml");
+    }
+
+    @Test(expected = IOException.class)
+    public void doesResolveRejectNestedPath() throws Exception {
+        TraceRecorder.resolveTraceFile(folder.newFolder("traces"), "../traces/../../config.yml");
+    }
+
+}
@@ -112,4 +112,16 @@ public class StringListUtilTest {
 
         Assert.assertEquals(list1, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void splitAndColorSplitsAndColorsEachEntry() throws Exception {
+        List<String> list = Arrays.asList("&aFirst/n&bSecond", "", null);
+
+        String[][] actual = StringListUtil.splitAndColor(list);
+
+        Assert.assertEquals(3, actual.length);
+        Assert.assertArrayEquals(new String[]{"\u00A7aFirst", "\u00A7bSecond"}, actual[0]);
+        Assert.assertArrayEquals(new String[]{""}, actual[1]);
+        Assert.assertArrayEquals(new String[0], actual[2]);
+    }
+}